@@ -0,0 +1,399 @@
+package org.example;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Writes parsed CSV data to the Apache Arrow IPC format, so that analytics code and tools such as pyarrow can
+ * read it, or memory-map it in the file format, without parsing text again.
+ * <p>
+ * Every non-static field of the target class becomes a column named after the field, typed after the field's
+ * Java type as {@link TypeConverter} converts it: {@code int} and {@code long} become 32- and 64-bit integers,
+ * {@code float} and {@code double} floating point, {@code boolean} a bit, {@link String} UTF-8 text,
+ * {@link LocalDate} a day-precision date and {@link LocalDateTime} a microsecond timestamp without a time zone.
+ * {@link BigDecimal} values are written as their exact text, since their scale varies from value to value.
+ * Columns for primitive fields are non-nullable; all others are nullable.
+ * <p>
+ * Rows are written in record batches of a fixed size, so a file can be exported while it is parsed without
+ * holding every object in memory. Output is written to a temporary file next to the target and moved into place
+ * once complete, so a failed export leaves any existing file untouched and never a truncated one.
+ * <p>
+ * Arrow's memory allocator reads the address of direct buffers reflectively, so on Java 17 and later the JVM must
+ * be started with {@code --add-opens=java.base/java.nio=ALL-UNNAMED}, as the test task in the build does;
+ * without it, the first export fails while initialising the allocator.
+ *
+ * @param <T> the type of objects to export.
+ */
+public class ArrowExporter<T> {
+    private static final Logger log = LoggerFactory.getLogger(ArrowExporter.class);
+
+    /**
+     * The Arrow IPC formats.
+     */
+    public enum Format {
+        /**
+         * The random-access file format ({@code .arrow}), which readers can memory-map.
+         */
+        FILE,
+        /**
+         * The streaming format ({@code .arrows}), a sequence of record batches with no footer.
+         */
+        STREAM
+    }
+
+    private final Field[] fields;
+    private final ColumnType[] types;
+    private final Schema schema;
+    private final Format format;
+    private final int batchSize;
+    private final BufferAllocator parentAllocator;
+
+    private ArrowExporter(Builder<T> builder) {
+        List<Field> exported = new ArrayList<>();
+        List<ColumnType> columnTypes = new ArrayList<>();
+        List<org.apache.arrow.vector.types.pojo.Field> columns = new ArrayList<>();
+        for (Field field : builder.targetClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            ColumnType type = ColumnType.forType(field.getType());
+            if (type == null) {
+                throw new IllegalArgumentException("Unsupported type for Arrow export: " + field.getType().getName()
+                        + " (field '" + field.getName() + "')");
+            }
+            field.setAccessible(true);
+            exported.add(field);
+            columnTypes.add(type);
+            FieldType fieldType = new FieldType(!field.getType().isPrimitive(), type.arrowType, null);
+            columns.add(new org.apache.arrow.vector.types.pojo.Field(field.getName(), fieldType, null));
+        }
+        this.fields = exported.toArray(new Field[0]);
+        this.types = columnTypes.toArray(new ColumnType[0]);
+        this.schema = new Schema(columns);
+        this.format = builder.format;
+        this.batchSize = builder.batchSize;
+        this.parentAllocator = builder.allocator;
+    }
+
+    /**
+     * @return the Arrow schema of the exported columns.
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Writes already parsed objects to an Arrow file.
+     *
+     * @param rows   the objects to write; {@code null} elements are not allowed.
+     * @param output the file to write, replaced if it exists.
+     * @return the number of rows written.
+     * @throws CSVParseException if the file cannot be written.
+     */
+    public long export(List<T> rows, File output) {
+        Objects.requireNonNull(rows, "Rows cannot be null");
+        return write(output, sink -> rows.forEach(sink));
+    }
+
+    /**
+     * Parses a CSV file with a {@link PipelinedCSVParser} and writes each batch of rows to an Arrow file as soon as
+     * it is full, so that only one record batch is held in memory.
+     *
+     * @param csv    the CSV file to parse.
+     * @param config the configuration specifying how to parse the CSV file; its target class must be the
+     *               exporter's.
+     * @param output the file to write, replaced if it exists.
+     * @return the number of rows written.
+     * @throws CSVParseException        if there is an error during parsing or the file cannot be written.
+     * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+     */
+    public long export(File csv, CSVParserConfig<T> config, File output) {
+        Objects.requireNonNull(csv, "File cannot be null");
+        Objects.requireNonNull(config, "Config cannot be null");
+        PipelinedCSVParser parser = new PipelinedCSVParser.Builder().withBatchSize(Math.min(batchSize, 8192)).build();
+        return write(output, sink -> parser.parse(csv, config, sink));
+    }
+
+    /**
+     * Opens the output, feeds it every row the source produces and closes it.
+     */
+    private long write(File output, Consumer<Consumer<T>> source) {
+        Objects.requireNonNull(output, "Output cannot be null");
+        Path target = output.toPath().toAbsolutePath();
+        try {
+            // The writer ends the file when it is closed, even after a failure, so a failed export would leave a
+            // readable but truncated file; write to a temporary file and only move it into place once complete
+            Path temp = Files.createTempFile(target.getParent(), "arrow-", ".tmp");
+            try {
+                long rows;
+                try (BufferAllocator allocator = newAllocator();
+                     VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator);
+                     FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                     ArrowWriter writer = format == Format.FILE
+                             ? new ArrowFileWriter(root, null, channel)
+                             : new ArrowStreamWriter(root, null, channel)) {
+                    writer.start();
+                    BatchBuilder batch = new BatchBuilder(root, writer);
+                    source.accept(batch::append);
+                    batch.flush();
+                    writer.end();
+                    log.debug("Wrote {} rows in {} batches to {}", batch.total, batch.batches, output.getPath());
+                    rows = batch.total;
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return rows;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (UncheckedIOException e) {
+            throw new CSVParseException("Failed to write Arrow file: " + output.getPath(), e.getCause());
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to write Arrow file: " + output.getPath(), e);
+        }
+    }
+
+    private BufferAllocator newAllocator() {
+        return parentAllocator == null
+                ? new RootAllocator()
+                : parentAllocator.newChildAllocator("csv-arrow-export", 0, parentAllocator.getLimit());
+    }
+
+    /**
+     * Fills the vectors of a schema root row by row and writes a record batch each time it is full.
+     */
+    private final class BatchBuilder {
+        private final VectorSchemaRoot root;
+        private final ArrowWriter writer;
+        private final FieldVector[] vectors;
+        private int rows;
+        long total;
+        int batches;
+
+        BatchBuilder(VectorSchemaRoot root, ArrowWriter writer) {
+            this.root = root;
+            this.writer = writer;
+            this.vectors = root.getFieldVectors().toArray(new FieldVector[0]);
+            for (FieldVector vector : vectors) {
+                vector.setInitialCapacity(batchSize);
+            }
+            root.allocateNew();
+        }
+
+        void append(T row) {
+            Objects.requireNonNull(row, "Row cannot be null");
+            try {
+                for (int i = 0; i < fields.length; i++) {
+                    Object value = fields[i].get(row);
+                    if (value != null) { // Unset slots of freshly allocated vectors are null
+                        types[i].set(vectors[i], rows, value);
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new CSVParseException("Failed to read field of " + row.getClass().getName(), e);
+            }
+            if (++rows == batchSize) {
+                flush();
+                root.allocateNew();
+            }
+        }
+
+        void flush() {
+            if (rows == 0) {
+                return;
+            }
+            root.setRowCount(rows);
+            try {
+                writer.writeBatch();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            total += rows;
+            batches++;
+            rows = 0;
+        }
+    }
+
+    /**
+     * The Arrow column types that Java field types are exported as.
+     */
+    private enum ColumnType {
+        INT(new ArrowType.Int(32, true)) {
+            void set(FieldVector vector, int row, Object value) {
+                ((IntVector) vector).setSafe(row, (Integer) value);
+            }
+        },
+        LONG(new ArrowType.Int(64, true)) {
+            void set(FieldVector vector, int row, Object value) {
+                ((BigIntVector) vector).setSafe(row, (Long) value);
+            }
+        },
+        DOUBLE(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)) {
+            void set(FieldVector vector, int row, Object value) {
+                ((Float8Vector) vector).setSafe(row, (Double) value);
+            }
+        },
+        FLOAT(new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE)) {
+            void set(FieldVector vector, int row, Object value) {
+                ((Float4Vector) vector).setSafe(row, (Float) value);
+            }
+        },
+        BOOLEAN(ArrowType.Bool.INSTANCE) {
+            void set(FieldVector vector, int row, Object value) {
+                ((BitVector) vector).setSafe(row, (Boolean) value ? 1 : 0);
+            }
+        },
+        TEXT(ArrowType.Utf8.INSTANCE) {
+            void set(FieldVector vector, int row, Object value) {
+                ((VarCharVector) vector).setSafe(row, value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        },
+        DATE(new ArrowType.Date(DateUnit.DAY)) {
+            void set(FieldVector vector, int row, Object value) {
+                ((DateDayVector) vector).setSafe(row, Math.toIntExact(((LocalDate) value).toEpochDay()));
+            }
+        },
+        TIMESTAMP(new ArrowType.Timestamp(TimeUnit.MICROSECOND, null)) {
+            void set(FieldVector vector, int row, Object value) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                long micros = Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+                        dateTime.getNano() / 1_000);
+                ((TimeStampMicroVector) vector).setSafe(row, micros);
+            }
+        };
+
+        private final ArrowType arrowType;
+
+        ColumnType(ArrowType arrowType) {
+            this.arrowType = arrowType;
+        }
+
+        abstract void set(FieldVector vector, int row, Object value);
+
+        static ColumnType forType(Class<?> type) {
+            if (type == int.class || type == Integer.class) return INT;
+            if (type == long.class || type == Long.class) return LONG;
+            if (type == double.class || type == Double.class) return DOUBLE;
+            if (type == float.class || type == Float.class) return FLOAT;
+            if (type == boolean.class || type == Boolean.class) return BOOLEAN;
+            if (type == String.class || type == BigDecimal.class) return TEXT;
+            if (type == LocalDate.class) return DATE;
+            if (type == LocalDateTime.class) return TIMESTAMP;
+            return null;
+        }
+    }
+
+    /**
+     * Builder class for creating instances of {@link ArrowExporter}.
+     *
+     * @param <T> the type of objects to export.
+     */
+    public static class Builder<T> {
+        private final Class<T> targetClass;
+        private Format format = Format.FILE;
+        private int batchSize = 64 * 1024;
+        private BufferAllocator allocator;
+
+        /**
+         * Creates a builder for exporting objects of the given class.
+         *
+         * @param targetClass the class whose fields define the columns.
+         */
+        public Builder(Class<T> targetClass) {
+            this.targetClass = Objects.requireNonNull(targetClass, "Target class cannot be null");
+        }
+
+        /**
+         * Sets the IPC format to write. Defaults to {@link Format#FILE}.
+         *
+         * @param format the format.
+         * @return this builder instance.
+         */
+        public Builder<T> withFormat(Format format) {
+            this.format = Objects.requireNonNull(format, "Format cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of rows per record batch.
+         *
+         * @param rows the batch size in rows.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code rows} is not positive.
+         */
+        public Builder<T> withBatchSize(int rows) {
+            if (rows <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = rows;
+            return this;
+        }
+
+        /**
+         * Sets the allocator vectors are allocated from, as a child allocator per export. By default each export
+         * uses its own root allocator.
+         *
+         * @param allocator the parent allocator.
+         * @return this builder instance.
+         */
+        public Builder<T> withAllocator(BufferAllocator allocator) {
+            this.allocator = Objects.requireNonNull(allocator, "Allocator cannot be null");
+            return this;
+        }
+
+        /**
+         * Builds the {@link ArrowExporter} instance.
+         *
+         * @return a new {@link ArrowExporter} instance.
+         * @throws IllegalArgumentException if a field of the target class has a type that cannot be exported.
+         */
+        public ArrowExporter<T> build() {
+            return new ArrowExporter<>(this);
+        }
+    }
+}
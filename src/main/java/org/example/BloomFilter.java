@@ -0,0 +1,69 @@
+package org.example;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A fixed-size Bloom filter over strings, sized for an expected number of entries and false positive rate.
+ * Bit positions are derived from one 64-bit hash of the UTF-8 bytes by double hashing.
+ */
+final class BloomFilter {
+    private final long[] bits;
+    private final int hashes;
+    private final long bitCount;
+
+    /**
+     * @param expectedEntries   the number of distinct entries the filter is sized for.
+     * @param falsePositiveRate the target false positive rate at that many entries.
+     */
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-Math.max(1, expectedEntries) * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashes = (int) Math.max(1, Math.round((double) bitCount / Math.max(1, expectedEntries) * Math.log(2)));
+    }
+
+    /**
+     * Restores a filter from its bits.
+     */
+    BloomFilter(long[] bits, int hashes) {
+        this.bits = bits;
+        this.bitCount = bits.length * 64L;
+        this.hashes = hashes;
+    }
+
+    void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long[] bits() {
+        return bits;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    private static long hash(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return CSVAggregator.hash(bytes, 0, bytes.length);
+    }
+}
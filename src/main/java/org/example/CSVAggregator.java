@@ -0,0 +1,1034 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group-by aggregation over a CSV file that never maps rows to objects.
+ * The file is split into byte ranges at line boundaries and each range is aggregated on its own thread: rows are
+ * tokenized in place, numeric values are parsed straight from the bytes, and groups are looked up in an
+ * open-addressing table keyed on the raw bytes of the key columns, with every aggregate kept in primitive arrays
+ * indexed by group. The per-thread partial results are merged at the end, in file order.
+ * <p>
+ * Besides counts, sums, minimums, maximums and averages, approximate distinct counts (HyperLogLog) and approximate
+ * quantiles with bounded relative error are supported. Empty values are ignored by every aggregate except
+ * {@link Aggregate#count()}. Rows must end with {@code \n} or {@code \r\n}.
+ */
+public class CSVAggregator {
+    private static final Logger log = LoggerFactory.getLogger(CSVAggregator.class);
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final String delimiter;
+    private final byte[] delimiterBytes;
+    private final List<String> groupBy;
+    private final List<Aggregate> aggregates;
+    private final boolean trimFields;
+    private final int parallelism;
+    private final CSVParserConfig.ErrorHandlingStrategy errorHandlingStrategy;
+
+    private CSVAggregator(Builder builder) {
+        this.delimiter = builder.delimiter;
+        this.delimiterBytes = delimiter.getBytes(StandardCharsets.UTF_8);
+        this.groupBy = List.copyOf(builder.groupBy);
+        this.aggregates = List.copyOf(builder.aggregates);
+        this.trimFields = builder.trimFields;
+        this.parallelism = builder.parallelism;
+        this.errorHandlingStrategy = builder.errorHandlingStrategy;
+    }
+
+    /**
+     * Aggregates a CSV file.
+     *
+     * @param file the CSV file to aggregate.
+     * @return one entry per group, ordered by key; a single entry with an empty key if there are no group-by
+     * columns and the file has data rows.
+     * @throws CSVParseException if the file cannot be read, a column does not exist, or a row is invalid and the
+     *                           strategy is HALT_ON_ERROR.
+     */
+    public List<Group> aggregate(File file) {
+        Objects.requireNonNull(file, "File cannot be null");
+        String[] headers;
+        try (CSVRowReader reader = new CSVRowReader(file, delimiter)) {
+            headers = reader.getHeaders();
+            int[] keyColumns = groupBy.stream().mapToInt(reader::indexOf).toArray();
+            int[] valueColumns = aggregates.stream()
+                    .mapToInt(aggregate -> aggregate.column() == null ? -1 : reader.indexOf(aggregate.column()))
+                    .toArray();
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return aggregate(channel, headers.length, keyColumns, valueColumns);
+            }
+        } catch (IOException e) {
+            log.error("Failed to read file: {}", file.getPath(), e);
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+
+    private List<Group> aggregate(FileChannel channel, int columnCount, int[] keyColumns, int[] valueColumns)
+            throws IOException {
+        long[] boundaries = rangeBoundaries(channel);
+        int ranges = boundaries.length - 1;
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, ranges)), runnable -> {
+            Thread thread = new Thread(runnable, "csv-aggregate");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Partial>> futures = new ArrayList<>();
+            for (int i = 0; i < ranges; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                futures.add(executor.submit(() ->
+                        new RangeAggregator(channel, columnCount, keyColumns, valueColumns, stop).run(start, end)));
+            }
+
+            // Merge in file order, so that errors are reported with absolute line numbers and the first one wins
+            Partial total = new Partial();
+            List<String> errorMessages = new ArrayList<>();
+            long lineOffset = 1; // Header is line 1
+            for (Future<Partial> future : futures) {
+                Partial partial = await(future);
+                for (RowError error : partial.errors) {
+                    try {
+                        error.report(lineOffset, errorHandlingStrategy, errorMessages);
+                    } catch (CSVParseException e) {
+                        stop.set(true);
+                        throw e;
+                    }
+                }
+                total.merge(partial);
+                lineOffset += partial.lineCount;
+            }
+
+            if (errorHandlingStrategy == CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS && !errorMessages.isEmpty()) {
+                errorMessages.forEach(log::error);
+            }
+            return total.groups(keyColumns.length);
+        } finally {
+            stop.set(true);
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Partial await(Future<Partial> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CSVParseException("Interrupted while aggregating", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CSVParseException parseException) {
+                throw parseException;
+            }
+            throw new CSVParseException("Failed to aggregate", e.getCause());
+        }
+    }
+
+    /**
+     * Splits the data rows into about {@code parallelism} byte ranges, each starting at the beginning of a line.
+     */
+    private long[] rangeBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long dataStart = nextLineStart(channel, 0);
+        long[] boundaries = new long[parallelism + 1];
+        int count = 0;
+        boundaries[count++] = dataStart;
+        for (int i = 1; i < parallelism; i++) {
+            long boundary = nextLineStart(channel, dataStart + (size - dataStart) * i / parallelism - 1);
+            if (boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * @return the offset just past the first line feed at or after {@code position}, or the file size.
+     */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = Math.max(0, position);
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Hashes raw bytes to 64 well-mixed bits, used both for group lookup and for distinct counting.
+     */
+    static long hash(byte[] bytes, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h = (h ^ bytes[i]) * 0x100000001b3L;
+        }
+        // Murmur3 finalizer spreads the low-entropy FNV bits into the high bits read by HyperLogLog
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Parses a decimal number from bytes. Plain decimals of up to 15 digits are computed with a single exact
+     * division, which is correctly rounded; everything else falls back to {@link Double#parseDouble}, so that the
+     * accepted syntax matches {@link TypeConverter}.
+     *
+     * @throws NumberFormatException if the value is not a number.
+     */
+    static double parseDouble(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < to; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == to && digits > 0 && digits <= 15) {
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Aggregates one byte range of the file into a partial result.
+     */
+    private final class RangeAggregator {
+        private final FileChannel channel;
+        private final int columnCount;
+        private final int[] keyColumns;
+        private final int[] valueColumns;
+        private final AtomicBoolean stop;
+        private final Partial partial = new Partial();
+        private final int[] fieldBounds;
+        private final double[] values;
+        private byte[] key = new byte[256];
+
+        RangeAggregator(FileChannel channel, int columnCount, int[] keyColumns, int[] valueColumns, AtomicBoolean stop) {
+            this.channel = channel;
+            this.columnCount = columnCount;
+            this.keyColumns = keyColumns;
+            this.valueColumns = valueColumns;
+            this.stop = stop;
+            this.fieldBounds = new int[columnCount * 2];
+            this.values = new double[valueColumns.length];
+        }
+
+        Partial run(long start, long end) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(READ_BUFFER_SIZE, Math.max(end - start, 1))];
+            int length = 0;
+            int lineStart = 0;
+            long position = start;
+            while (!stop.get()) {
+                if (lineStart > 0) {
+                    System.arraycopy(buffer, lineStart, buffer, 0, length - lineStart);
+                    length -= lineStart;
+                    lineStart = 0;
+                }
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int read = channel.read(ByteBuffer.wrap(buffer, length, (int) Math.min(buffer.length - length, end - position)), position);
+                if (read <= 0) {
+                    if (lineStart < length) {
+                        line(buffer, lineStart, length);
+                    }
+                    break;
+                }
+                position += read;
+                int scanFrom = length;
+                length += read;
+                for (int i = scanFrom; i < length; i++) {
+                    if (buffer[i] == '\n') {
+                        line(buffer, lineStart, i);
+                        lineStart = i + 1;
+                        if (!partial.errors.isEmpty() && errorHandlingStrategy == CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR) {
+                            return partial;
+                        }
+                    }
+                }
+                if (position >= end) {
+                    if (lineStart < length) {
+                        line(buffer, lineStart, length);
+                    }
+                    break;
+                }
+            }
+            return partial;
+        }
+
+        private void line(byte[] buffer, int start, int end) {
+            partial.lineCount++;
+            if (end > start && buffer[end - 1] == '\r') {
+                end--;
+            }
+            if (isBlank(buffer, start, end)) {
+                return;
+            }
+
+            int fieldCount = split(buffer, start, end);
+            if (fieldCount != columnCount) {
+                partial.errors.add(new RowError(partial.lineCount, "Column count mismatch", columnCount, fieldCount, null));
+                return;
+            }
+
+            for (int a = 0; a < valueColumns.length; a++) {
+                int column = valueColumns[a];
+                if (column < 0 || !aggregates.get(a).kind().numeric) {
+                    continue;
+                }
+                int from = fieldBounds[column * 2];
+                int to = fieldBounds[column * 2 + 1];
+                if (from == to) {
+                    values[a] = Double.NaN; // Empty values are ignored
+                    continue;
+                }
+                try {
+                    values[a] = parseDouble(buffer, from, to);
+                } catch (NumberFormatException e) {
+                    String value = new String(buffer, from, to - from, StandardCharsets.UTF_8);
+                    partial.errors.add(new RowError(partial.lineCount, null, 0, 0, value));
+                    return;
+                }
+            }
+
+            int keyLength = keyBytes(buffer);
+            int group = partial.table.findOrAdd(key, 0, keyLength);
+            partial.accumulate(group, buffer, fieldBounds, valueColumns, values);
+        }
+
+        /**
+         * Encodes the key columns of the current row as length-prefixed byte strings.
+         *
+         * @return the length of the key in {@link #key}.
+         */
+        private int keyBytes(byte[] buffer) {
+            int length = 0;
+            for (int column : keyColumns) {
+                int from = fieldBounds[column * 2];
+                int to = fieldBounds[column * 2 + 1];
+                int needed = length + 4 + (to - from);
+                if (needed > key.length) {
+                    key = Arrays.copyOf(key, Math.max(needed, key.length * 2));
+                }
+                int fieldLength = to - from;
+                key[length++] = (byte) (fieldLength >>> 24);
+                key[length++] = (byte) (fieldLength >>> 16);
+                key[length++] = (byte) (fieldLength >>> 8);
+                key[length++] = (byte) fieldLength;
+                System.arraycopy(buffer, from, key, length, fieldLength);
+                length += fieldLength;
+            }
+            return length;
+        }
+
+        /**
+         * Records the bounds of every field, trimmed if configured. Fields are counted as
+         * {@link String#split(String)} counts them: trailing empty fields are dropped unless the line has no
+         * delimiter at all.
+         *
+         * @return the number of fields, which may exceed the column count.
+         */
+        private int split(byte[] buffer, int start, int end) {
+            int fieldCount = 0;
+            int nonEmptyCount = 0;
+            int fieldStart = start;
+            int last = end - delimiterBytes.length;
+            for (int i = start; i <= last; i++) {
+                if (matches(buffer, i)) {
+                    if (fieldCount < columnCount) {
+                        setField(fieldCount, buffer, fieldStart, i);
+                    }
+                    fieldCount++;
+                    if (i > fieldStart) {
+                        nonEmptyCount = fieldCount;
+                    }
+                    i += delimiterBytes.length - 1;
+                    fieldStart = i + 1;
+                }
+            }
+            if (fieldCount < columnCount) {
+                setField(fieldCount, buffer, fieldStart, end);
+            }
+            if (fieldCount == 0 || end > fieldStart) {
+                return fieldCount + 1;
+            }
+            return nonEmptyCount;
+        }
+
+        private void setField(int field, byte[] buffer, int from, int to) {
+            if (trimFields) {
+                while (from < to && (buffer[from] & 0xFF) <= ' ') {
+                    from++;
+                }
+                while (to > from && (buffer[to - 1] & 0xFF) <= ' ') {
+                    to--;
+                }
+            }
+            fieldBounds[field * 2] = from;
+            fieldBounds[field * 2 + 1] = to;
+        }
+
+        private boolean matches(byte[] buffer, int offset) {
+            for (int j = 0; j < delimiterBytes.length; j++) {
+                if (buffer[offset + j] != delimiterBytes[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isBlank(byte[] buffer, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if ((buffer[i] & 0xFF) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A row rejected by a range aggregator, reported once its absolute line number is known.
+     */
+    private record RowError(long relativeLine, String mismatch, int expected, int found, String value) {
+        /**
+         * Routes the error through the error handling strategy as {@link CSVParser#parse} does: a halting
+         * column count mismatch is reported as an error on its line, with the mismatch as the cause.
+         */
+        void report(long lineOffset, CSVParserConfig.ErrorHandlingStrategy strategy, List<String> errorMessages) {
+            long line = lineOffset + relativeLine;
+            if (mismatch != null) {
+                CSVParseException ex = new CSVParseException("Column count mismatch at line " + line + ". Expected: " +
+                        expected + ", Found: " + found);
+                try {
+                    CSVParser.handleError(strategy, ex, errorMessages);
+                } catch (CSVParseException e) {
+                    CSVParser.handleError(strategy, new CSVParseException("Error parsing line " + line, e), errorMessages);
+                }
+                return;
+            }
+            CSVParser.handleError(strategy, new CSVParseException("Error parsing line " + line, new CSVParseException(
+                    "Failed to convert value '" + value + "' to type double")), errorMessages);
+        }
+    }
+
+    /**
+     * The groups and accumulators of one byte range, or of the whole file once merged.
+     */
+    private final class Partial {
+        final GroupTable table = new GroupTable();
+        final List<RowError> errors = new ArrayList<>();
+        long lineCount;
+        private final Accumulator[] accumulators;
+
+        Partial() {
+            accumulators = new Accumulator[aggregates.size()];
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i] = new Accumulator(aggregates.get(i));
+            }
+        }
+
+        void accumulate(int group, byte[] buffer, int[] fieldBounds, int[] valueColumns, double[] values) {
+            ensureCapacity(group);
+            table.rowCounts[group]++;
+            for (int a = 0; a < accumulators.length; a++) {
+                int column = valueColumns[a];
+                if (column < 0) {
+                    continue;
+                }
+                Accumulator accumulator = accumulators[a];
+                if (accumulator.aggregate.kind().numeric) {
+                    accumulator.add(group, values[a]);
+                } else {
+                    int from = fieldBounds[column * 2];
+                    int to = fieldBounds[column * 2 + 1];
+                    if (from < to) {
+                        accumulator.addRaw(group, buffer, from, to);
+                    }
+                }
+            }
+        }
+
+        void merge(Partial other) {
+            for (int otherGroup = 0; otherGroup < other.table.size; otherGroup++) {
+                int group = table.findOrAdd(other.table.arena, other.table.keyOffsets[otherGroup],
+                        other.table.keyLengths[otherGroup]);
+                ensureCapacity(group);
+                table.rowCounts[group] += other.table.rowCounts[otherGroup];
+                for (int a = 0; a < accumulators.length; a++) {
+                    accumulators[a].merge(group, other.accumulators[a], otherGroup);
+                }
+            }
+        }
+
+        private void ensureCapacity(int group) {
+            for (Accumulator accumulator : accumulators) {
+                accumulator.ensureCapacity(group + 1);
+            }
+        }
+
+        List<Group> groups(int keyColumnCount) {
+            List<Group> groups = new ArrayList<>(table.size);
+            for (int group = 0; group < table.size; group++) {
+                List<String> key = table.decodeKey(group, keyColumnCount);
+                Map<String, Number> values = new LinkedHashMap<>();
+                for (int a = 0; a < accumulators.length; a++) {
+                    values.put(aggregates.get(a).name(), accumulators[a].result(group, table.rowCounts[group]));
+                }
+                groups.add(new Group(key, Collections.unmodifiableMap(values)));
+            }
+            Comparator<List<String>> byKey = (left, right) -> {
+                for (int i = 0; i < left.size(); i++) {
+                    int compared = left.get(i).compareTo(right.get(i));
+                    if (compared != 0) {
+                        return compared;
+                    }
+                }
+                return 0;
+            };
+            groups.sort(Comparator.comparing(Group::key, byKey));
+            return groups;
+        }
+    }
+
+    /**
+     * Primitive per-group state for one aggregate; only the arrays its kind needs are allocated.
+     */
+    private static final class Accumulator {
+        final Aggregate aggregate;
+        long[] counts = new long[16];
+        double[] values;
+        HyperLogLog[] distinct;
+        QuantileSketch[] sketches;
+
+        Accumulator(Aggregate aggregate) {
+            this.aggregate = aggregate;
+            switch (aggregate.kind()) {
+                case SUM, AVG, MIN, MAX -> values = new double[16];
+                case COUNT_DISTINCT -> distinct = new HyperLogLog[16];
+                case QUANTILE -> sketches = new QuantileSketch[16];
+                default -> {
+                }
+            }
+        }
+
+        void ensureCapacity(int groups) {
+            if (groups <= counts.length) {
+                return;
+            }
+            int capacity = Math.max(groups, counts.length * 2);
+            counts = Arrays.copyOf(counts, capacity);
+            if (values != null) {
+                values = Arrays.copyOf(values, capacity);
+            }
+            if (distinct != null) {
+                distinct = Arrays.copyOf(distinct, capacity);
+            }
+            if (sketches != null) {
+                sketches = Arrays.copyOf(sketches, capacity);
+            }
+        }
+
+        void add(int group, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            long seen = counts[group]++;
+            switch (aggregate.kind()) {
+                case SUM, AVG -> values[group] += value;
+                case MIN -> values[group] = seen == 0 ? value : Math.min(values[group], value);
+                case MAX -> values[group] = seen == 0 ? value : Math.max(values[group], value);
+                case QUANTILE -> {
+                    if (sketches[group] == null) {
+                        sketches[group] = new QuantileSketch(aggregate.accuracy());
+                    }
+                    sketches[group].add(value);
+                }
+                default -> {
+                }
+            }
+        }
+
+        void addRaw(int group, byte[] buffer, int from, int to) {
+            counts[group]++;
+            if (aggregate.kind() == Kind.COUNT_DISTINCT) {
+                if (distinct[group] == null) {
+                    distinct[group] = new HyperLogLog(aggregate.precision());
+                }
+                distinct[group].add(hash(buffer, from, to));
+            }
+        }
+
+        void merge(int group, Accumulator other, int otherGroup) {
+            long otherCount = other.counts[otherGroup];
+            if (otherCount == 0) {
+                return;
+            }
+            long seen = counts[group];
+            counts[group] += otherCount;
+            double otherValue = other.values == null ? 0 : other.values[otherGroup];
+            switch (aggregate.kind()) {
+                case SUM, AVG -> values[group] += otherValue;
+                case MIN -> values[group] = seen == 0 ? otherValue : Math.min(values[group], otherValue);
+                case MAX -> values[group] = seen == 0 ? otherValue : Math.max(values[group], otherValue);
+                case COUNT_DISTINCT -> {
+                    if (distinct[group] == null) {
+                        distinct[group] = new HyperLogLog(aggregate.precision());
+                    }
+                    distinct[group].merge(other.distinct[otherGroup]);
+                }
+                case QUANTILE -> {
+                    if (sketches[group] == null) {
+                        sketches[group] = new QuantileSketch(aggregate.accuracy());
+                    }
+                    sketches[group].merge(other.sketches[otherGroup]);
+                }
+                default -> {
+                }
+            }
+        }
+
+        Number result(int group, long rowCount) {
+            long count = counts[group];
+            return switch (aggregate.kind()) {
+                case COUNT -> aggregate.column() == null ? rowCount : count;
+                case SUM -> count == 0 ? null : values[group];
+                case AVG -> count == 0 ? null : values[group] / count;
+                case MIN, MAX -> count == 0 ? null : values[group];
+                case COUNT_DISTINCT -> count == 0 ? 0L : distinct[group].estimate();
+                case QUANTILE -> count == 0 ? null : sketches[group].quantile(aggregate.quantile());
+            };
+        }
+    }
+
+    /**
+     * Open-addressing hash table from raw key bytes to dense group numbers. Keys are copied into a single byte
+     * arena, and slots hold group numbers, so lookups allocate nothing.
+     */
+    private static final class GroupTable {
+        byte[] arena = new byte[4096];
+        int arenaLength;
+        int[] keyOffsets = new int[16];
+        int[] keyLengths = new int[16];
+        long[] keyHashes = new long[16];
+        long[] rowCounts = new long[16];
+        int size;
+        private int[] slots = new int[32]; // Group number + 1, or 0 when empty
+
+        int findOrAdd(byte[] key, int offset, int length) {
+            long hash = hash(key, offset, offset + length);
+            int mask = slots.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot];
+                if (entry == 0) {
+                    int group = add(key, offset, length, hash);
+                    slots[slot] = group + 1;
+                    if (size * 2 > slots.length) {
+                        rehash();
+                    }
+                    return group;
+                }
+                int group = entry - 1;
+                if (keyHashes[group] == hash && Arrays.equals(arena, keyOffsets[group], keyOffsets[group] + keyLengths[group],
+                        key, offset, offset + length)) {
+                    return group;
+                }
+            }
+        }
+
+        private int add(byte[] key, int offset, int length, long hash) {
+            if (size == keyOffsets.length) {
+                int capacity = size * 2;
+                keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+                keyLengths = Arrays.copyOf(keyLengths, capacity);
+                keyHashes = Arrays.copyOf(keyHashes, capacity);
+                rowCounts = Arrays.copyOf(rowCounts, capacity);
+            }
+            if (arenaLength + length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + length));
+            }
+            System.arraycopy(key, offset, arena, arenaLength, length);
+            keyOffsets[size] = arenaLength;
+            keyLengths[size] = length;
+            keyHashes[size] = hash;
+            arenaLength += length;
+            return size++;
+        }
+
+        private void rehash() {
+            int[] grown = new int[slots.length * 2];
+            int mask = grown.length - 1;
+            for (int group = 0; group < size; group++) {
+                int slot = (int) keyHashes[group] & mask;
+                while (grown[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = group + 1;
+            }
+            slots = grown;
+        }
+
+        List<String> decodeKey(int group, int keyColumnCount) {
+            List<String> key = new ArrayList<>(keyColumnCount);
+            int position = keyOffsets[group];
+            for (int i = 0; i < keyColumnCount; i++) {
+                int length = ((arena[position] & 0xFF) << 24) | ((arena[position + 1] & 0xFF) << 16)
+                        | ((arena[position + 2] & 0xFF) << 8) | (arena[position + 3] & 0xFF);
+                position += 4;
+                key.add(new String(arena, position, length, StandardCharsets.UTF_8));
+                position += length;
+            }
+            return Collections.unmodifiableList(key);
+        }
+    }
+
+    /**
+     * The kinds of aggregate supported.
+     */
+    public enum Kind {
+        COUNT(false),
+        SUM(true),
+        MIN(true),
+        MAX(true),
+        AVG(true),
+        COUNT_DISTINCT(false),
+        QUANTILE(true);
+
+        private final boolean numeric;
+
+        Kind(boolean numeric) {
+            this.numeric = numeric;
+        }
+    }
+
+    /**
+     * An aggregate computed per group. Create instances with the static factory methods and optionally rename
+     * them with {@link #as(String)}.
+     *
+     * @param kind      the kind of aggregate.
+     * @param column    the column aggregated, or {@code null} to count rows.
+     * @param name      the name the result is reported under.
+     * @param quantile  the quantile to estimate, for {@link Kind#QUANTILE}.
+     * @param accuracy  the relative accuracy of the quantile estimate, for {@link Kind#QUANTILE}.
+     * @param precision the HyperLogLog precision, for {@link Kind#COUNT_DISTINCT}.
+     */
+    public record Aggregate(Kind kind, String column, String name, double quantile, double accuracy, int precision) {
+        private static final double DEFAULT_ACCURACY = 0.01;
+        private static final int DEFAULT_PRECISION = 12;
+
+        public Aggregate {
+            Objects.requireNonNull(kind, "Aggregate kind cannot be null");
+            Objects.requireNonNull(name, "Aggregate name cannot be null");
+        }
+
+        private static Aggregate of(Kind kind, String column) {
+            Objects.requireNonNull(column, "Column cannot be null");
+            String name = kind.name().toLowerCase(Locale.ROOT) + "(" + column + ")";
+            return new Aggregate(kind, column, name, 0, DEFAULT_ACCURACY, DEFAULT_PRECISION);
+        }
+
+        /**
+         * @return an aggregate counting the rows of each group, named {@code count}.
+         */
+        public static Aggregate count() {
+            return new Aggregate(Kind.COUNT, null, "count", 0, DEFAULT_ACCURACY, DEFAULT_PRECISION);
+        }
+
+        /**
+         * @param column the column whose non-empty values are counted.
+         * @return an aggregate counting non-empty values, named {@code count(column)}.
+         */
+        public static Aggregate count(String column) {
+            return of(Kind.COUNT, column);
+        }
+
+        /**
+         * @param column the numeric column to sum.
+         * @return an aggregate summing values, named {@code sum(column)}.
+         */
+        public static Aggregate sum(String column) {
+            return of(Kind.SUM, column);
+        }
+
+        /**
+         * @param column the numeric column.
+         * @return an aggregate taking the smallest value, named {@code min(column)}.
+         */
+        public static Aggregate min(String column) {
+            return of(Kind.MIN, column);
+        }
+
+        /**
+         * @param column the numeric column.
+         * @return an aggregate taking the largest value, named {@code max(column)}.
+         */
+        public static Aggregate max(String column) {
+            return of(Kind.MAX, column);
+        }
+
+        /**
+         * @param column the numeric column.
+         * @return an aggregate averaging values, named {@code avg(column)}.
+         */
+        public static Aggregate avg(String column) {
+            return of(Kind.AVG, column);
+        }
+
+        /**
+         * Estimates the number of distinct values with a HyperLogLog sketch of 4 KB per group, with a standard
+         * error of about 1.6%.
+         *
+         * @param column the column whose distinct values are counted.
+         * @return an aggregate named {@code count_distinct(column)}.
+         */
+        public static Aggregate countDistinct(String column) {
+            return of(Kind.COUNT_DISTINCT, column);
+        }
+
+        /**
+         * Estimates the number of distinct values with a HyperLogLog sketch of {@code 2^precision} bytes per group.
+         *
+         * @param column    the column whose distinct values are counted.
+         * @param precision the sketch precision, between 4 and 16.
+         * @return an aggregate named {@code count_distinct(column)}.
+         * @throws IllegalArgumentException if {@code precision} is out of range.
+         */
+        public static Aggregate countDistinct(String column, int precision) {
+            if (precision < 4 || precision > 16) {
+                throw new IllegalArgumentException("Precision must be between 4 and 16");
+            }
+            Aggregate aggregate = of(Kind.COUNT_DISTINCT, column);
+            return new Aggregate(aggregate.kind, column, aggregate.name, 0, DEFAULT_ACCURACY, precision);
+        }
+
+        /**
+         * Estimates a quantile to within 1% of the true value.
+         *
+         * @param column   the numeric column.
+         * @param quantile the quantile, between 0 and 1 inclusive (e.g. 0.5 for the median).
+         * @return an aggregate named {@code quantile(column, quantile)}.
+         * @throws IllegalArgumentException if {@code quantile} is out of range.
+         */
+        public static Aggregate quantile(String column, double quantile) {
+            return quantile(column, quantile, DEFAULT_ACCURACY);
+        }
+
+        /**
+         * Estimates a quantile to within a relative accuracy of the true value.
+         *
+         * @param column           the numeric column.
+         * @param quantile         the quantile, between 0 and 1 inclusive (e.g. 0.5 for the median).
+         * @param relativeAccuracy the maximum relative error, between 0 and 1 exclusive.
+         * @return an aggregate named {@code quantile(column, quantile)}.
+         * @throws IllegalArgumentException if {@code quantile} or {@code relativeAccuracy} is out of range.
+         */
+        public static Aggregate quantile(String column, double quantile, double relativeAccuracy) {
+            Objects.requireNonNull(column, "Column cannot be null");
+            if (!(quantile >= 0 && quantile <= 1)) {
+                throw new IllegalArgumentException("Quantile must be between 0 and 1");
+            }
+            if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+                throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+            }
+            return new Aggregate(Kind.QUANTILE, column, "quantile(" + column + ", " + quantile + ")", quantile,
+                    relativeAccuracy, DEFAULT_PRECISION);
+        }
+
+        /**
+         * @param name the name to report the result under.
+         * @return a copy of this aggregate with a different name.
+         */
+        public Aggregate as(String name) {
+            return new Aggregate(kind, column, name, quantile, accuracy, precision);
+        }
+    }
+
+    /**
+     * The aggregates of one group.
+     *
+     * @param key    the values of the group-by columns, trimmed if configured.
+     * @param values the result of each aggregate by name, in the order the aggregates were added. Counts are
+     *               {@link Long}s, other results {@link Double}s, or {@code null} if the group had no values.
+     */
+    public record Group(List<String> key, Map<String, Number> values) {
+        /**
+         * @param name the aggregate name.
+         * @return the aggregate's result.
+         * @throws IllegalArgumentException if there is no aggregate with that name.
+         */
+        public Number get(String name) {
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown aggregate '" + name + "'");
+            }
+            return values.get(name);
+        }
+    }
+
+    /**
+     * Builder class for creating instances of {@link CSVAggregator}.
+     */
+    public static class Builder {
+        private String delimiter = ",";
+        private final List<String> groupBy = new ArrayList<>();
+        private final List<Aggregate> aggregates = new ArrayList<>();
+        private boolean trimFields = true;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private CSVParserConfig.ErrorHandlingStrategy errorHandlingStrategy = CSVParserConfig.ErrorHandlingStrategy.CONTINUE_ON_ERROR;
+
+        /**
+         * Sets the delimiter to use for splitting CSV rows.
+         *
+         * @param delimiter the delimiter to use (e.g., "," or "|").
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code delimiter} is null or empty.
+         */
+        public Builder withDelimiter(String delimiter) {
+            if (delimiter == null || delimiter.isEmpty()) {
+                throw new IllegalArgumentException("Delimiter cannot be null or empty");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Adds a group-by column. Groups are ordered by these columns in the order they are added.
+         *
+         * @param column the header name, matched ignoring case and surrounding whitespace.
+         * @return this builder instance.
+         */
+        public Builder groupBy(String column) {
+            this.groupBy.add(Objects.requireNonNull(column, "Column cannot be null"));
+            return this;
+        }
+
+        /**
+         * Adds an aggregate to compute for every group.
+         *
+         * @param aggregate the aggregate.
+         * @return this builder instance.
+         */
+        public Builder withAggregate(Aggregate aggregate) {
+            this.aggregates.add(Objects.requireNonNull(aggregate, "Aggregate cannot be null"));
+            return this;
+        }
+
+        /**
+         * Sets whether values are trimmed of surrounding whitespace before they are grouped or parsed.
+         *
+         * @param trimFields {@code true} to trim values.
+         * @return this builder instance.
+         */
+        public Builder withTrimFields(boolean trimFields) {
+            this.trimFields = trimFields;
+            return this;
+        }
+
+        /**
+         * Sets the number of byte ranges aggregated concurrently.
+         *
+         * @param parallelism the number of worker threads.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code parallelism} is not positive.
+         */
+        public Builder withParallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the strategy for rows with the wrong number of values or a non-numeric value in a numeric aggregate.
+         * Rejected rows are left out of every aggregate.
+         *
+         * @param strategy the error handling strategy to use.
+         * @return this builder instance.
+         */
+        public Builder withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy strategy) {
+            this.errorHandlingStrategy = Objects.requireNonNull(strategy, "ErrorHandlingStrategy cannot be null");
+            return this;
+        }
+
+        /**
+         * Builds the {@link CSVAggregator} instance.
+         *
+         * @return a new {@link CSVAggregator} instance.
+         * @throws IllegalStateException if no aggregate was added, or two aggregates share a name.
+         */
+        public CSVAggregator build() {
+            if (aggregates.isEmpty()) {
+                throw new IllegalStateException("At least one aggregate is required");
+            }
+            if (aggregates.stream().map(Aggregate::name).distinct().count() != aggregates.size()) {
+                throw new IllegalStateException("Aggregate names must be unique");
+            }
+            return new CSVAggregator(this);
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Computes the row- and column-level differences between two versions of a CSV file, matching rows on
+ * configured key columns.
+ * <p>
+ * When both files are sorted by their key columns (compared as text), they are merged in a single streaming
+ * pass that holds only the current row of each file. Otherwise the old file is indexed in memory, and if it
+ * exceeds the memory budget both files are hash-partitioned into temporary files and compared one partition
+ * at a time; changes are then reported grouped by partition rather than in file order.
+ * <p>
+ * Rows are compared on their raw text first, and only rows whose text differs are split into fields. If a
+ * parser configuration is supplied, changed fields that map to a target field are converted with
+ * {@link TypeConverter} and compared as values, so that e.g. {@code 1.10} and {@code 1.1} are equal for a
+ * {@code double} field. Unchanged fields are never converted.
+ */
+public class CSVDiff {
+    private static final Logger log = LoggerFactory.getLogger(CSVDiff.class);
+    // Marks an old row that a new row has matched; compared by identity
+    private static final String MATCHED = new String();
+
+    private final String delimiter;
+    private final List<String> keys;
+    private final boolean sortedInput;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final CSVParserConfig<?> config;
+
+    private CSVDiff(Builder builder) {
+        this.config = builder.config;
+        this.delimiter = config != null ? config.getDelimiter() : builder.delimiter;
+        this.keys = List.copyOf(builder.keys);
+        this.sortedInput = builder.sortedInput;
+        this.memoryBudget = builder.memoryBudget;
+        this.tempDirectory = builder.tempDirectory;
+    }
+
+    /**
+     * Compares two versions of a CSV file and collects the changes.
+     *
+     * @param oldFile the previous version.
+     * @param newFile the current version.
+     * @return the changes.
+     * @throws CSVParseException if a file cannot be read, the headers differ, a key is duplicated, or sorted
+     *                           input is out of order.
+     */
+    public List<RowChange> diff(File oldFile, File newFile) {
+        List<RowChange> changes = new ArrayList<>();
+        diff(oldFile, newFile, changes::add);
+        return changes;
+    }
+
+    /**
+     * Compares two versions of a CSV file, passing each change to a consumer.
+     *
+     * @param oldFile the previous version.
+     * @param newFile the current version.
+     * @param changes the consumer receiving each change.
+     * @throws CSVParseException if a file cannot be read, the headers differ, a key is duplicated, or sorted
+     *                           input is out of order.
+     */
+    public void diff(File oldFile, File newFile, Consumer<RowChange> changes) {
+        Objects.requireNonNull(oldFile, "Old file cannot be null");
+        Objects.requireNonNull(newFile, "New file cannot be null");
+        Objects.requireNonNull(changes, "Change consumer cannot be null");
+
+        try (CSVRowReader oldReader = new CSVRowReader(oldFile, delimiter);
+             CSVRowReader newReader = new CSVRowReader(newFile, delimiter)) {
+            Comparison comparison = new Comparison(oldReader, newReader);
+            if (sortedInput) {
+                mergeSorted(oldReader, newReader, comparison, changes);
+                return;
+            }
+
+            Map<String, String> oldRows = new HashMap<>();
+            long oldBytes = 0;
+            String line;
+            while ((line = oldReader.readLine()) != null) {
+                putUnique(oldRows, HashPartitioner.key(oldReader.split(line), comparison.oldKeyColumns), line, oldReader, null);
+                oldBytes += 96 + 2L * line.length();
+                if (oldBytes > memoryBudget) {
+                    log.info("{} exceeds the memory budget, switching to a partitioned diff", oldFile.getPath());
+                    // Release the partial index before partitioning, so memory use stays within the budget
+                    oldRows = null;
+                    diffPartitioned(oldFile, newFile, comparison, changes);
+                    return;
+                }
+            }
+            diffHashed(oldRows, newReader, null, comparison, changes);
+        }
+    }
+
+    private void mergeSorted(CSVRowReader oldReader, CSVRowReader newReader, Comparison comparison,
+                             Consumer<RowChange> changes) {
+        KeyedLine oldRow = KeyedLine.next(oldReader, comparison.oldKeyColumns, null);
+        KeyedLine newRow = KeyedLine.next(newReader, comparison.newKeyColumns, null);
+        while (oldRow != null || newRow != null) {
+            int order = oldRow == null ? 1 : newRow == null ? -1 : oldRow.key().compareTo(newRow.key());
+            if (order < 0) {
+                changes.accept(comparison.removed(oldRow.line()));
+                oldRow = KeyedLine.next(oldReader, comparison.oldKeyColumns, oldRow);
+            } else if (order > 0) {
+                changes.accept(comparison.added(newRow.line()));
+                newRow = KeyedLine.next(newReader, comparison.newKeyColumns, newRow);
+            } else {
+                comparison.compare(oldRow.line(), newRow.line(), changes);
+                oldRow = KeyedLine.next(oldReader, comparison.oldKeyColumns, oldRow);
+                newRow = KeyedLine.next(newReader, comparison.newKeyColumns, newRow);
+            }
+        }
+    }
+
+    /**
+     * Streams the new rows against an in-memory index of the old rows. Old rows left over at the end were removed.
+     * To detect a key repeated in the new file, a matched old row is replaced by a marker rather than removed, and
+     * the keys of added rows are kept; memory therefore grows with the old rows and the changes, not with the new
+     * file.
+     *
+     * @param spilledFrom the new file if the rows are read from one of its partitions, {@code null} otherwise.
+     */
+    private void diffHashed(Map<String, String> oldRows, CSVRowReader newReader, File spilledFrom, Comparison comparison,
+                            Consumer<RowChange> changes) {
+        Set<String> addedKeys = new HashSet<>();
+        String line;
+        while ((line = newReader.readLine()) != null) {
+            String key = HashPartitioner.key(newReader.split(line), comparison.newKeyColumns);
+            String oldLine = oldRows.get(key);
+            if (oldLine == MATCHED || oldLine == null && !addedKeys.add(key)) {
+                throw duplicateKey(key, newReader, spilledFrom);
+            }
+            if (oldLine == null) {
+                changes.accept(comparison.added(line));
+            } else {
+                oldRows.put(key, MATCHED);
+                comparison.compare(oldLine, line, changes);
+            }
+        }
+        for (String oldLine : oldRows.values()) {
+            if (oldLine != MATCHED) {
+                changes.accept(comparison.removed(oldLine));
+            }
+        }
+    }
+
+    private void diffPartitioned(File oldFile, File newFile, Comparison comparison, Consumer<RowChange> changes) {
+        int partitionCount = (int) Math.max(2, Math.min(1024, 4 * oldFile.length() / memoryBudget + 1));
+        List<Path> tempFiles = new ArrayList<>();
+        try {
+            Path[] oldPartitions = HashPartitioner.partition(oldFile, delimiter, comparison.oldKeyColumns, partitionCount, tempDirectory, tempFiles);
+            Path[] newPartitions = HashPartitioner.partition(newFile, delimiter, comparison.newKeyColumns, partitionCount, tempDirectory, tempFiles);
+            for (int p = 0; p < partitionCount; p++) {
+                Map<String, String> oldRows = new HashMap<>();
+                try (CSVRowReader oldReader = new CSVRowReader(Files.newBufferedReader(oldPartitions[p]), delimiter)) {
+                    String line;
+                    while ((line = oldReader.readLine()) != null) {
+                        putUnique(oldRows, HashPartitioner.key(oldReader.split(line), comparison.oldKeyColumns), line, oldReader, oldFile);
+                    }
+                }
+                try (CSVRowReader newReader = new CSVRowReader(Files.newBufferedReader(newPartitions[p]), delimiter)) {
+                    diffHashed(oldRows, newReader, newFile, comparison, changes);
+                }
+            }
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to spill diff partitions", e);
+        } finally {
+            HashPartitioner.deleteAll(tempFiles);
+        }
+    }
+
+    private static void putUnique(Map<String, String> rows, String key, String line, CSVRowReader reader, File spilledFrom) {
+        if (rows.put(key, line) != null) {
+            throw duplicateKey(key, reader, spilledFrom);
+        }
+    }
+
+    /**
+     * Reports a repeated key. Lines of a spilled partition are not those of the file it was spilled from, so rows
+     * read from a partition are reported by file rather than line.
+     */
+    private static CSVParseException duplicateKey(String key, CSVRowReader reader, File spilledFrom) {
+        String location = spilledFrom == null ? "at line " + reader.getLineNumber() : "in " + spilledFrom.getPath();
+        return new CSVParseException("Duplicate key '" + key.replace('\u0000', '|') + "' " + location);
+    }
+
+    /**
+     * A raw line with its extracted key.
+     */
+    private record KeyedLine(String key, String line) {
+        static KeyedLine next(CSVRowReader reader, int[] keyColumns, KeyedLine previous) {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            KeyedLine next = new KeyedLine(HashPartitioner.key(reader.split(line), keyColumns), line);
+            if (previous != null) {
+                int order = previous.key().compareTo(next.key());
+                if (order == 0) {
+                    throw duplicateKey(next.key(), reader, null);
+                }
+                if (order > 0) {
+                    throw new CSVParseException("Input is not sorted by key at line " + reader.getLineNumber());
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Column layout shared by both files, and the logic to compare a pair of rows.
+     */
+    private final class Comparison {
+        private final String[] headers;
+        private final int[] oldKeyColumns;
+        private final int[] newKeyColumns;
+        private final int[] newColumnOf;
+        private final Class<?>[] types;
+        private final CSVRowReader newReader;
+
+        Comparison(CSVRowReader oldReader, CSVRowReader newReader) {
+            this.newReader = newReader;
+            this.headers = oldReader.split(oldReader.getHeaderLine());
+            String[] oldHeaders = oldReader.getHeaders();
+            String[] newHeaders = newReader.getHeaders();
+            if (oldHeaders.length != newHeaders.length) {
+                throw new CSVParseException("Header mismatch. Old: " + Arrays.toString(oldHeaders) + ", New: " + Arrays.toString(newHeaders));
+            }
+            this.newColumnOf = new int[oldHeaders.length];
+            for (int i = 0; i < oldHeaders.length; i++) {
+                newColumnOf[i] = newReader.indexOf(oldHeaders[i]);
+            }
+            this.oldKeyColumns = keys.stream().mapToInt(oldReader::indexOf).toArray();
+            this.newKeyColumns = keys.stream().mapToInt(newReader::indexOf).toArray();
+            this.types = fieldTypes(oldHeaders);
+        }
+
+        RowChange added(String newLine) {
+            String[] values = newReader.split(newLine);
+            return new RowChange(ChangeType.ADDED, keyValues(values, newKeyColumns), null, values, List.of());
+        }
+
+        RowChange removed(String oldLine) {
+            String[] values = newReader.split(oldLine);
+            return new RowChange(ChangeType.REMOVED, keyValues(values, oldKeyColumns), values, null, List.of());
+        }
+
+        void compare(String oldLine, String newLine, Consumer<RowChange> changes) {
+            if (oldLine.equals(newLine)) {
+                return;
+            }
+            String[] oldValues = newReader.split(oldLine);
+            String[] newValues = newReader.split(newLine);
+            List<FieldChange> fieldChanges = new ArrayList<>();
+            for (int i = 0; i < headers.length; i++) {
+                String oldValue = value(oldValues, i);
+                String newValue = value(newValues, newColumnOf[i]);
+                if (oldValue.equals(newValue)) {
+                    continue;
+                }
+                FieldChange change = fieldChange(i, oldValue, newValue);
+                if (change != null) {
+                    fieldChanges.add(change);
+                }
+            }
+            if (!fieldChanges.isEmpty()) {
+                changes.accept(new RowChange(ChangeType.CHANGED, keyValues(newValues, newKeyColumns), oldValues, newValues,
+                        List.copyOf(fieldChanges)));
+            }
+        }
+
+        /**
+         * Converts a changed field if its type is known; returns {@code null} if the values are equal once converted.
+         */
+        private FieldChange fieldChange(int column, String oldValue, String newValue) {
+            Class<?> type = types[column];
+            if (type == null) {
+                return new FieldChange(headers[column].trim(), oldValue, newValue, null, null);
+            }
+            String oldText = config.isTrimFields() ? oldValue.trim() : oldValue;
+            String newText = config.isTrimFields() ? newValue.trim() : newValue;
+            try {
+                Object oldConverted = TypeConverter.convert(oldText, type);
+                Object newConverted = TypeConverter.convert(newText, type);
+                if (valuesEqual(oldConverted, newConverted)) {
+                    return null;
+                }
+                return new FieldChange(headers[column].trim(), oldValue, newValue, oldConverted, newConverted);
+            } catch (CSVParseException e) {
+                log.debug("Could not convert changed field '{}': {}", headers[column].trim(), e.getMessage());
+                return new FieldChange(headers[column].trim(), oldValue, newValue, null, null);
+            }
+        }
+
+        private Class<?>[] fieldTypes(String[] normalizedHeaders) {
+            Class<?>[] fieldTypes = new Class<?>[normalizedHeaders.length];
+            if (config == null) {
+                return fieldTypes;
+            }
+            for (int i = 0; i < normalizedHeaders.length; i++) {
+                String fieldName = config.getHeaderMapping().getOrDefault(normalizedHeaders[i], normalizedHeaders[i]);
+                for (Field field : config.getTargetClass().getDeclaredFields()) {
+                    if (field.getName().equals(fieldName)) {
+                        fieldTypes[i] = field.getType();
+                    }
+                }
+            }
+            return fieldTypes;
+        }
+
+        private List<String> keyValues(String[] values, int[] keyColumns) {
+            List<String> keyValues = new ArrayList<>(keyColumns.length);
+            for (int column : keyColumns) {
+                keyValues.add(value(values, column).trim());
+            }
+            return List.copyOf(keyValues);
+        }
+
+        private String value(String[] values, int column) {
+            return column < values.length ? values[column] : "";
+        }
+    }
+
+    private static boolean valuesEqual(Object a, Object b) {
+        if (a instanceof BigDecimal left && b instanceof BigDecimal right) {
+            return left.compareTo(right) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    /**
+     * Kinds of row-level change.
+     */
+    public enum ChangeType {
+        /**
+         * The key exists only in the new file.
+         */
+        ADDED,
+
+        /**
+         * The key exists only in the old file.
+         */
+        REMOVED,
+
+        /**
+         * The key exists in both files with different values.
+         */
+        CHANGED
+    }
+
+    /**
+     * A row-level change.
+     *
+     * @param type         the kind of change.
+     * @param key          the key column values, trimmed.
+     * @param oldValues    the raw values of the old row, or {@code null} if the row was added.
+     * @param newValues    the raw values of the new row, or {@code null} if the row was removed.
+     * @param fieldChanges the changed fields, in column order; empty unless the row was changed.
+     */
+    public record RowChange(ChangeType type, List<String> key, String[] oldValues, String[] newValues,
+                            List<FieldChange> fieldChanges) {
+    }
+
+    /**
+     * A column-level change within a changed row.
+     *
+     * @param column   the column header, as written in the old file.
+     * @param oldValue the raw old value.
+     * @param newValue the raw new value.
+     * @param oldTyped the old value converted to the target field type, or {@code null} if no type is known.
+     * @param newTyped the new value converted to the target field type, or {@code null} if no type is known.
+     */
+    public record FieldChange(String column, String oldValue, String newValue, Object oldTyped, Object newTyped) {
+    }
+
+    /**
+     * Builder class for constructing instances of {@link CSVDiff}.
+     */
+    public static class Builder {
+        private String delimiter = ",";
+        private final List<String> keys = new ArrayList<>();
+        private boolean sortedInput;
+        private long memoryBudget = 64L * 1024 * 1024;
+        private Path tempDirectory;
+        private CSVParserConfig<?> config;
+
+        /**
+         * Sets the delimiter used by both CSV files. Ignored if a parser configuration is set.
+         *
+         * @param delimiter the delimiter to use (e.g., "," or "|").
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code delimiter} is null or empty.
+         */
+        public Builder withDelimiter(String delimiter) {
+            if (delimiter == null || delimiter.isEmpty()) {
+                throw new IllegalArgumentException("Delimiter cannot be null or empty");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Adds a key column used to match rows between the two files.
+         *
+         * @param column the header name.
+         * @return this builder instance.
+         */
+        public Builder withKey(String column) {
+            this.keys.add(Objects.requireNonNull(column, "Key column cannot be null"));
+            return this;
+        }
+
+        /**
+         * Declares that both files are sorted by their key columns, compared as text, enabling a streaming merge.
+         *
+         * @param sortedInput {@code true} if both inputs are sorted by key.
+         * @return this builder instance.
+         */
+        public Builder withSortedInput(boolean sortedInput) {
+            this.sortedInput = sortedInput;
+            return this;
+        }
+
+        /**
+         * Sets the approximate amount of heap memory used to index the old file before the diff is partitioned.
+         *
+         * @param bytes the memory budget in bytes.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code bytes} is not positive.
+         */
+        public Builder withMemoryBudget(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Memory budget must be positive");
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the directory for spilled partitions. Defaults to the system temporary directory.
+         *
+         * @param tempDirectory the directory for temporary files.
+         * @return this builder instance.
+         */
+        public Builder withTempDirectory(File tempDirectory) {
+            this.tempDirectory = tempDirectory.toPath();
+            return this;
+        }
+
+        /**
+         * Sets a parser configuration whose delimiter, header mapping and target field types are used to read the
+         * files and to compare changed fields as typed values.
+         *
+         * @param config the parser configuration.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+         */
+        public Builder withConfig(CSVParserConfig<?> config) {
+            Objects.requireNonNull(config, "Config cannot be null");
+            CSVParser.requireDelimited(config, "diffing");
+            this.config = config;
+            return this;
+        }
+
+        /**
+         * Builds and returns a new {@link CSVDiff} instance.
+         *
+         * @return the constructed {@link CSVDiff}.
+         * @throws IllegalStateException if no key column was added.
+         */
+        public CSVDiff build() {
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("At least one key column is required");
+            }
+            return new CSVDiff(this);
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streaming hash join between two CSV files.
+ * The smaller (build) file is loaded into a compact open-addressing index keyed on its join columns; the
+ * larger (probe) file is then streamed row by row and each row is emitted together with its matching build
+ * rows. Joined rows contain all probe columns followed by the build columns that are not join keys.
+ * <p>
+ * If the build file does not fit within the memory budget, both files are hash-partitioned into temporary
+ * files and joined one partition at a time. In that case joined rows are emitted grouped by partition rather
+ * than in probe file order.
+ */
+public class CSVJoiner {
+    private static final Logger log = LoggerFactory.getLogger(CSVJoiner.class);
+
+    private final String delimiter;
+    private final List<String> probeKeys;
+    private final List<String> buildKeys;
+    private final JoinType joinType;
+    private final long memoryBudget;
+    private final int partitions;
+    private final Path tempDirectory;
+
+    private CSVJoiner(Builder builder) {
+        this.delimiter = builder.delimiter;
+        this.probeKeys = List.copyOf(builder.probeKeys);
+        this.buildKeys = List.copyOf(builder.buildKeys);
+        this.joinType = builder.joinType;
+        this.memoryBudget = builder.memoryBudget;
+        this.partitions = builder.partitions;
+        this.tempDirectory = builder.tempDirectory;
+    }
+
+    /**
+     * Joins two CSV files into a new CSV file whose header is the probe header followed by the non-key build headers.
+     *
+     * @param probe  the larger CSV file, streamed once.
+     * @param build  the smaller CSV file, indexed in memory.
+     * @param output the file to write the joined CSV to.
+     * @throws CSVParseException if a file cannot be read or written.
+     */
+    public void join(File probe, File build, File output) {
+        Objects.requireNonNull(output, "Output file cannot be null");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(output))) {
+            writer.write(String.join(delimiter, joinedHeaders(probe, build)));
+            writer.newLine();
+            join(probe, build, values -> {
+                try {
+                    writer.write(String.join(delimiter, values));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to write file: {}", output.getPath(), e);
+            throw new CSVParseException("Failed to write file: " + output.getPath(), e);
+        }
+    }
+
+    /**
+     * Joins two CSV files, passing each joined row to a consumer.
+     *
+     * @param probe the larger CSV file, streamed once.
+     * @param build the smaller CSV file, indexed in memory.
+     * @param rows  the consumer receiving each joined row's raw values.
+     * @throws CSVParseException if a file cannot be read.
+     */
+    public void join(File probe, File build, Consumer<String[]> rows) {
+        Objects.requireNonNull(probe, "Probe file cannot be null");
+        Objects.requireNonNull(build, "Build file cannot be null");
+        Objects.requireNonNull(rows, "Row consumer cannot be null");
+
+        try (CSVRowReader buildReader = new CSVRowReader(build, delimiter);
+             CSVRowReader probeReader = new CSVRowReader(probe, delimiter)) {
+            int[] buildKeyColumns = resolve(buildReader, buildKeys);
+            int[] probeKeyColumns = resolve(probeReader, probeKeys);
+            int[] buildValueColumns = valueColumns(buildReader.getHeaders().length, buildKeyColumns);
+            int probeWidth = probeReader.getHeaders().length;
+
+            BuildIndex index = new BuildIndex(buildKeyColumns, buildValueColumns);
+            String line;
+            while ((line = buildReader.readLine()) != null) {
+                index.add(buildReader.split(line));
+                if (index.estimatedBytes() > memoryBudget) {
+                    log.info("Build side {} exceeds the memory budget, switching to a partitioned join", build.getPath());
+                    joinPartitioned(probe, build, probeKeyColumns, probeWidth, buildKeyColumns, buildValueColumns, rows);
+                    return;
+                }
+            }
+            probe(probeReader, probeKeyColumns, probeWidth, index, rows);
+        }
+    }
+
+    /**
+     * Returns the header of joined rows: the probe headers followed by the non-key build headers.
+     *
+     * @param probe the probe CSV file.
+     * @param build the build CSV file.
+     * @return the joined headers, as written in the files.
+     */
+    public String[] joinedHeaders(File probe, File build) {
+        try (CSVRowReader buildReader = new CSVRowReader(build, delimiter);
+             CSVRowReader probeReader = new CSVRowReader(probe, delimiter)) {
+            String[] probeHeaders = probeReader.split(probeReader.getHeaderLine());
+            String[] buildHeaders = buildReader.split(buildReader.getHeaderLine());
+            int[] buildValueColumns = valueColumns(buildHeaders.length, resolve(buildReader, buildKeys));
+            String[] headers = Arrays.copyOf(probeHeaders, probeHeaders.length + buildValueColumns.length);
+            for (int i = 0; i < buildValueColumns.length; i++) {
+                headers[probeHeaders.length + i] = buildHeaders[buildValueColumns[i]];
+            }
+            return headers;
+        }
+    }
+
+    private void probe(CSVRowReader probeReader, int[] probeKeyColumns, int probeWidth, BuildIndex index,
+                       Consumer<String[]> rows) {
+        String line;
+        while ((line = probeReader.readLine()) != null) {
+            String[] values = probeReader.split(line);
+            String key = HashPartitioner.key(values, probeKeyColumns);
+            int row = index.first(key);
+            if (row < 0) {
+                if (joinType == JoinType.LEFT) {
+                    rows.accept(joined(values, probeWidth, null, index.width()));
+                }
+                continue;
+            }
+            for (; row >= 0; row = index.next(row)) {
+                rows.accept(joined(values, probeWidth, index.values(row), index.width()));
+            }
+        }
+    }
+
+    /**
+     * Grace hash join: partitions both inputs by key hash so that each build partition fits in memory.
+     */
+    private void joinPartitioned(File probe, File build, int[] probeKeyColumns, int probeWidth,
+                                 int[] buildKeyColumns, int[] buildValueColumns, Consumer<String[]> rows) {
+        int partitionCount = partitions > 0
+                ? partitions
+                : (int) Math.max(2, Math.min(1024, 4 * build.length() / memoryBudget + 1));
+        List<Path> tempFiles = new ArrayList<>();
+        try {
+            Path[] buildPartitions = HashPartitioner.partition(build, delimiter, buildKeyColumns, partitionCount, tempDirectory, tempFiles);
+            Path[] probePartitions = HashPartitioner.partition(probe, delimiter, probeKeyColumns, partitionCount, tempDirectory, tempFiles);
+            for (int p = 0; p < partitionCount; p++) {
+                BuildIndex index = new BuildIndex(buildKeyColumns, buildValueColumns);
+                try (CSVRowReader buildReader = new CSVRowReader(Files.newBufferedReader(buildPartitions[p]), delimiter)) {
+                    String line;
+                    while ((line = buildReader.readLine()) != null) {
+                        index.add(buildReader.split(line));
+                    }
+                }
+                if (index.estimatedBytes() > memoryBudget) {
+                    log.warn("Partition {} of {} still exceeds the memory budget ({} bytes)", p, build.getPath(), index.estimatedBytes());
+                }
+                try (CSVRowReader probeReader = new CSVRowReader(Files.newBufferedReader(probePartitions[p]), delimiter)) {
+                    probe(probeReader, probeKeyColumns, probeWidth, index, rows);
+                }
+            }
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to spill join partitions", e);
+        } finally {
+            HashPartitioner.deleteAll(tempFiles);
+        }
+    }
+
+    private static String[] joined(String[] probeValues, int probeWidth, String[] buildValues, int buildWidth) {
+        String[] joined = new String[probeWidth + buildWidth];
+        for (int i = 0; i < probeWidth; i++) {
+            joined[i] = i < probeValues.length ? probeValues[i] : "";
+        }
+        if (buildValues != null) {
+            System.arraycopy(buildValues, 0, joined, probeWidth, buildWidth);
+        } else {
+            Arrays.fill(joined, probeWidth, joined.length, "");
+        }
+        return joined;
+    }
+
+    private static int[] resolve(CSVRowReader reader, List<String> columns) {
+        return columns.stream().mapToInt(reader::indexOf).toArray();
+    }
+
+    private static int[] valueColumns(int width, int[] keyColumns) {
+        int[] sortedKeys = keyColumns.clone();
+        Arrays.sort(sortedKeys);
+        List<Integer> columns = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            if (Arrays.binarySearch(sortedKeys, i) < 0) {
+                columns.add(i);
+            }
+        }
+        return columns.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Open-addressing index of build rows. Each distinct key is stored once in a slot holding the first
+     * matching row; rows sharing a key are chained through a primitive {@code int} array.
+     */
+    private final class BuildIndex {
+        private final int[] keyColumns;
+        private final int[] valueColumns;
+        private String[] slotKeys = new String[1024];
+        private int[] slotHeads = new int[1024];
+        private int[] slotTails = new int[1024];
+        private int distinctKeys;
+        private int[] nextRow = new int[1024];
+        private final List<String[]> rowValues = new ArrayList<>();
+        private long estimatedBytes;
+
+        BuildIndex(int[] keyColumns, int[] valueColumns) {
+            this.keyColumns = keyColumns;
+            this.valueColumns = valueColumns;
+        }
+
+        void add(String[] values) {
+            String key = HashPartitioner.key(values, keyColumns);
+            String[] stored = new String[valueColumns.length];
+            long bytes = 16 + 4L * stored.length;
+            for (int i = 0; i < valueColumns.length; i++) {
+                stored[i] = valueColumns[i] < values.length ? values[valueColumns[i]] : "";
+                bytes += 40 + stored[i].length();
+            }
+
+            int row = rowValues.size();
+            rowValues.add(stored);
+            if (row == nextRow.length) {
+                nextRow = Arrays.copyOf(nextRow, row * 2);
+            }
+            nextRow[row] = -1;
+
+            int slot = find(key);
+            if (slotKeys[slot] == null) {
+                slotKeys[slot] = key;
+                slotHeads[slot] = row;
+                slotTails[slot] = row;
+                bytes += 40 + key.length();
+                if (++distinctKeys * 2 > slotKeys.length) {
+                    rehash();
+                }
+            } else {
+                nextRow[slotTails[slot]] = row;
+                slotTails[slot] = row;
+            }
+            estimatedBytes += bytes + 8;
+        }
+
+        int first(String key) {
+            int slot = find(key);
+            return slotKeys[slot] == null ? -1 : slotHeads[slot];
+        }
+
+        int next(int row) {
+            return nextRow[row];
+        }
+
+        String[] values(int row) {
+            return rowValues.get(row);
+        }
+
+        int width() {
+            return valueColumns.length;
+        }
+
+        long estimatedBytes() {
+            return estimatedBytes + 12L * slotKeys.length;
+        }
+
+        private int find(String key) {
+            int mask = slotKeys.length - 1;
+            int slot = mix(key.hashCode()) & mask;
+            while (slotKeys[slot] != null && !slotKeys[slot].equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            String[] oldKeys = slotKeys;
+            int[] oldHeads = slotHeads;
+            int[] oldTails = slotTails;
+            slotKeys = new String[oldKeys.length * 2];
+            slotHeads = new int[oldKeys.length * 2];
+            slotTails = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = find(oldKeys[i]);
+                    slotKeys[slot] = oldKeys[i];
+                    slotHeads[slot] = oldHeads[i];
+                    slotTails[slot] = oldTails[i];
+                }
+            }
+        }
+
+        private int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Supported join types.
+     */
+    public enum JoinType {
+        /**
+         * Emit only probe rows that have at least one matching build row.
+         */
+        INNER,
+
+        /**
+         * Emit every probe row; rows without a match have empty build columns.
+         */
+        LEFT
+    }
+
+    /**
+     * Builder class for constructing instances of {@link CSVJoiner}.
+     */
+    public static class Builder {
+        private String delimiter = ",";
+        private final List<String> probeKeys = new ArrayList<>();
+        private final List<String> buildKeys = new ArrayList<>();
+        private JoinType joinType = JoinType.INNER;
+        private long memoryBudget = 64L * 1024 * 1024;
+        private int partitions;
+        private Path tempDirectory;
+
+        /**
+         * Sets the delimiter used by both CSV files.
+         *
+         * @param delimiter the delimiter to use (e.g., "," or "|").
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code delimiter} is null or empty.
+         */
+        public Builder withDelimiter(String delimiter) {
+            if (delimiter == null || delimiter.isEmpty()) {
+                throw new IllegalArgumentException("Delimiter cannot be null or empty");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Adds a join condition on a column with the same header in both files.
+         *
+         * @param column the header name.
+         * @return this builder instance.
+         */
+        public Builder on(String column) {
+            return on(column, column);
+        }
+
+        /**
+         * Adds a join condition between a probe column and a build column.
+         *
+         * @param probeColumn the header name in the probe file.
+         * @param buildColumn the header name in the build file.
+         * @return this builder instance.
+         */
+        public Builder on(String probeColumn, String buildColumn) {
+            this.probeKeys.add(Objects.requireNonNull(probeColumn, "Probe column cannot be null"));
+            this.buildKeys.add(Objects.requireNonNull(buildColumn, "Build column cannot be null"));
+            return this;
+        }
+
+        /**
+         * Sets the join type. Defaults to {@link JoinType#INNER}.
+         *
+         * @param joinType the join type.
+         * @return this builder instance.
+         */
+        public Builder withJoinType(JoinType joinType) {
+            this.joinType = Objects.requireNonNull(joinType, "Join type cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the approximate amount of heap memory the build side may use before the join is partitioned.
+         *
+         * @param bytes the memory budget in bytes.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code bytes} is not positive.
+         */
+        public Builder withMemoryBudget(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Memory budget must be positive");
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the number of partitions used when the build side spills. By default it is derived from the
+         * build file size and the memory budget.
+         *
+         * @param partitions the number of partitions.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code partitions} is not positive.
+         */
+        public Builder withPartitions(int partitions) {
+            if (partitions <= 0) {
+                throw new IllegalArgumentException("Partitions must be positive");
+            }
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Sets the directory for spilled partitions. Defaults to the system temporary directory.
+         *
+         * @param tempDirectory the directory for temporary files.
+         * @return this builder instance.
+         */
+        public Builder withTempDirectory(File tempDirectory) {
+            this.tempDirectory = tempDirectory.toPath();
+            return this;
+        }
+
+        /**
+         * Builds and returns a new {@link CSVJoiner} instance.
+         *
+         * @return the constructed {@link CSVJoiner}.
+         * @throws IllegalStateException if no join condition was added.
+         */
+        public CSVJoiner build() {
+            if (probeKeys.isEmpty()) {
+                throw new IllegalStateException("At least one join column is required");
+            }
+            return new CSVJoiner(this);
+        }
+    }
+}
@@ -0,0 +1,848 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Streams CSV straight to JSON without materializing objects.
+ * Each row becomes one JSON object whose fields are written from the row's characters directly to a Jackson
+ * {@link JsonGenerator}, so memory use is bounded by the longest line rather than by the file.
+ * <p>
+ * Field types come from one of two sources:
+ * <ul>
+ *     <li>A {@link CSVParserConfig}: headers are mapped to fields of the target class exactly as
+ *     {@link CSVParser#parse} maps them, JSON keys are the field names, and each value is written with the JSON
+ *     type of its field. Values that cannot be converted to their field's type, and rows that fail one of the
+ *     configuration's {@link ValidationRule}s, are handled with the configured
+ *     {@link CSVParserConfig.ErrorHandlingStrategy}, and the row is left out.</li>
+ *     <li>An inferred schema: the first rows are sampled to choose between boolean, integer, number and string for
+ *     each column, and JSON keys are the trimmed headers. Later values that do not fit the inferred type are
+ *     written as strings rather than dropped.</li>
+ * </ul>
+ * Numbers are written with the digits that appear in the file; empty values become {@code null}, or the default
+ * value for primitive fields.
+ */
+public class CSVJsonTranscoder {
+    private static final Logger log = LoggerFactory.getLogger(CSVJsonTranscoder.class);
+
+    /**
+     * The layout of the JSON output.
+     */
+    public enum OutputMode {
+        /**
+         * One JSON object per line (newline-delimited JSON).
+         */
+        NDJSON,
+        /**
+         * A single JSON array containing every object.
+         */
+        ARRAY
+    }
+
+    private enum ColumnType {
+        STRING,
+        INTEGER,
+        NUMBER,
+        BOOLEAN,
+        // Converted with TypeConverter only to validate it, then written as a string
+        CONVERTED,
+        IGNORED
+    }
+
+    private final CSVParserConfig<?> config;
+    private final String delimiter;
+    private final boolean trimFields;
+    private final boolean skipEmptyLines;
+    private final CSVParserConfig.ErrorHandlingStrategy errorHandlingStrategy;
+    private final OutputMode outputMode;
+    private final int inferenceSampleSize;
+    private final JsonFactory jsonFactory;
+
+    private CSVJsonTranscoder(Builder builder) {
+        this.config = builder.config;
+        this.outputMode = builder.outputMode;
+        this.inferenceSampleSize = builder.inferenceSampleSize;
+        this.jsonFactory = builder.jsonFactory;
+        if (config != null) {
+            this.delimiter = config.getDelimiter();
+            this.trimFields = config.isTrimFields();
+            this.skipEmptyLines = config.isSkipEmptyLines();
+            this.errorHandlingStrategy = config.getErrorHandlingStrategy();
+        } else {
+            this.delimiter = builder.delimiter;
+            this.trimFields = builder.trimFields;
+            this.skipEmptyLines = true;
+            this.errorHandlingStrategy = CSVParserConfig.ErrorHandlingStrategy.CONTINUE_ON_ERROR;
+        }
+    }
+
+    /**
+     * Transcodes a CSV file into a JSON file. The JSON is written to a temporary file next to the output and moved
+     * into place once complete, so a failed transcode leaves any existing output untouched.
+     *
+     * @param input  the CSV file to read.
+     * @param output the file to write the JSON to.
+     * @return the number of rows written.
+     * @throws CSVParseException if the input cannot be read, the output cannot be written, or a row fails to
+     *                           convert and the strategy is HALT_ON_ERROR.
+     */
+    public long transcode(File input, File output) {
+        Objects.requireNonNull(input, "File cannot be null");
+        Objects.requireNonNull(output, "Output file cannot be null");
+        Path target = output.toPath().toAbsolutePath();
+        try {
+            // Closing the generator ends an open array, so a halted transcode would otherwise leave valid but
+            // truncated JSON in place of the previous output
+            Path temp = Files.createTempFile(target.getParent(), "json-", ".tmp");
+            try {
+                long rows;
+                try (BufferedReader reader = new BufferedReader(new FileReader(input));
+                     BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                    rows = transcode(reader, writer);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return rows;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.error("Failed to transcode file: {}", input.getPath(), e);
+            throw new CSVParseException("Failed to transcode file: " + input.getPath(), e);
+        }
+    }
+
+    /**
+     * Transcodes CSV text into JSON text. Neither the reader nor the writer is closed; the writer is flushed.
+     *
+     * @param input  the reader supplying the CSV text, starting with the header line.
+     * @param output the writer receiving the JSON.
+     * @return the number of rows written.
+     * @throws CSVParseException if the input cannot be read, the output cannot be written, or a row fails to
+     *                           convert and the strategy is HALT_ON_ERROR.
+     */
+    public long transcode(Reader input, Writer output) {
+        Objects.requireNonNull(input, "Reader cannot be null");
+        Objects.requireNonNull(output, "Writer cannot be null");
+        LineReader lines = new LineReader(input);
+        List<String> errorMessages = new ArrayList<>();
+        try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            if (!lines.next()) {
+                throw new CSVParseException("CSV file is empty");
+            }
+            String headerLine = new String(lines.buffer, lines.lineStart, lines.lineEnd - lines.lineStart);
+            RowWriter rowWriter;
+            List<SampledLine> sample = List.of();
+            if (config != null) {
+                rowWriter = mappedColumns(headerLine, errorMessages);
+            } else {
+                sample = readSample(lines);
+                rowWriter = inferredColumns(headerLine, sample);
+            }
+
+            if (outputMode == OutputMode.ARRAY) {
+                generator.writeStartArray();
+            }
+            long rows = 0;
+            for (SampledLine line : sample) {
+                char[] chars = line.text().toCharArray();
+                if (rowWriter.write(generator, chars, 0, chars.length, line.lineNumber(), errorMessages)) {
+                    rows++;
+                }
+            }
+            while (lines.next()) {
+                if (skipEmptyLines && isBlank(lines.buffer, lines.lineStart, lines.lineEnd)) {
+                    continue;
+                }
+                if (rowWriter.write(generator, lines.buffer, lines.lineStart, lines.lineEnd, lines.lineNumber, errorMessages)) {
+                    rows++;
+                }
+            }
+            if (outputMode == OutputMode.ARRAY) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+
+            if (errorHandlingStrategy == CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS && !errorMessages.isEmpty()) {
+                errorMessages.forEach(log::error);
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to transcode CSV at line " + lines.lineNumber, e);
+        }
+    }
+
+    private RowWriter mappedColumns(String headerLine, List<String> errorMessages) {
+        CSVParser.HeaderMapping headerMapping = CSVParser.parseHeaderMapping(headerLine, config);
+        String[] headers = headerMapping.headers();
+        SerializedString[] names = new SerializedString[headers.length];
+        ColumnType[] types = new ColumnType[headers.length];
+        Class<?>[] fieldTypes = new Class<?>[headers.length];
+        Field[] fields = new Field[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            Field field = headerMapping.fieldMap().get(headers[i]);
+            fields[i] = field;
+            if (field == null) {
+                types[i] = ColumnType.IGNORED;
+                if (!config.isIgnoreUnknownColumns()) {
+                    CSVParser.handleError(errorHandlingStrategy,
+                            new CSVParseException("Unknown column '" + headers[i] + "' at line 1"), errorMessages);
+                }
+                continue;
+            }
+            names[i] = new SerializedString(field.getName());
+            fieldTypes[i] = field.getType();
+            types[i] = columnType(field.getType());
+        }
+        return new RowWriter(names, types, fieldTypes, false, RowValidator.of(config, fields));
+    }
+
+    private static ColumnType columnType(Class<?> type) {
+        if (type == String.class) {
+            return ColumnType.STRING;
+        }
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class) {
+            return ColumnType.INTEGER;
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class
+                || type == BigDecimal.class) {
+            return ColumnType.NUMBER;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return ColumnType.BOOLEAN;
+        }
+        return ColumnType.CONVERTED;
+    }
+
+    /**
+     * Buffers the first rows so that they can be used for inference and then written like any other row.
+     */
+    private List<SampledLine> readSample(LineReader lines) throws IOException {
+        List<SampledLine> sample = new ArrayList<>();
+        while (sample.size() < inferenceSampleSize && lines.next()) {
+            if (!isBlank(lines.buffer, lines.lineStart, lines.lineEnd)) {
+                String text = new String(lines.buffer, lines.lineStart, lines.lineEnd - lines.lineStart);
+                sample.add(new SampledLine(lines.lineNumber, text));
+            }
+        }
+        return sample;
+    }
+
+    private record SampledLine(int lineNumber, String text) {
+    }
+
+    private RowWriter inferredColumns(String headerLine, List<SampledLine> sample) {
+        if (headerLine.isEmpty()) {
+            throw new CSVParseException("Header line is empty");
+        }
+        String[] headers = headerLine.split(Pattern.quote(delimiter));
+        SerializedString[] names = new SerializedString[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            names[i] = new SerializedString(headers[i].trim());
+        }
+
+        // Each column starts as the narrowest type and is widened by the values seen
+        ColumnType[] types = new ColumnType[headers.length];
+        Arrays.fill(types, ColumnType.BOOLEAN);
+        boolean[] seen = new boolean[headers.length];
+        for (SampledLine line : sample) {
+            String[] values = CSVParser.splitCSV(line.text(), delimiter);
+            if (values.length != headers.length) {
+                continue;
+            }
+            for (int i = 0; i < values.length; i++) {
+                String value = trimFields ? values[i].trim() : values[i];
+                if (!value.isEmpty()) {
+                    seen[i] = true;
+                    types[i] = widen(types[i], value);
+                }
+            }
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (!seen[i]) {
+                types[i] = ColumnType.STRING;
+            }
+        }
+        log.debug("Inferred JSON types {} for headers {}", Arrays.toString(types), Arrays.toString(headers));
+        return new RowWriter(names, types, new Class<?>[headers.length], true, null);
+    }
+
+    private static ColumnType widen(ColumnType type, String value) {
+        char[] chars = value.toCharArray();
+        if (type == ColumnType.BOOLEAN && (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))) {
+            return ColumnType.BOOLEAN;
+        }
+        if ((type == ColumnType.BOOLEAN || type == ColumnType.INTEGER) && isJsonNumber(chars, 0, chars.length, false)
+                && fitsLong(chars, 0, chars.length)) {
+            return ColumnType.INTEGER;
+        }
+        if (type != ColumnType.STRING && isJsonNumber(chars, 0, chars.length, true)) {
+            return ColumnType.NUMBER;
+        }
+        return ColumnType.STRING;
+    }
+
+    /**
+     * Writes rows as JSON objects for a fixed set of columns. Values are validated for the whole row before
+     * anything is written, so a rejected row leaves no partial object in the output.
+     */
+    private final class RowWriter {
+        private static final int WRITE_NULL = 0;
+        private static final int WRITE_STRING = 1;
+        private static final int WRITE_RAW_NUMBER = 2;
+        private static final int WRITE_LONG = 3;
+        private static final int WRITE_DOUBLE = 4;
+        private static final int WRITE_DECIMAL = 5;
+        private static final int WRITE_TRUE = 6;
+        private static final int WRITE_FALSE = 7;
+
+        private final SerializedString[] names;
+        private final ColumnType[] types;
+        private final Class<?>[] fieldTypes;
+        private final boolean lenient;
+        private final RowValidator validator;
+
+        private final char[] delimiterChars = delimiter.toCharArray();
+        private int[] bounds = new int[32];
+        private final int[] actions;
+        private final long[] longValues;
+        private final double[] doubleValues;
+        private final BigDecimal[] decimalValues;
+        private final Object[] converted;
+        private final String[] raw;
+
+        RowWriter(SerializedString[] names, ColumnType[] types, Class<?>[] fieldTypes, boolean lenient,
+                  RowValidator validator) {
+            this.names = names;
+            this.types = types;
+            this.fieldTypes = fieldTypes;
+            this.lenient = lenient;
+            this.validator = validator;
+            this.converted = validator == null ? null : new Object[names.length];
+            this.raw = validator == null ? null : new String[names.length];
+            this.actions = new int[names.length];
+            this.longValues = new long[names.length];
+            this.doubleValues = new double[names.length];
+            this.decimalValues = new BigDecimal[names.length];
+        }
+
+        /**
+         * @return {@code true} if the row was written, {@code false} if it was rejected.
+         */
+        boolean write(JsonGenerator generator, char[] chars, int start, int end, int lineNumber,
+                      List<String> errorMessages) throws IOException {
+            int fieldCount = split(chars, start, end);
+            if (fieldCount != names.length) {
+                CSVParseException ex = new CSVParseException("Column count mismatch at line " + lineNumber +
+                        ". Expected: " + names.length + ", Found: " + fieldCount);
+                try {
+                    CSVParser.handleError(errorHandlingStrategy, ex, errorMessages);
+                } catch (CSVParseException e) {
+                    // Halting: report the line as CSVParser.parse does, with the mismatch as the cause
+                    CSVParser.handleError(errorHandlingStrategy,
+                            new CSVParseException("Error parsing line " + lineNumber, e), errorMessages);
+                }
+                return false;
+            }
+
+            for (int i = 0; i < fieldCount; i++) {
+                try {
+                    actions[i] = plan(i, chars);
+                } catch (CSVParseException e) {
+                    if (lenient) {
+                        actions[i] = WRITE_STRING;
+                    } else {
+                        CSVParser.handleError(errorHandlingStrategy,
+                                new CSVParseException("Error parsing line " + lineNumber, e), errorMessages);
+                        return false;
+                    }
+                }
+            }
+            if (validator != null && !validate(chars, lineNumber, errorMessages)) {
+                return false;
+            }
+
+            generator.writeStartObject();
+            for (int i = 0; i < fieldCount; i++) {
+                if (types[i] == ColumnType.IGNORED) {
+                    continue;
+                }
+                generator.writeFieldName(names[i]);
+                int from = bounds[i * 2];
+                int to = bounds[i * 2 + 1];
+                switch (actions[i]) {
+                    case WRITE_NULL -> generator.writeNull();
+                    case WRITE_STRING -> generator.writeString(chars, from, to - from);
+                    case WRITE_RAW_NUMBER -> generator.writeNumber(chars, from, to - from);
+                    case WRITE_LONG -> generator.writeNumber(longValues[i]);
+                    case WRITE_DOUBLE -> generator.writeNumber(doubleValues[i]);
+                    case WRITE_DECIMAL -> generator.writeNumber(decimalValues[i]);
+                    case WRITE_TRUE -> generator.writeBoolean(true);
+                    case WRITE_FALSE -> generator.writeBoolean(false);
+                    default -> throw new IllegalStateException("Unknown write action: " + actions[i]);
+                }
+            }
+            generator.writeEndObject();
+            if (outputMode == OutputMode.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            return true;
+        }
+
+        /**
+         * Checks the configuration's validation rules against a planned row. The values are converted as
+         * {@link RowBinder} converts them, so rules see exactly what {@link CSVParser#parse} would check.
+         *
+         * @return {@code true} if the row passed every rule.
+         */
+        private boolean validate(char[] chars, int lineNumber, List<String> errorMessages) {
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    if (fieldTypes[i] != null) {
+                        raw[i] = new String(chars, bounds[i * 2], bounds[i * 2 + 1] - bounds[i * 2]);
+                        converted[i] = TypeConverter.convert(raw[i], fieldTypes[i]);
+                    }
+                }
+            } catch (CSVParseException e) {
+                CSVParser.handleError(errorHandlingStrategy,
+                        new CSVParseException("Error parsing line " + lineNumber, e), errorMessages);
+                return false;
+            }
+            return validator.validate(converted, raw, lineNumber, config, errorMessages);
+        }
+
+        /**
+         * Decides how to write a field, trimming its bounds if configured.
+         *
+         * @throws CSVParseException if the value cannot be converted to the column's type.
+         */
+        private int plan(int column, char[] chars) {
+            int from = bounds[column * 2];
+            int to = bounds[column * 2 + 1];
+            if (trimFields) {
+                while (from < to && chars[from] <= ' ') {
+                    from++;
+                }
+                while (to > from && chars[to - 1] <= ' ') {
+                    to--;
+                }
+                bounds[column * 2] = from;
+                bounds[column * 2 + 1] = to;
+            }
+
+            Class<?> fieldType = fieldTypes[column];
+            if (from == to) {
+                if (fieldType == null || !fieldType.isPrimitive()) {
+                    return WRITE_NULL;
+                }
+                if (fieldType == boolean.class) {
+                    return WRITE_FALSE;
+                }
+                longValues[column] = 0;
+                doubleValues[column] = 0;
+                return fieldType == double.class || fieldType == float.class ? WRITE_DOUBLE : WRITE_LONG;
+            }
+
+            switch (types[column]) {
+                case STRING:
+                case IGNORED:
+                    return WRITE_STRING;
+                case BOOLEAN:
+                    if (equalsIgnoreCase(chars, from, to, "true")) {
+                        return WRITE_TRUE;
+                    }
+                    if (lenient && !equalsIgnoreCase(chars, from, to, "false")) {
+                        return WRITE_STRING;
+                    }
+                    return WRITE_FALSE; // Boolean.valueOf semantics
+                case INTEGER:
+                    if (isJsonNumber(chars, from, to, false) && fitsLong(chars, from, to)
+                            && (fieldType != int.class && fieldType != Integer.class || fitsInt(chars, from, to))) {
+                        return WRITE_RAW_NUMBER;
+                    }
+                    longValues[column] = convert(chars, from, to, fieldType == null ? long.class : fieldType)
+                            .longValue();
+                    return WRITE_LONG;
+                case NUMBER:
+                    if (isJsonNumber(chars, from, to, true)) {
+                        return WRITE_RAW_NUMBER;
+                    }
+                    if (fieldType == BigDecimal.class) {
+                        decimalValues[column] = (BigDecimal) convert(chars, from, to, BigDecimal.class);
+                        return WRITE_DECIMAL;
+                    }
+                    doubleValues[column] = convert(chars, from, to, fieldType == null ? double.class : fieldType)
+                            .doubleValue();
+                    return WRITE_DOUBLE;
+                case CONVERTED:
+                    TypeConverter.convert(new String(chars, from, to - from), fieldType);
+                    return WRITE_STRING;
+                default:
+                    throw new IllegalStateException("Unknown column type: " + types[column]);
+            }
+        }
+
+        /**
+         * Slow path for numbers that are valid for {@link TypeConverter} but not JSON, such as {@code +1} or
+         * {@code 1.}; the value is converted and written in canonical form.
+         */
+        private Number convert(char[] chars, int from, int to, Class<?> type) {
+            String value = new String(chars, from, to - from);
+            if (lenient) {
+                try {
+                    return type == long.class ? Long.valueOf(value) : Double.valueOf(value);
+                } catch (NumberFormatException e) {
+                    throw new CSVParseException("Failed to convert value '" + value + "' to type " + type.getName(), e);
+                }
+            }
+            return (Number) TypeConverter.convert(value, type);
+        }
+
+        /**
+         * Splits a line into field bounds, following {@link String#split(String)}: trailing empty fields are
+         * dropped unless the line has no delimiter at all.
+         *
+         * @return the number of fields.
+         */
+        private int split(char[] chars, int start, int end) {
+            int fieldCount = 0;
+            int fieldStart = start;
+            int delimiterLength = delimiterChars.length;
+            int last = end - delimiterLength;
+            for (int i = start; i <= last; i++) {
+                if (matches(chars, i, delimiterChars)) {
+                    fieldCount = addField(fieldCount, fieldStart, i);
+                    i += delimiterLength - 1;
+                    fieldStart = i + 1;
+                }
+            }
+            fieldCount = addField(fieldCount, fieldStart, end);
+            if (fieldCount > 1) {
+                while (fieldCount > 0 && bounds[fieldCount * 2 - 2] == bounds[fieldCount * 2 - 1]) {
+                    fieldCount--;
+                }
+            }
+            return fieldCount;
+        }
+
+        private int addField(int fieldCount, int start, int end) {
+            if (fieldCount * 2 + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[fieldCount * 2] = start;
+            bounds[fieldCount * 2 + 1] = end;
+            return fieldCount + 1;
+        }
+    }
+
+    /**
+     * Checks a value against the JSON number grammar, so that it can be copied to the output unchanged.
+     */
+    private static boolean isJsonNumber(char[] chars, int from, int to, boolean allowFraction) {
+        int i = from;
+        if (i < to && chars[i] == '-') {
+            i++;
+        }
+        if (i == to) {
+            return false;
+        }
+        if (chars[i] == '0') {
+            i++;
+        } else if (chars[i] >= '1' && chars[i] <= '9') {
+            while (i < to && chars[i] >= '0' && chars[i] <= '9') {
+                i++;
+            }
+        } else {
+            return false;
+        }
+        if (!allowFraction) {
+            return i == to;
+        }
+        if (i < to && chars[i] == '.') {
+            int digitsStart = ++i;
+            while (i < to && chars[i] >= '0' && chars[i] <= '9') {
+                i++;
+            }
+            if (i == digitsStart) {
+                return false;
+            }
+        }
+        if (i < to && (chars[i] == 'e' || chars[i] == 'E')) {
+            i++;
+            if (i < to && (chars[i] == '+' || chars[i] == '-')) {
+                i++;
+            }
+            int digitsStart = i;
+            while (i < to && chars[i] >= '0' && chars[i] <= '9') {
+                i++;
+            }
+            if (i == digitsStart) {
+                return false;
+            }
+        }
+        return i == to;
+    }
+
+    /**
+     * Checks that an integer already validated by {@link #isJsonNumber} fits in a {@code long}.
+     */
+    private static boolean fitsLong(char[] chars, int from, int to) {
+        int digits = to - from - (chars[from] == '-' ? 1 : 0);
+        return digits <= 18;
+    }
+
+    private static boolean fitsInt(char[] chars, int from, int to) {
+        int digits = to - from - (chars[from] == '-' ? 1 : 0);
+        if (digits <= 9) {
+            return true;
+        }
+        long value = 0;
+        for (int i = chars[from] == '-' ? from + 1 : from; i < to; i++) {
+            value = value * 10 + (chars[i] - '0');
+        }
+        return chars[from] == '-' ? -value >= Integer.MIN_VALUE : value <= Integer.MAX_VALUE;
+    }
+
+    private static boolean matches(char[] chars, int offset, char[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (chars[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalsIgnoreCase(char[] chars, int from, int to, String expected) {
+        if (to - from != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(chars[from + i]) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (chars[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads lines into a reusable character buffer, using the same line breaks as
+     * {@link BufferedReader#readLine()}. The current line is {@code buffer[lineStart, lineEnd)} and stays valid
+     * until the next call to {@link #next()}.
+     */
+    private static final class LineReader {
+        private final Reader reader;
+        private char[] buffer = new char[64 * 1024];
+        private int position;
+        private int limit;
+        private boolean endOfInput;
+        private boolean skipLineFeed;
+        private int lineStart;
+        private int lineEnd;
+        private int lineNumber;
+
+        LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        boolean next() throws IOException {
+            if (skipLineFeed) {
+                if (position == limit) {
+                    fill();
+                }
+                if (position < limit && buffer[position] == '\n') {
+                    position++;
+                }
+                skipLineFeed = false;
+            }
+            int scan = position;
+            while (true) {
+                for (; scan < limit; scan++) {
+                    char c = buffer[scan];
+                    if (c == '\n' || c == '\r') {
+                        lineStart = position;
+                        lineEnd = scan;
+                        position = scan + 1;
+                        skipLineFeed = c == '\r';
+                        lineNumber++;
+                        return true;
+                    }
+                }
+                int scanned = scan - position;
+                if (!fill()) {
+                    if (position < limit) {
+                        lineStart = position;
+                        lineEnd = limit;
+                        position = limit;
+                        lineNumber++;
+                        return true;
+                    }
+                    return false;
+                }
+                scan = position + scanned;
+            }
+        }
+
+        /**
+         * Moves the unread characters to the front of the buffer, growing it for long lines, and reads more.
+         *
+         * @return {@code false} at the end of the input.
+         */
+        private boolean fill() throws IOException {
+            if (endOfInput) {
+                return false;
+            }
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            limit += read;
+            return true;
+        }
+    }
+
+    /**
+     * Builder class for creating instances of {@link CSVJsonTranscoder}.
+     */
+    public static class Builder {
+        private CSVParserConfig<?> config;
+        private String delimiter = ",";
+        private boolean trimFields = true;
+        private OutputMode outputMode = OutputMode.NDJSON;
+        private int inferenceSampleSize = 1000;
+        private JsonFactory jsonFactory = new JsonFactory();
+
+        /**
+         * Types the output by the fields of a target class. The configuration's delimiter, trimming, empty-line
+         * handling, header mapping, validation rules and error handling strategy all apply, and any delimiter or
+         * trimming set on this builder is ignored.
+         *
+         * @param config the configuration specifying how rows map to the target class.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+         */
+        public Builder withConfig(CSVParserConfig<?> config) {
+            Objects.requireNonNull(config, "Config cannot be null");
+            CSVParser.requireDelimited(config, "the JSON transcoder");
+            this.config = config;
+            return this;
+        }
+
+        /**
+         * Sets the delimiter used when the schema is inferred.
+         *
+         * @param delimiter the delimiter to use (e.g., "," or "|").
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code delimiter} is null or empty.
+         */
+        public Builder withDelimiter(String delimiter) {
+            if (delimiter == null || delimiter.isEmpty()) {
+                throw new IllegalArgumentException("Delimiter cannot be null or empty");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Sets whether values are trimmed when the schema is inferred.
+         *
+         * @param trimFields {@code true} to trim values.
+         * @return this builder instance.
+         */
+        public Builder withTrimFields(boolean trimFields) {
+            this.trimFields = trimFields;
+            return this;
+        }
+
+        /**
+         * Sets the layout of the JSON output.
+         *
+         * @param outputMode the output mode.
+         * @return this builder instance.
+         */
+        public Builder withOutputMode(OutputMode outputMode) {
+            this.outputMode = Objects.requireNonNull(outputMode, "Output mode cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets how many rows are sampled to infer the schema when no configuration is given.
+         *
+         * @param rows the number of rows to sample.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code rows} is not positive.
+         */
+        public Builder withInferenceSampleSize(int rows) {
+            if (rows <= 0) {
+                throw new IllegalArgumentException("Inference sample size must be positive");
+            }
+            this.inferenceSampleSize = rows;
+            return this;
+        }
+
+        /**
+         * Sets the factory used to create the JSON generator, e.g. to enable pretty printing or escaping options.
+         *
+         * @param jsonFactory the JSON factory.
+         * @return this builder instance.
+         */
+        public Builder withJsonFactory(JsonFactory jsonFactory) {
+            this.jsonFactory = Objects.requireNonNull(jsonFactory, "JSON factory cannot be null");
+            return this;
+        }
+
+        /**
+         * Builds the {@link CSVJsonTranscoder} instance.
+         *
+         * @return a new {@link CSVJsonTranscoder} instance.
+         */
+        public CSVJsonTranscoder build() {
+            return new CSVJsonTranscoder(this);
+        }
+    }
+}
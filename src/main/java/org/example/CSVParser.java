@@ -14,9 +14,11 @@ import java.util.regex.Pattern;
  */
 public class CSVParser {
     private static final Logger log = LoggerFactory.getLogger(CSVParser.class);
+    private static final int VALIDATION_BATCH_ROWS = 1024;
 
     /**
      * Parses a CSV file into a list of objects of the specified type.
+     * If the configuration has a {@link FixedWidthLayout}, the file is read as fixed-width records instead.
      *
      * @param file   the CSV file to parse.
      * @param config the configuration specifying how to parse the CSV file.
@@ -28,6 +30,12 @@ public class CSVParser {
         Objects.requireNonNull(file, "File cannot be null");
         Objects.requireNonNull(config, "Config cannot be null");
 
+        if (config.getFixedWidthLayout() != null) {
+            try (FixedWidthReader<T> reader = new FixedWidthReader<>(file, config)) {
+                return reader.readAll();
+            }
+        }
+
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String headerLine = reader.readLine();
             if (headerLine == null) {
@@ -40,6 +48,207 @@ public class CSVParser {
         }
     }
 
+    /**
+     * Parses a CSV file into an off-heap columnar table instead of a list of objects.
+     * Each field of the target class that a header maps to becomes a column; primitive fields are
+     * stored in packed off-heap arrays and all other types as off-heap UTF-8 text.
+     * The caller owns the returned table and must {@link OffHeapTable#close() close} it.
+     *
+     * @param file   the CSV file to parse.
+     * @param config the configuration specifying how to parse the CSV file.
+     * @param <T>    the target type whose fields define the columns.
+     * @return the parsed table.
+     * @throws CSVParseException        if there is an error during parsing.
+     * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+     */
+    public static <T> OffHeapTable parseOffHeap(File file, CSVParserConfig<T> config) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(config, "Config cannot be null");
+        requireDelimited(config, "off-heap parsing");
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new CSVParseException("CSV file is empty");
+            }
+            return parseToColumns(reader, headerLine, config);
+        } catch (IOException e) {
+            log.error("Failed to read file: {}", file.getPath(), e);
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Parses the remaining rows of a CSV file into off-heap columns.
+     * A row is converted in full before it is appended, so a row that fails conversion leaves
+     * every column untouched. Converted rows are staged in batches and, if the configuration has
+     * validation rules, checked a column at a time before the rows that pass are appended.
+     *
+     * @param reader     the reader for the CSV file.
+     * @param headerLine the header line from the CSV file.
+     * @param config     the configuration specifying how to parse the file.
+     * @param <T>        the target type whose fields define the columns.
+     * @return the parsed table.
+     */
+    private static <T> OffHeapTable parseToColumns(BufferedReader reader, String headerLine, CSVParserConfig<T> config) {
+        HeaderMapping headerMapping = parseHeaderMapping(headerLine, config);
+        List<String> errorMessages = new ArrayList<>();
+
+        int columnCount = headerMapping.headers().length;
+        OffHeapColumn[] columnsByIndex = new OffHeapColumn[columnCount];
+        List<OffHeapColumn> columns = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            String header = headerMapping.headers()[i];
+            Field field = headerMapping.fieldMap().get(header);
+            if (field != null) {
+                columnsByIndex[i] = new OffHeapColumn(field.getName(), field.getType());
+                columns.add(columnsByIndex[i]);
+            } else if (!config.isIgnoreUnknownColumns()) {
+                handleError(config.getErrorHandlingStrategy(),
+                        new CSVParseException("Unknown column '" + header + "' at line 1"), errorMessages);
+            }
+        }
+
+        OffHeapTable table = new OffHeapTable(columns);
+        Field[] columnFields = new Field[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnFields[i] = columnsByIndex[i] != null ? headerMapping.fieldMap().get(headerMapping.headers()[i]) : null;
+        }
+        ColumnBatch batch;
+        try {
+            batch = new ColumnBatch(columnsByIndex, RowValidator.of(config, columnFields), table);
+        } catch (RuntimeException e) {
+            table.close();
+            throw e;
+        }
+
+        String line;
+        int lineNumber = 1; // Header is line 1
+        try {
+            while (true) {
+                String[] values;
+                try {
+                    line = reader.readLine();
+                    lineNumber++;
+                    if (line == null) break;
+
+                    if (config.isSkipEmptyLines() && line.trim().isEmpty()) {
+                        continue;
+                    }
+
+                    values = splitCSV(line, config.getDelimiter());
+                    if (values.length == columnCount) {
+                        batch.stage(values, config.isTrimFields(), lineNumber);
+                    }
+                } catch (CSVParseException e) {
+                    batch.flush(config, errorMessages);
+                    handleError(config.getErrorHandlingStrategy(),
+                            new CSVParseException("Error parsing line " + lineNumber, e), errorMessages);
+                    continue;
+                } catch (IOException e) {
+                    batch.flush(config, errorMessages);
+                    handleError(config.getErrorHandlingStrategy(),
+                            new CSVParseException("IO error at line " + lineNumber, e), errorMessages);
+                    continue;
+                }
+
+                // Flushing stays outside the per-line handler, so that a validation failure in the batch is reported
+                // with its own line number rather than wrapped with the current one
+                if (values.length != columnCount) {
+                    batch.flush(config, errorMessages); // Keep errors in line order
+                    CSVParseException ex = new CSVParseException("Column count mismatch at line " + lineNumber +
+                            ". Expected: " + columnCount + ", Found: " + values.length);
+                    try {
+                        handleError(config.getErrorHandlingStrategy(), ex, errorMessages);
+                    } catch (CSVParseException e) {
+                        handleError(config.getErrorHandlingStrategy(),
+                                new CSVParseException("Error parsing line " + lineNumber, e), errorMessages);
+                    }
+                } else if (batch.isFull()) {
+                    batch.flush(config, errorMessages);
+                }
+            }
+            batch.flush(config, errorMessages);
+        } catch (RuntimeException e) {
+            table.close();
+            throw e;
+        }
+
+        if (config.getErrorHandlingStrategy() == CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS && !errorMessages.isEmpty()) {
+            errorMessages.forEach(log::error);
+        }
+
+        return table;
+    }
+
+    /**
+     * Converted rows waiting to be appended to an off-heap table, stored column by column so that validation
+     * rules can check each column in a single loop.
+     */
+    private static final class ColumnBatch {
+        private final OffHeapColumn[] columns;
+        private final RowValidator validator;
+        private final OffHeapTable table;
+        private final String[][] raw;
+        private final long[][] encoded;
+        private final int[] lineNumbers = new int[VALIDATION_BATCH_ROWS];
+        private final boolean[] rejected = new boolean[VALIDATION_BATCH_ROWS];
+        private int rows;
+
+        ColumnBatch(OffHeapColumn[] columns, RowValidator validator, OffHeapTable table) {
+            this.columns = columns;
+            this.validator = validator;
+            this.table = table;
+            this.raw = new String[columns.length][VALIDATION_BATCH_ROWS];
+            this.encoded = new long[columns.length][VALIDATION_BATCH_ROWS];
+        }
+
+        /**
+         * Converts a row into the next staging slot. A row that fails conversion is not staged.
+         *
+         * @throws CSVParseException if a value cannot be converted.
+         */
+        void stage(String[] values, boolean trim, int lineNumber) {
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] != null) {
+                    String value = trim ? values[i].trim() : values[i];
+                    encoded[i][rows] = columns[i].encode(value);
+                    raw[i][rows] = value;
+                }
+            }
+            lineNumbers[rows++] = lineNumber;
+        }
+
+        boolean isFull() {
+            return rows == VALIDATION_BATCH_ROWS;
+        }
+
+        /**
+         * Validates the staged rows and appends those that pass.
+         */
+        void flush(CSVParserConfig<?> config, List<String> errorMessages) {
+            if (rows == 0) {
+                return;
+            }
+            int staged = rows;
+            rows = 0;
+            if (validator != null) {
+                validator.validateBatch(staged, raw, encoded, lineNumbers, rejected, config, errorMessages);
+            }
+            for (int row = 0; row < staged; row++) {
+                if (validator != null && rejected[row]) {
+                    continue;
+                }
+                for (int i = 0; i < columns.length; i++) {
+                    if (columns[i] != null) {
+                        columns[i].append(raw[i][row], encoded[i][row]);
+                    }
+                }
+                table.rowAppended();
+            }
+        }
+    }
+
     /**
      * Parses the remaining rows of a CSV file into objects of the specified type.
      *
@@ -53,6 +262,7 @@ public class CSVParser {
         HeaderMapping headerMapping = parseHeaderMapping(headerLine, config);
         List<T> results = new ArrayList<>();
         List<String> errorMessages = new ArrayList<>();
+        RowBinder<T> binder = new RowBinder<>(headerMapping, config, errorMessages);
 
         String line;
         int lineNumber = 1; // Header is line 1
@@ -68,35 +278,10 @@ public class CSVParser {
 
                 String[] values = splitCSV(line, config.getDelimiter());
 
-                if (values.length != headerMapping.headers().length) {
-                    CSVParseException ex = new CSVParseException("Column count mismatch at line " + lineNumber +
-                            ". Expected: " + headerMapping.headers().length + ", Found: " + values.length);
-                    if (!handleError(config.getErrorHandlingStrategy(), ex, errorMessages)) {
-                        continue;
-                    }
-                }
-
-                T instance = config.getTargetClass().getDeclaredConstructor().newInstance();
-
-                for (int i = 0; i < headerMapping.headers().length; i++) {
-                    String header = headerMapping.headers()[i];
-                    Field field = headerMapping.fieldMap().get(header);
-                    if (field != null) {
-                        String rawValue = config.isTrimFields() ? values[i].trim() : values[i];
-                        Object convertedValue = TypeConverter.convert(rawValue, field.getType());
-                        field.set(instance, convertedValue);
-                    } else if (!config.isIgnoreUnknownColumns()) {
-                        CSVParseException ex = new CSVParseException("Unknown column '" + header + "' at line " + lineNumber);
-                        if (!handleError(config.getErrorHandlingStrategy(), ex, errorMessages)) {
-                            continue;
-                        }
-                    }
+                T instance = binder.bind(values, lineNumber);
+                if (instance != null) {
+                    results.add(instance);
                 }
-
-                results.add(instance);
-            } catch (ReflectiveOperationException | CSVParseException e) {
-                handleError(config.getErrorHandlingStrategy(),
-                        new CSVParseException("Error parsing line " + lineNumber, e), errorMessages);
             } catch (IOException e) {
                 handleError(config.getErrorHandlingStrategy(),
                         new CSVParseException("IO error at line " + lineNumber, e), errorMessages);
@@ -123,12 +308,33 @@ public class CSVParser {
             throw new CSVParseException("Header line is empty");
         }
 
-        return Arrays.stream(headerLine.split(Pattern.quote(config.getDelimiter())))
-                .map(String::trim) // Trim spaces
-                .map(String::toLowerCase) // Normalize for case-insensitivity
+        return normalizeHeaders(headerLine.split(Pattern.quote(config.getDelimiter())));
+    }
+
+    /**
+     * Normalizes raw header values for case-insensitive matching.
+     *
+     * @param rawHeaders the header values as read from the file.
+     * @return an array of normalized headers.
+     */
+    private static String[] normalizeHeaders(String[] rawHeaders) {
+        return Arrays.stream(rawHeaders)
+                .map(CSVParser::normalizeHeader)
                 .toArray(String[]::new);
     }
 
+    /**
+     * Normalizes a header or column name for case-insensitive matching: surrounding whitespace is trimmed and
+     * the name is lower-cased independently of the default locale. Every reader that matches columns by name
+     * uses this, so that they all agree with {@link #parse}.
+     *
+     * @param header the header or column name.
+     * @return the normalized name.
+     */
+    static String normalizeHeader(String header) {
+        return header.trim().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Creates a mapping between headers and fields in the target class.
      *
@@ -137,8 +343,23 @@ public class CSVParser {
      * @param <T>        the type of the target class.
      * @return a mapping of headers to fields.
      */
-    private static <T> HeaderMapping parseHeaderMapping(String headerLine, CSVParserConfig<T> config) {
-        String[] headers = parseHeaders(headerLine, config);
+    static <T> HeaderMapping parseHeaderMapping(String headerLine, CSVParserConfig<T> config) {
+        return headerMapping(parseHeaders(headerLine, config), config);
+    }
+
+    /**
+     * Creates a mapping between headers that have already been split into values and fields in the target class.
+     *
+     * @param rawHeaders the header values as read from the file.
+     * @param config     the configuration specifying the target class and header mapping.
+     * @param <T>        the type of the target class.
+     * @return a mapping of headers to fields.
+     */
+    static <T> HeaderMapping parseHeaderMapping(String[] rawHeaders, CSVParserConfig<T> config) {
+        return headerMapping(normalizeHeaders(rawHeaders), config);
+    }
+
+    private static <T> HeaderMapping headerMapping(String[] headers, CSVParserConfig<T> config) {
         log.info("Parsed Headers: {}", Arrays.toString(headers));
         log.info("Configured Header Mapping: {}", config.getHeaderMapping());
 
@@ -173,13 +394,43 @@ public class CSVParser {
      * @return an array of values.
      * @throws IllegalArgumentException if the delimiter is null or empty.
      */
-    private static String[] splitCSV(String line, String delimiter) {
+    static String[] splitCSV(String line, String delimiter) {
         if (delimiter == null || delimiter.isEmpty()) {
             throw new IllegalArgumentException("Delimiter cannot be null or empty");
         }
         return line.split(Pattern.quote(delimiter));
     }
 
+    /**
+     * Splits a CSV line into its individual values, applying a {@link String#split(String, int)} limit.
+     * A negative limit keeps trailing empty values.
+     *
+     * @param line      the CSV line to split.
+     * @param delimiter the delimiter to use for splitting.
+     * @param limit     the split limit.
+     * @return an array of values.
+     * @throws IllegalArgumentException if the delimiter is null or empty.
+     */
+    static String[] splitCSV(String line, String delimiter, int limit) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Delimiter cannot be null or empty");
+        }
+        return line.split(Pattern.quote(delimiter), limit);
+    }
+
+    /**
+     * Rejects configurations with a fixed-width layout in code paths that only read delimited lines.
+     *
+     * @param config  the configuration to check.
+     * @param feature the name of the code path, for the error message.
+     * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+     */
+    static void requireDelimited(CSVParserConfig<?> config, String feature) {
+        if (config.getFixedWidthLayout() != null) {
+            throw new IllegalArgumentException("Fixed-width layouts are not supported by " + feature);
+        }
+    }
+
     /**
      * Handles errors based on the configured error handling strategy.
      *
@@ -188,7 +439,7 @@ public class CSVParser {
      * @param errorMessages  a list to collect error messages if the strategy is COLLECT_ERRORS.
      * @return {@code false} if the strategy is CONTINUE_ON_ERROR, otherwise throws the exception.
      */
-    private static <T> boolean handleError(CSVParserConfig.ErrorHandlingStrategy strategy, CSVParseException exception, List<String> errorMessages) {
+    static boolean handleError(CSVParserConfig.ErrorHandlingStrategy strategy, CSVParseException exception, List<String> errorMessages) {
         switch (strategy) {
             case CONTINUE_ON_ERROR:
                 log.warn("Parsing error: {}", exception.getMessage());
@@ -209,6 +460,6 @@ public class CSVParser {
     /**
      * Represents a mapping between headers and fields in the target class.
      */
-    private record HeaderMapping(String[] headers, Map<String, Field> fieldMap) {
+    record HeaderMapping(String[] headers, Map<String, Field> fieldMap) {
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package org.example;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -19,6 +21,8 @@ public class CSVParserConfig<T> {
     private final Map<String, String> headerMapping;
     private final boolean ignoreUnknownColumns;
     private final ErrorHandlingStrategy errorHandlingStrategy;
+    private final FixedWidthLayout fixedWidthLayout;
+    private final List<ValidationRule> validationRules;
 
     private CSVParserConfig(Builder<T> builder) {
         this.targetClass = builder.targetClass;
@@ -28,6 +32,8 @@ public class CSVParserConfig<T> {
         this.headerMapping = Collections.unmodifiableMap(new HashMap<>(builder.headerMapping));
         this.ignoreUnknownColumns = builder.ignoreUnknownColumns;
         this.errorHandlingStrategy = builder.errorHandlingStrategy;
+        this.fixedWidthLayout = builder.fixedWidthLayout;
+        this.validationRules = List.copyOf(builder.validationRules);
     }
 
     /**
@@ -79,6 +85,45 @@ public class CSVParserConfig<T> {
         return errorHandlingStrategy;
     }
 
+    /**
+     * @return the fixed-width layout of the file, or {@code null} if values are separated by the delimiter.
+     */
+    public FixedWidthLayout getFixedWidthLayout() {
+        return fixedWidthLayout;
+    }
+
+    /**
+     * @return the rules every row must pass, in the order they are checked.
+     */
+    public List<ValidationRule> getValidationRules() {
+        return validationRules;
+    }
+
+    /**
+     * Two configurations are equal if they parse the same file into the same result.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        CSVParserConfig<?> that = (CSVParserConfig<?>) obj;
+        return skipEmptyLines == that.skipEmptyLines
+                && trimFields == that.trimFields
+                && ignoreUnknownColumns == that.ignoreUnknownColumns
+                && targetClass.equals(that.targetClass)
+                && delimiter.equals(that.delimiter)
+                && headerMapping.equals(that.headerMapping)
+                && errorHandlingStrategy == that.errorHandlingStrategy
+                && Objects.equals(fixedWidthLayout, that.fixedWidthLayout)
+                && validationRules.equals(that.validationRules);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetClass, delimiter, skipEmptyLines, trimFields, headerMapping,
+                ignoreUnknownColumns, errorHandlingStrategy, fixedWidthLayout, validationRules);
+    }
+
     /**
      * Builder class for constructing instances of {@link CSVParserConfig}.
      *
@@ -92,6 +137,8 @@ public class CSVParserConfig<T> {
         private Map<String, String> headerMapping = new HashMap<>();
         private boolean ignoreUnknownColumns = false;
         private ErrorHandlingStrategy errorHandlingStrategy = ErrorHandlingStrategy.CONTINUE_ON_ERROR;
+        private FixedWidthLayout fixedWidthLayout;
+        private final List<ValidationRule> validationRules = new ArrayList<>();
 
         /**
          * Creates a new builder for {@link CSVParserConfig}.
@@ -174,6 +221,34 @@ public class CSVParserConfig<T> {
             return this;
         }
 
+        /**
+         * Reads files as fixed-width records instead of delimited lines. The layout's column names take the place
+         * of the header line, and the delimiter is ignored.
+         *
+         * @param layout the fixed-width layout, or {@code null} to read delimited lines.
+         * @return this builder instance.
+         */
+        public Builder<T> withFixedWidthLayout(FixedWidthLayout layout) {
+            this.fixedWidthLayout = layout;
+            return this;
+        }
+
+        /**
+         * Adds a rule that every row must pass. Rules are checked in the order they are added, as each row is bound,
+         * and a row that fails any rule is skipped.
+         *
+         * @param rule the validation rule.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if the rule names a field the target class does not have, or a field
+         *                                  whose type the rule cannot check.
+         */
+        public Builder<T> withValidationRule(ValidationRule rule) {
+            Objects.requireNonNull(rule, "Validation rule cannot be null");
+            rule.checkApplicable(targetClass);
+            this.validationRules.add(rule);
+            return this;
+        }
+
         /**
          * Builds and returns a new {@link CSVParserConfig} instance.
          *
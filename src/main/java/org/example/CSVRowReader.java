@@ -0,0 +1,171 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Sequential reader over the raw rows of a CSV file.
+ * Unlike {@link CSVParser}, rows are returned as text without being mapped to a target class, which
+ * makes this the building block for utilities that only need to look at a few columns of each row.
+ * Empty lines are skipped.
+ */
+public class CSVRowReader implements Closeable {
+    private final BufferedReader reader;
+    private final String delimiter;
+    private final String headerLine;
+    private final String[] headers;
+    private int lineNumber = 1; // Header is line 1
+
+    /**
+     * Opens a CSV file and reads its header line.
+     *
+     * @param file      the CSV file to read.
+     * @param delimiter the delimiter separating values.
+     * @throws CSVParseException if the file cannot be read or is empty.
+     */
+    public CSVRowReader(File file, String delimiter) {
+        this(open(file), delimiter);
+    }
+
+    /**
+     * Reads the header line from a reader.
+     *
+     * @param reader    the reader positioned at the header line; closed by {@link #close()}.
+     * @param delimiter the delimiter separating values.
+     * @throws CSVParseException if the reader cannot be read or is empty.
+     */
+    public CSVRowReader(Reader reader, String delimiter) {
+        Objects.requireNonNull(reader, "Reader cannot be null");
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Delimiter cannot be null or empty");
+        }
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.delimiter = delimiter;
+        try {
+            this.headerLine = this.reader.readLine();
+        } catch (IOException e) {
+            closeQuietly();
+            throw new CSVParseException("Failed to read header line", e);
+        }
+        if (headerLine == null || headerLine.isEmpty()) {
+            closeQuietly();
+            throw new CSVParseException("CSV file is empty");
+        }
+        this.headers = Arrays.stream(CSVParser.splitCSV(headerLine, delimiter))
+                .map(CSVParser::normalizeHeader)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * @return the header line exactly as it appears in the file.
+     */
+    public String getHeaderLine() {
+        return headerLine;
+    }
+
+    /**
+     * @return the trimmed, lower-cased headers, matching the normalization used by {@link CSVParser}.
+     */
+    public String[] getHeaders() {
+        return headers.clone();
+    }
+
+    /**
+     * @return the delimiter separating values.
+     */
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Looks up a column by header name, ignoring case and surrounding whitespace.
+     *
+     * @param column the header name.
+     * @return the zero-based column index.
+     * @throws CSVParseException if the header does not exist.
+     */
+    public int indexOf(String column) {
+        String normalized = CSVParser.normalizeHeader(column);
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i].equals(normalized)) {
+                return i;
+            }
+        }
+        throw new CSVParseException("Unknown column '" + column + "'. Available columns: " + Arrays.toString(headers));
+    }
+
+    /**
+     * @return the line number of the row most recently returned, where the header is line 1.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Reads the next non-empty line.
+     *
+     * @return the raw line, or {@code null} at the end of the file.
+     * @throws CSVParseException if the file cannot be read.
+     */
+    public String readLine() {
+        try {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.trim().isEmpty());
+            return line;
+        } catch (IOException e) {
+            throw new CSVParseException("IO error at line " + lineNumber, e);
+        }
+    }
+
+    /**
+     * Reads the next non-empty line and splits it into values.
+     *
+     * @return the raw values, or {@code null} at the end of the file.
+     * @throws CSVParseException if the file cannot be read.
+     */
+    public String[] next() {
+        String line = readLine();
+        return line == null ? null : split(line);
+    }
+
+    /**
+     * Splits a line using this reader's delimiter. Trailing empty values are preserved.
+     *
+     * @param line the line to split.
+     * @return the raw values.
+     */
+    public String[] split(String line) {
+        return CSVParser.splitCSV(line, delimiter, -1);
+    }
+
+    @Override
+    public void close() {
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // Nothing useful can be done if closing a read-only file fails
+        }
+    }
+
+    private static Reader open(File file) {
+        Objects.requireNonNull(file, "File cannot be null");
+        try {
+            return new FileReader(file);
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+}
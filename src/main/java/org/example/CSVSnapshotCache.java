@@ -0,0 +1,568 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of parsed CSV results.
+ * The converted result of {@link CSVParser#parse(File, CSVParserConfig)} is written to a compact binary
+ * snapshot in a cache directory, keyed by the canonical file path and a fingerprint of the parser
+ * configuration and target class schema. Each snapshot records the size, modification time and
+ * (optionally) content hash of the source file; a later load with matching values memory-maps the
+ * snapshot instead of re-parsing the CSV. Snapshots that no longer match are rebuilt automatically,
+ * and the directory is kept under a size limit by evicting the least recently used snapshots.
+ * <p>
+ * Only target classes whose fields are primitives, their wrappers, {@link String}, {@link BigDecimal},
+ * {@link LocalDate} or {@link LocalDateTime} can be snapshotted; other classes are parsed directly.
+ */
+public class CSVSnapshotCache {
+    private static final Logger log = LoggerFactory.getLogger(CSVSnapshotCache.class);
+
+    private static final int MAGIC = 0x43535653; // "CSVS"
+    private static final int FORMAT_VERSION = 1;
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final Path cacheDirectory;
+    private final long maxCacheBytes;
+    private final boolean hashContents;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache that validates snapshots by file size and modification time only.
+     *
+     * @param cacheDirectory the directory to store snapshots in; created if it does not exist.
+     * @param maxCacheBytes  the maximum total size of all snapshots in the directory.
+     */
+    public CSVSnapshotCache(File cacheDirectory, long maxCacheBytes) {
+        this(cacheDirectory, maxCacheBytes, false);
+    }
+
+    /**
+     * Creates a snapshot cache.
+     *
+     * @param cacheDirectory the directory to store snapshots in; created if it does not exist.
+     * @param maxCacheBytes  the maximum total size of all snapshots in the directory.
+     * @param hashContents   {@code true} to also validate snapshots against a SHA-256 hash of the file contents.
+     * @throws IllegalArgumentException if {@code maxCacheBytes} is not positive.
+     * @throws CSVParseException        if the cache directory cannot be created.
+     */
+    public CSVSnapshotCache(File cacheDirectory, long maxCacheBytes, boolean hashContents) {
+        Objects.requireNonNull(cacheDirectory, "Cache directory cannot be null");
+        if (maxCacheBytes <= 0) {
+            throw new IllegalArgumentException("Max cache size must be positive");
+        }
+        this.cacheDirectory = cacheDirectory.toPath();
+        this.maxCacheBytes = maxCacheBytes;
+        this.hashContents = hashContents;
+        try {
+            Files.createDirectories(this.cacheDirectory);
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to create cache directory: " + cacheDirectory.getPath(), e);
+        }
+    }
+
+    /**
+     * Parses a CSV file, loading the result from a valid snapshot when one exists and writing a new
+     * snapshot otherwise.
+     *
+     * @param file   the CSV file to parse.
+     * @param config the configuration specifying how to parse the CSV file.
+     * @param <T>    the type of objects to map each row to.
+     * @return a list of parsed objects.
+     * @throws CSVParseException if there is an error during parsing.
+     */
+    public <T> List<T> parse(File file, CSVParserConfig<T> config) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(config, "Config cannot be null");
+
+        Field[] fields = snapshotFields(config.getTargetClass());
+        if (fields == null) {
+            log.debug("Target class {} cannot be snapshotted, parsing directly", config.getTargetClass().getName());
+            misses.incrementAndGet();
+            return CSVParser.parse(file, config);
+        }
+
+        SourceKey key;
+        try {
+            key = sourceKey(file, config, fields);
+        } catch (IOException e) {
+            log.error("Failed to read file: {}", file.getPath(), e);
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+        Path snapshot = cacheDirectory.resolve(key.cacheName() + SNAPSHOT_SUFFIX);
+
+        List<T> cached = readSnapshot(snapshot, key, fields, config.getTargetClass());
+        if (cached != null) {
+            hits.incrementAndGet();
+            touch(snapshot);
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        List<T> results = CSVParser.parse(file, config);
+        writeSnapshot(snapshot, key, fields, results);
+        evict();
+        return results;
+    }
+
+    /**
+     * Deletes every snapshot in the cache directory.
+     */
+    public void clear() {
+        for (Path snapshot : listSnapshots()) {
+            try {
+                Files.deleteIfExists(snapshot);
+            } catch (IOException e) {
+                log.warn("Failed to delete snapshot: {}", snapshot, e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of parses served from a snapshot.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of parses that had to read the CSV file.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of snapshots deleted to keep the cache under its size limit.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private SourceKey sourceKey(File file, CSVParserConfig<?> config, Field[] fields) throws IOException {
+        Path path = file.toPath().toRealPath();
+        long size = Files.size(path);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        String contentHash = hashContents ? contentHash(path) : "";
+        String configHash = sha256(configFingerprint(config, fields));
+        String cacheName = sha256(path + "\n" + configHash);
+        return new SourceKey(path.toString(), size, modified, contentHash, configHash, cacheName);
+    }
+
+    /**
+     * Builds a stable textual description of everything in the configuration and target class that
+     * affects the parsed result.
+     */
+    private static String configFingerprint(CSVParserConfig<?> config, Field[] fields) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(FORMAT_VERSION).append('\n')
+                .append(config.getTargetClass().getName()).append('\n')
+                .append(config.getDelimiter()).append('\n')
+                .append(config.isSkipEmptyLines()).append('\n')
+                .append(config.isTrimFields()).append('\n')
+                .append(config.isIgnoreUnknownColumns()).append('\n')
+                .append(config.getErrorHandlingStrategy()).append('\n')
+                .append(new TreeMap<>(config.getHeaderMapping())).append('\n')
+                .append(config.getFixedWidthLayout()).append('\n')
+                .append(config.getValidationRules()).append('\n');
+        for (Field field : fields) {
+            fingerprint.append(field.getName()).append(':').append(field.getType().getName()).append('\n');
+        }
+        return fingerprint.toString();
+    }
+
+    private static String contentHash(Path path) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the fields stored in a snapshot, or {@code null} if any field has a type that cannot be encoded.
+     */
+    private static Field[] snapshotFields(Class<?> targetClass) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : targetClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            if (ValueCodec.forType(field.getType()) == null) {
+                return null;
+            }
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        return fields.toArray(new Field[0]);
+    }
+
+    private <T> List<T> readSnapshot(Path snapshot, SourceKey key, Field[] fields, Class<T> targetClass) {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.warn("Discarding snapshot with unknown format: {}", snapshot);
+                return null;
+            }
+            SourceKey stored = new SourceKey(readString(buffer), buffer.getLong(), buffer.getLong(),
+                    readString(buffer), readString(buffer), key.cacheName());
+            if (!stored.equals(key)) {
+                log.info("Snapshot is stale for {}, re-parsing", key.path());
+                return null;
+            }
+
+            ValueCodec[] codecs = codecs(fields);
+            int rowCount = buffer.getInt();
+            if (rowCount < 0 || (long) rowCount * fields.length > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid row count: " + rowCount);
+            }
+            List<T> results = new ArrayList<>(rowCount);
+            for (int row = 0; row < rowCount; row++) {
+                T instance = targetClass.getDeclaredConstructor().newInstance();
+                for (int i = 0; i < fields.length; i++) {
+                    if (buffer.get() != 0) {
+                        fields[i].set(instance, codecs[i].read(buffer));
+                    }
+                }
+                results.add(instance);
+            }
+            log.debug("Loaded {} rows for {} from snapshot {}", rowCount, key.path(), snapshot);
+            return results;
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            // A corrupt snapshot can fail in any codec, e.g. with a DateTimeParseException; it is rebuilt either way
+            log.warn("Failed to read snapshot {}, re-parsing", snapshot, e);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(Path snapshot, SourceKey key, Field[] fields, List<?> results) {
+        ValueCodec[] codecs = codecs(fields);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(cacheDirectory, "snapshot-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, key.path());
+                out.writeLong(key.size());
+                out.writeLong(key.lastModified());
+                writeString(out, key.contentHash());
+                writeString(out, key.configHash());
+                out.writeInt(results.size());
+                for (Object instance : results) {
+                    for (int i = 0; i < fields.length; i++) {
+                        Object value = fields[i].get(instance);
+                        out.writeByte(value == null ? 0 : 1);
+                        if (value != null) {
+                            codecs[i].write(out, value);
+                        }
+                    }
+                }
+            }
+            try {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug("Wrote snapshot {} for {}", snapshot, key.path());
+        } catch (IOException | ReflectiveOperationException e) {
+            log.warn("Failed to write snapshot for {}", key.path(), e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Best effort cleanup of a partial snapshot
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used snapshots until the directory fits within the size limit.
+     * Snapshot modification times are refreshed on every hit, so they order snapshots by last use.
+     */
+    private synchronized void evict() {
+        List<Path> snapshots = listSnapshots();
+        long total = 0;
+        long[] sizes = new long[snapshots.size()];
+        for (int i = 0; i < snapshots.size(); i++) {
+            sizes[i] = sizeOf(snapshots.get(i));
+            total += sizes[i];
+        }
+        if (total <= maxCacheBytes) {
+            return;
+        }
+
+        Integer[] order = new Integer[snapshots.size()];
+        Arrays.setAll(order, i -> i);
+        long[] modified = snapshots.stream().mapToLong(CSVSnapshotCache::lastModified).toArray();
+        Arrays.sort(order, Comparator.comparingLong(i -> modified[i]));
+        for (int i : order) {
+            if (total <= maxCacheBytes) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+                total -= sizes[i];
+                evictions.incrementAndGet();
+                log.debug("Evicted snapshot {}", snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("Failed to evict snapshot: {}", snapshots.get(i), e);
+            }
+        }
+    }
+
+    private List<Path> listSnapshots() {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX)).toList();
+        } catch (IOException e) {
+            log.warn("Failed to list cache directory: {}", cacheDirectory, e);
+            return List.of();
+        }
+    }
+
+    private static void touch(Path snapshot) {
+        try {
+            Files.setLastModifiedTime(snapshot, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Failed to update snapshot access time: {}", snapshot, e);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static ValueCodec[] codecs(Field[] fields) {
+        ValueCodec[] codecs = new ValueCodec[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            codecs[i] = ValueCodec.forType(fields[i].getType());
+        }
+        return codecs;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Identifies the source file state and parser configuration a snapshot was built from.
+     */
+    private record SourceKey(String path, long size, long lastModified, String contentHash, String configHash,
+                             String cacheName) {
+    }
+
+    /**
+     * Binary encodings for the field types that can be stored in a snapshot.
+     */
+    private enum ValueCodec {
+        INT {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeInt((Integer) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.getInt();
+            }
+        },
+        LONG {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeLong((Long) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.getLong();
+            }
+        },
+        DOUBLE {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeDouble((Double) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.getDouble();
+            }
+        },
+        FLOAT {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeFloat((Float) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.getFloat();
+            }
+        },
+        SHORT {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeShort((Short) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.getShort();
+            }
+        },
+        BYTE {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeByte((Byte) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.get();
+            }
+        },
+        CHAR {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeChar((Character) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.getChar();
+            }
+        },
+        BOOLEAN {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeBoolean((Boolean) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return in.get() != 0;
+            }
+        },
+        STRING {
+            void write(DataOutputStream out, Object value) throws IOException {
+                writeString(out, (String) value);
+            }
+
+            Object read(ByteBuffer in) {
+                return readString(in);
+            }
+        },
+        BIG_DECIMAL {
+            void write(DataOutputStream out, Object value) throws IOException {
+                writeString(out, value.toString());
+            }
+
+            Object read(ByteBuffer in) {
+                return new BigDecimal(readString(in));
+            }
+        },
+        LOCAL_DATE {
+            void write(DataOutputStream out, Object value) throws IOException {
+                out.writeLong(((LocalDate) value).toEpochDay());
+            }
+
+            Object read(ByteBuffer in) {
+                return LocalDate.ofEpochDay(in.getLong());
+            }
+        },
+        LOCAL_DATE_TIME {
+            void write(DataOutputStream out, Object value) throws IOException {
+                writeString(out, value.toString());
+            }
+
+            Object read(ByteBuffer in) {
+                return LocalDateTime.parse(readString(in));
+            }
+        };
+
+        private static final Map<Class<?>, ValueCodec> BY_TYPE = Map.ofEntries(
+                Map.entry(int.class, INT), Map.entry(Integer.class, INT),
+                Map.entry(long.class, LONG), Map.entry(Long.class, LONG),
+                Map.entry(double.class, DOUBLE), Map.entry(Double.class, DOUBLE),
+                Map.entry(float.class, FLOAT), Map.entry(Float.class, FLOAT),
+                Map.entry(short.class, SHORT), Map.entry(Short.class, SHORT),
+                Map.entry(byte.class, BYTE), Map.entry(Byte.class, BYTE),
+                Map.entry(char.class, CHAR), Map.entry(Character.class, CHAR),
+                Map.entry(boolean.class, BOOLEAN), Map.entry(Boolean.class, BOOLEAN),
+                Map.entry(String.class, STRING),
+                Map.entry(BigDecimal.class, BIG_DECIMAL),
+                Map.entry(LocalDate.class, LOCAL_DATE),
+                Map.entry(LocalDateTime.class, LOCAL_DATE_TIME));
+
+        static ValueCodec forType(Class<?> type) {
+            return BY_TYPE.get(type);
+        }
+
+        abstract void write(DataOutputStream out, Object value) throws IOException;
+
+        abstract Object read(ByteBuffer in);
+    }
+}
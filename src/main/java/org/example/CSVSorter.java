@@ -0,0 +1,541 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * External merge sort for CSV files that do not fit in memory.
+ * Rows are read in runs that fit within a fixed memory budget; each run is sorted by the configured key
+ * columns on a worker thread and spilled to a temporary file, and the sorted runs are then merged with a
+ * k-way merge. Numeric keys are compared as primitive {@code long}s. The sort is stable: rows with equal
+ * keys keep their input order. Input that fits in a single run is sorted in memory without spilling.
+ */
+public class CSVSorter {
+    private static final Logger log = LoggerFactory.getLogger(CSVSorter.class);
+
+    private final String delimiter;
+    private final List<SortKey> keys;
+    private final long memoryBudget;
+    private final int parallelism;
+    private final int maxMergeFanIn;
+    private final Path tempDirectory;
+
+    private CSVSorter(Builder builder) {
+        this.delimiter = builder.delimiter;
+        this.keys = List.copyOf(builder.keys);
+        this.memoryBudget = builder.memoryBudget;
+        this.parallelism = builder.parallelism;
+        this.maxMergeFanIn = builder.maxMergeFanIn;
+        this.tempDirectory = builder.tempDirectory;
+    }
+
+    /**
+     * Sorts a CSV file into a new CSV file with the same header. The sorted rows are written to a temporary file
+     * next to the output and moved into place once complete, so the output may be the input itself, and a failed
+     * sort leaves any existing output untouched.
+     *
+     * @param input  the CSV file to sort.
+     * @param output the file to write the sorted CSV to.
+     * @throws CSVParseException if the input cannot be read, a key value is invalid, or the output cannot be written.
+     */
+    public void sort(File input, File output) {
+        Objects.requireNonNull(output, "Output file cannot be null");
+        Path target = output.toPath().toAbsolutePath();
+        try {
+            Path temp = Files.createTempFile(target.getParent(), "sorted-", ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, Charset.defaultCharset())) {
+                    writeSorted(input, writer);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.error("Failed to write file: {}", output.getPath(), e);
+            throw new CSVParseException("Failed to write file: " + output.getPath(), e);
+        }
+    }
+
+    /**
+     * Sorts a CSV file and passes the sorted data rows, without the header, to a consumer.
+     *
+     * @param input the CSV file to sort.
+     * @param rows  the consumer receiving each raw row in sorted order.
+     * @throws CSVParseException if the input cannot be read or a key value is invalid.
+     */
+    public void sort(File input, Consumer<String> rows) {
+        Objects.requireNonNull(input, "File cannot be null");
+        Objects.requireNonNull(rows, "Row consumer cannot be null");
+        try (CSVRowReader reader = new CSVRowReader(input, delimiter)) {
+            sortRows(reader, rows);
+        }
+    }
+
+    private void writeSorted(File input, BufferedWriter writer) throws IOException {
+        Objects.requireNonNull(input, "File cannot be null");
+        try (CSVRowReader reader = new CSVRowReader(input, delimiter)) {
+            writer.write(reader.getHeaderLine());
+            writer.newLine();
+            sortRows(reader, line -> {
+                try {
+                    writer.write(line);
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void sortRows(CSVRowReader reader, Consumer<String> output) {
+        KeyExtractor extractor = new KeyExtractor(reader);
+        long runBudget = Math.max(1, memoryBudget / (parallelism + 1));
+        Set<Path> tempFiles = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "csv-sort-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Path>> runs = new ArrayList<>();
+            List<Path> runFiles = new ArrayList<>();
+            Semaphore runsInFlight = new Semaphore(parallelism);
+            List<SortRow> current = new ArrayList<>();
+            long currentBytes = 0;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                SortRow row = extractor.extract(line, reader.getLineNumber());
+                current.add(row);
+                currentBytes += row.estimatedBytes();
+                if (currentBytes >= runBudget) {
+                    runs.add(submitRun(executor, runsInFlight, current, extractor, tempFiles));
+                    current = new ArrayList<>();
+                    currentBytes = 0;
+                }
+            }
+
+            if (runs.isEmpty()) {
+                current.sort(extractor);
+                current.forEach(row -> output.accept(row.line()));
+                return;
+            }
+            if (!current.isEmpty()) {
+                runs.add(submitRun(executor, runsInFlight, current, extractor, tempFiles));
+            }
+            for (Future<Path> run : runs) {
+                runFiles.add(await(run));
+            }
+            log.debug("Sorted {} runs, merging with fan-in {}", runFiles.size(), maxMergeFanIn);
+
+            while (runFiles.size() > maxMergeFanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runFiles.size(); i += maxMergeFanIn) {
+                    List<Path> group = runFiles.subList(i, Math.min(i + maxMergeFanIn, runFiles.size()));
+                    Path target = createRunFile(tempFiles);
+                    merged.add(target);
+                    try (BufferedWriter writer = Files.newBufferedWriter(target)) {
+                        merge(group, extractor, row -> writeLine(writer, row));
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                    deleteAll(group, tempFiles);
+                }
+                runFiles = merged;
+            }
+            merge(runFiles, extractor, output);
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to spill sort run", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CSVParseException("Interrupted while sorting", e);
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+            deleteAll(List.copyOf(tempFiles), tempFiles);
+        }
+    }
+
+    private Future<Path> submitRun(ExecutorService executor, Semaphore runsInFlight, List<SortRow> rows,
+                                   KeyExtractor extractor, Set<Path> tempFiles) throws InterruptedException {
+        runsInFlight.acquire();
+        return executor.submit(() -> {
+            try {
+                rows.sort(extractor);
+                Path runFile = createRunFile(tempFiles);
+                try (BufferedWriter writer = Files.newBufferedWriter(runFile)) {
+                    for (SortRow row : rows) {
+                        writeLine(writer, row.line());
+                    }
+                }
+                return runFile;
+            } finally {
+                runsInFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Merges sorted runs, breaking ties by run order to keep the sort stable.
+     */
+    private static void merge(List<Path> runFiles, KeyExtractor extractor, Consumer<String> output) throws IOException {
+        List<BufferedReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunCursor> heads = new PriorityQueue<>(
+                    Comparator.<RunCursor, SortRow>comparing(RunCursor::row, extractor).thenComparingInt(RunCursor::run));
+            for (int i = 0; i < runFiles.size(); i++) {
+                BufferedReader reader = Files.newBufferedReader(runFiles.get(i));
+                readers.add(reader);
+                String line = reader.readLine();
+                if (line != null) {
+                    heads.add(new RunCursor(i, extractor.extract(line, -1)));
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunCursor head = heads.poll();
+                output.accept(head.row().line());
+                String line = readers.get(head.run()).readLine();
+                if (line != null) {
+                    heads.add(new RunCursor(head.run(), extractor.extract(line, -1)));
+                }
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private Path createRunFile(Set<Path> tempFiles) throws IOException {
+        Path runFile = tempDirectory != null
+                ? Files.createTempFile(tempDirectory, "csv-sort-", ".run")
+                : Files.createTempFile("csv-sort-", ".run");
+        tempFiles.add(runFile);
+        return runFile;
+    }
+
+    private static void writeLine(BufferedWriter writer, String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteAll(List<Path> files, Set<Path> tempFiles) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+                tempFiles.remove(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete sort run: {}", file, e);
+            }
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Sort workers did not terminate in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path await(Future<Path> run) throws InterruptedException {
+        try {
+            return run.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CSVParseException cause) {
+                throw cause;
+            }
+            throw new CSVParseException("Failed to sort run", e.getCause());
+        }
+    }
+
+    /**
+     * Value types of sort key columns.
+     */
+    public enum KeyType {
+        /**
+         * Compare values as text.
+         */
+        STRING,
+
+        /**
+         * Compare values as signed integers.
+         */
+        LONG,
+
+        /**
+         * Compare values as floating-point numbers.
+         */
+        DOUBLE
+    }
+
+    /**
+     * A column to sort by. Empty values sort before all other values.
+     *
+     * @param column     the header name of the column.
+     * @param type       how values in the column are compared.
+     * @param descending {@code true} to sort in descending order.
+     */
+    public record SortKey(String column, KeyType type, boolean descending) {
+        public SortKey {
+            Objects.requireNonNull(column, "Column cannot be null");
+            Objects.requireNonNull(type, "Key type cannot be null");
+        }
+
+        /**
+         * @param column the header name of the column.
+         * @param type   how values in the column are compared.
+         * @return an ascending sort key.
+         */
+        public static SortKey ascending(String column, KeyType type) {
+            return new SortKey(column, type, false);
+        }
+
+        /**
+         * @param column the header name of the column.
+         * @param type   how values in the column are compared.
+         * @return a descending sort key.
+         */
+        public static SortKey descending(String column, KeyType type) {
+            return new SortKey(column, type, true);
+        }
+    }
+
+    /**
+     * A row with its sort keys extracted. Numeric keys are encoded so that comparing the encoded
+     * {@code long}s orders the original values.
+     */
+    private record SortRow(String line, long[] numericKeys, String[] textKeys) {
+        long estimatedBytes() {
+            long bytes = 64 + 2L * line.length() + 8L * numericKeys.length;
+            for (String key : textKeys) {
+                bytes += key == null ? 0 : 48 + 2L * key.length();
+            }
+            return bytes;
+        }
+    }
+
+    private record RunCursor(int run, SortRow row) {
+    }
+
+    /**
+     * Resolves key columns against the header and extracts and compares row keys.
+     */
+    private final class KeyExtractor implements Comparator<SortRow> {
+        private final CSVRowReader reader;
+        private final int[] columnIndexes;
+        private final int[] slots;
+        private final int numericCount;
+        private final int textCount;
+
+        KeyExtractor(CSVRowReader reader) {
+            this.reader = reader;
+            this.columnIndexes = new int[keys.size()];
+            this.slots = new int[keys.size()];
+            int numeric = 0;
+            int text = 0;
+            for (int i = 0; i < keys.size(); i++) {
+                columnIndexes[i] = reader.indexOf(keys.get(i).column());
+                slots[i] = keys.get(i).type() == KeyType.STRING ? text++ : numeric++;
+            }
+            this.numericCount = numeric;
+            this.textCount = text;
+        }
+
+        SortRow extract(String line, int lineNumber) {
+            String[] values = reader.split(line);
+            long[] numericKeys = new long[numericCount];
+            String[] textKeys = new String[textCount];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                String value = columnIndexes[i] < values.length ? values[columnIndexes[i]].trim() : "";
+                SortKey key = keys.get(i);
+                if (key.type() == KeyType.STRING) {
+                    textKeys[slots[i]] = value.isEmpty() ? null : value;
+                } else {
+                    numericKeys[slots[i]] = encode(value, key, lineNumber);
+                }
+            }
+            return new SortRow(line, numericKeys, textKeys);
+        }
+
+        @Override
+        public int compare(SortRow a, SortRow b) {
+            for (int i = 0; i < slots.length; i++) {
+                int result;
+                if (keys.get(i).type() == KeyType.STRING) {
+                    String left = a.textKeys()[slots[i]];
+                    String right = b.textKeys()[slots[i]];
+                    result = left == null ? (right == null ? 0 : -1) : (right == null ? 1 : left.compareTo(right));
+                } else {
+                    result = Long.compare(a.numericKeys()[slots[i]], b.numericKeys()[slots[i]]);
+                }
+                if (result != 0) {
+                    return keys.get(i).descending() ? -result : result;
+                }
+            }
+            return 0;
+        }
+
+        private long encode(String value, SortKey key, int lineNumber) {
+            if (value.isEmpty()) {
+                return Long.MIN_VALUE;
+            }
+            try {
+                if (key.type() == KeyType.LONG) {
+                    return Long.parseLong(value);
+                }
+                // Flip the magnitude bits of negative doubles so their bit patterns order like the values
+                long bits = Double.doubleToLongBits(Double.parseDouble(value));
+                return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            } catch (NumberFormatException e) {
+                throw new CSVParseException("Invalid " + key.type() + " sort key '" + value + "' in column '"
+                        + key.column() + "' at line " + lineNumber, e);
+            }
+        }
+    }
+
+    /**
+     * Builder class for constructing instances of {@link CSVSorter}.
+     */
+    public static class Builder {
+        private String delimiter = ",";
+        private final List<SortKey> keys = new ArrayList<>();
+        private long memoryBudget = 64L * 1024 * 1024;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int maxMergeFanIn = 64;
+        private Path tempDirectory;
+
+        /**
+         * Sets the delimiter to use for splitting CSV rows.
+         *
+         * @param delimiter the delimiter to use (e.g., "," or "|").
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code delimiter} is null or empty.
+         */
+        public Builder withDelimiter(String delimiter) {
+            if (delimiter == null || delimiter.isEmpty()) {
+                throw new IllegalArgumentException("Delimiter cannot be null or empty");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Adds a key column. Keys are compared in the order they are added.
+         *
+         * @param key the key column.
+         * @return this builder instance.
+         */
+        public Builder withKey(SortKey key) {
+            this.keys.add(Objects.requireNonNull(key, "Sort key cannot be null"));
+            return this;
+        }
+
+        /**
+         * Sets the approximate amount of heap memory to use for rows held in memory at once.
+         *
+         * @param bytes the memory budget in bytes.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code bytes} is not positive.
+         */
+        public Builder withMemoryBudget(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Memory budget must be positive");
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the number of runs sorted and spilled concurrently.
+         *
+         * @param parallelism the number of worker threads.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code parallelism} is not positive.
+         */
+        public Builder withParallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of runs merged at once; more runs are merged in several passes.
+         *
+         * @param maxMergeFanIn the maximum merge fan-in.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code maxMergeFanIn} is less than 2.
+         */
+        public Builder withMaxMergeFanIn(int maxMergeFanIn) {
+            if (maxMergeFanIn < 2) {
+                throw new IllegalArgumentException("Merge fan-in must be at least 2");
+            }
+            this.maxMergeFanIn = maxMergeFanIn;
+            return this;
+        }
+
+        /**
+         * Sets the directory for spilled runs. Defaults to the system temporary directory.
+         *
+         * @param tempDirectory the directory for temporary files.
+         * @return this builder instance.
+         */
+        public Builder withTempDirectory(File tempDirectory) {
+            this.tempDirectory = tempDirectory.toPath();
+            return this;
+        }
+
+        /**
+         * Builds and returns a new {@link CSVSorter} instance.
+         *
+         * @return the constructed {@link CSVSorter}.
+         * @throws IllegalStateException if no sort key was added.
+         */
+        public CSVSorter build() {
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("At least one sort key is required");
+            }
+            return new CSVSorter(this);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache in front of {@link CSVParser#parse(File, CSVParserConfig)}.
+ * Results are memoized per canonical file path and configuration, and revalidated against the
+ * file's size and modification time on every access. The cache is bounded both by the number of
+ * entries and by their total weight (the number of parsed rows), evicting the least recently used
+ * entries first. Concurrent requests for the same file and configuration share a single parse.
+ * <p>
+ * Cached results are handed out as unmodifiable lists shared between callers.
+ */
+public class CachingCSVParser {
+    private static final Logger log = LoggerFactory.getLogger(CachingCSVParser.class);
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<CacheKey, CompletableFuture<CacheEntry>> inFlight = new ConcurrentHashMap<>();
+    private long totalWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a caching parser.
+     *
+     * @param maxEntries the maximum number of cached results.
+     * @param maxWeight  the maximum total number of rows across all cached results.
+     * @throws IllegalArgumentException if either bound is not positive.
+     */
+    public CachingCSVParser(int maxEntries, long maxWeight) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Max weight must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Parses a CSV file, returning a cached result if the file is unchanged since it was last parsed
+     * with an equal configuration.
+     *
+     * @param file   the CSV file to parse.
+     * @param config the configuration specifying how to parse the CSV file.
+     * @param <T>    the type of objects to map each row to.
+     * @return an unmodifiable list of parsed objects.
+     * @throws CSVParseException if there is an error during parsing.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> parse(File file, CSVParserConfig<T> config) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(config, "Config cannot be null");
+
+        Path path;
+        FileState state;
+        try {
+            path = file.toPath().toRealPath();
+            state = FileState.of(path);
+        } catch (IOException e) {
+            log.error("Failed to read file: {}", file.getPath(), e);
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+        CacheKey key = new CacheKey(path, config);
+
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.state().equals(state)) {
+                    hits.increment();
+                    return (List<T>) entry.rows();
+                }
+                log.debug("Cached result for {} is stale, reloading", path);
+                remove(key);
+                invalidations.increment();
+            }
+        }
+
+        CompletableFuture<CacheEntry> load = new CompletableFuture<>();
+        CompletableFuture<CacheEntry> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            hits.increment();
+            return (List<T>) await(existing).rows();
+        }
+
+        try {
+            synchronized (entries) {
+                // A concurrent load may have completed between the lookup above and claiming the load
+                CacheEntry entry = entries.get(key);
+                if (entry != null && entry.state().equals(state)) {
+                    hits.increment();
+                    load.complete(entry);
+                    return (List<T>) entry.rows();
+                }
+            }
+            misses.increment();
+            loads.increment();
+            List<T> parsed = CSVParser.parse(path.toFile(), config);
+            CacheEntry entry = new CacheEntry(state, Collections.unmodifiableList(new ArrayList<>(parsed)), parsed.size());
+            store(key, entry);
+            load.complete(entry);
+            return (List<T>) entry.rows();
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Removes all cached results for a file, regardless of configuration.
+     *
+     * @param file the file to invalidate.
+     */
+    public void invalidate(File file) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        try {
+            path = file.toPath().toRealPath();
+        } catch (IOException e) {
+            // File no longer exists; fall back to the normalized path
+        }
+        synchronized (entries) {
+            Iterator<CacheKey> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                CacheKey key = keys.next();
+                if (key.path().equals(path)) {
+                    totalWeight -= entries.get(key).weight();
+                    keys.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.add(entries.size());
+            entries.clear();
+            totalWeight = 0;
+        }
+    }
+
+    /**
+     * @return a snapshot of the cache counters and current occupancy.
+     */
+    public CacheStats getStats() {
+        synchronized (entries) {
+            return new CacheStats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), invalidations.sum(),
+                    entries.size(), totalWeight);
+        }
+    }
+
+    private void store(CacheKey key, CacheEntry entry) {
+        synchronized (entries) {
+            CacheEntry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalWeight -= previous.weight();
+            }
+            totalWeight += entry.weight();
+
+            Iterator<Map.Entry<CacheKey, CacheEntry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalWeight > maxWeight) && eldest.hasNext()) {
+                Map.Entry<CacheKey, CacheEntry> candidate = eldest.next();
+                if (candidate.getKey().equals(key)) {
+                    // Never evict the entry being stored; it is still returned to the caller
+                    continue;
+                }
+                totalWeight -= candidate.getValue().weight();
+                eldest.remove();
+                evictions.increment();
+                log.debug("Evicted cached result for {}", candidate.getKey().path());
+            }
+        }
+    }
+
+    private void remove(CacheKey key) {
+        CacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= removed.weight();
+        }
+    }
+
+    private static CacheEntry await(CompletableFuture<CacheEntry> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Counters and occupancy of a {@link CachingCSVParser}.
+     *
+     * @param hits          the number of requests served from the cache, including requests that waited on
+     *                      a concurrent load.
+     * @param misses        the number of requests that found no valid cached result and parsed the file.
+     * @param loads         the number of times a file was actually parsed.
+     * @param evictions     the number of results evicted to stay within the bounds.
+     * @param invalidations the number of results discarded because the file changed or was invalidated.
+     * @param size          the number of cached results.
+     * @param weight        the total number of rows held by cached results.
+     */
+    public record CacheStats(long hits, long misses, long loads, long evictions, long invalidations, int size,
+                             long weight) {
+    }
+
+    private record CacheKey(Path path, CSVParserConfig<?> config) {
+    }
+
+    private record CacheEntry(FileState state, List<?> rows, long weight) {
+    }
+
+    private record FileState(long size, long lastModified) {
+        static FileState of(Path path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileState(attributes.size(), attributes.lastModifiedTime().toMillis());
+        }
+    }
+}
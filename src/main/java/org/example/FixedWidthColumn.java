@@ -0,0 +1,24 @@
+package org.example;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares where a field's value sits in a fixed-width record.
+ * Read by {@link FixedWidthLayout.Builder#withAnnotatedColumns(Class)}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface FixedWidthColumn {
+    /**
+     * @return the zero-based byte offset of the value within the record.
+     */
+    int start();
+
+    /**
+     * @return the width of the value in bytes.
+     */
+    int length();
+}
@@ -0,0 +1,261 @@
+package org.example;
+
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Describes a fixed-width record format: where each column sits in a record and how values are padded.
+ * Every record has the same length in bytes, optionally followed by a line break, so fields are cut by offset
+ * without scanning for delimiters and any record can be located directly from its number.
+ * <p>
+ * Column names play the role of CSV headers: they are matched to fields of the target class through the
+ * configured header mapping, and a name that is exactly a field name binds to that field directly.
+ *
+ * @see CSVParserConfig.Builder#withFixedWidthLayout(FixedWidthLayout)
+ * @see FixedWidthReader
+ */
+public final class FixedWidthLayout {
+    private final List<Column> columns;
+    private final int recordLength;
+    private final boolean headerRecord;
+    private final byte padding;
+    private final boolean trimPadding;
+    private final Charset charset;
+
+    private FixedWidthLayout(Builder builder) {
+        this.columns = List.copyOf(builder.columns);
+        int end = columns.stream().mapToInt(Column::end).max().orElse(0);
+        if (builder.recordLength > 0 && builder.recordLength < end) {
+            throw new IllegalArgumentException("Record length " + builder.recordLength + " is shorter than the columns, which end at " + end);
+        }
+        this.recordLength = builder.recordLength > 0 ? builder.recordLength : end;
+        this.headerRecord = builder.headerRecord;
+        this.padding = builder.padding;
+        this.trimPadding = builder.trimPadding;
+        this.charset = builder.charset;
+    }
+
+    /**
+     * @return the columns, in the order their values are bound.
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the length of a record in bytes, not counting any line break.
+     */
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * @return {@code true} if the first record is a header to skip.
+     */
+    public boolean hasHeaderRecord() {
+        return headerRecord;
+    }
+
+    /**
+     * @return the byte used to pad values to their column width.
+     */
+    public byte getPadding() {
+        return padding;
+    }
+
+    /**
+     * @return {@code true} if padding is trimmed from both ends of each value.
+     */
+    public boolean isTrimPadding() {
+        return trimPadding;
+    }
+
+    /**
+     * @return the charset values are decoded with.
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        FixedWidthLayout that = (FixedWidthLayout) obj;
+        return recordLength == that.recordLength
+                && headerRecord == that.headerRecord
+                && padding == that.padding
+                && trimPadding == that.trimPadding
+                && columns.equals(that.columns)
+                && charset.equals(that.charset);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(columns, recordLength, headerRecord, padding, trimPadding, charset);
+    }
+
+    @Override
+    public String toString() {
+        return "FixedWidthLayout{columns=" + columns + ", recordLength=" + recordLength + ", headerRecord=" + headerRecord
+                + ", padding=" + padding + ", trimPadding=" + trimPadding + ", charset=" + charset.name() + "}";
+    }
+
+    /**
+     * A named column occupying {@code length} bytes from byte offset {@code start} of each record.
+     *
+     * @param name   the column name, matched to a field like a CSV header.
+     * @param start  the zero-based byte offset of the value within the record.
+     * @param length the width of the value in bytes.
+     */
+    public record Column(String name, int start, int length) {
+        public Column {
+            Objects.requireNonNull(name, "Column name cannot be null");
+            if (start < 0) {
+                throw new IllegalArgumentException("Column start cannot be negative");
+            }
+            if (length <= 0) {
+                throw new IllegalArgumentException("Column length must be positive");
+            }
+        }
+
+        /**
+         * @return the offset just past the end of the value.
+         */
+        public int end() {
+            return start + length;
+        }
+    }
+
+    /**
+     * Builder class for constructing instances of {@link FixedWidthLayout}.
+     */
+    public static class Builder {
+        private final List<Column> columns = new ArrayList<>();
+        private int recordLength;
+        private boolean headerRecord;
+        private byte padding = ' ';
+        private boolean trimPadding = true;
+        private Charset charset = StandardCharsets.UTF_8;
+
+        /**
+         * Adds a column.
+         *
+         * @param name   the column name, matched to a field like a CSV header.
+         * @param start  the zero-based byte offset of the value within the record.
+         * @param length the width of the value in bytes.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code start} is negative or {@code length} is not positive.
+         */
+        public Builder withColumn(String name, int start, int length) {
+            columns.add(new Column(name, start, length));
+            return this;
+        }
+
+        /**
+         * Adds a column for every field of a class annotated with {@link FixedWidthColumn}, named after the field.
+         *
+         * @param type the class whose annotated fields define columns.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if the class has no annotated fields.
+         */
+        public Builder withAnnotatedColumns(Class<?> type) {
+            Objects.requireNonNull(type, "Type cannot be null");
+            int added = 0;
+            for (Field field : type.getDeclaredFields()) {
+                FixedWidthColumn column = field.getAnnotation(FixedWidthColumn.class);
+                if (column != null) {
+                    withColumn(field.getName(), column.start(), column.length());
+                    added++;
+                }
+            }
+            if (added == 0) {
+                throw new IllegalArgumentException("No fields annotated with @FixedWidthColumn in " + type.getName());
+            }
+            return this;
+        }
+
+        /**
+         * Sets the length of a record in bytes, not counting any line break. Defaults to the end of the last column;
+         * set it when records carry filler beyond the last column.
+         *
+         * @param bytes the record length.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code bytes} is not positive.
+         */
+        public Builder withRecordLength(int bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Record length must be positive");
+            }
+            this.recordLength = bytes;
+            return this;
+        }
+
+        /**
+         * Sets whether the first record is a header to skip.
+         *
+         * @param headerRecord {@code true} to skip the first record.
+         * @return this builder instance.
+         */
+        public Builder withHeaderRecord(boolean headerRecord) {
+            this.headerRecord = headerRecord;
+            return this;
+        }
+
+        /**
+         * Sets the character used to pad values to their column width. Padding is trimmed from both ends of a value,
+         * so it must not be a character a value can start or end with; zero-padded numbers need no trimming, as they
+         * convert with their leading zeros.
+         *
+         * @param padding the padding character; must be a single ASCII character.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code padding} is not an ASCII character.
+         */
+        public Builder withPadding(char padding) {
+            if (padding > 0x7F) {
+                throw new IllegalArgumentException("Padding must be an ASCII character");
+            }
+            this.padding = (byte) padding;
+            return this;
+        }
+
+        /**
+         * Sets whether padding is trimmed from both ends of each value before it is converted.
+         *
+         * @param trimPadding {@code true} to trim padding.
+         * @return this builder instance.
+         */
+        public Builder withTrimPadding(boolean trimPadding) {
+            this.trimPadding = trimPadding;
+            return this;
+        }
+
+        /**
+         * Sets the charset values are decoded with. Column offsets and widths are always in bytes.
+         *
+         * @param charset the charset.
+         * @return this builder instance.
+         */
+        public Builder withCharset(Charset charset) {
+            this.charset = Objects.requireNonNull(charset, "Charset cannot be null");
+            return this;
+        }
+
+        /**
+         * Builds the {@link FixedWidthLayout} instance.
+         *
+         * @return a new {@link FixedWidthLayout} instance.
+         * @throws IllegalArgumentException if no columns were added or the record length is shorter than the columns.
+         */
+        public FixedWidthLayout build() {
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("A fixed-width layout needs at least one column");
+            }
+            return new FixedWidthLayout(this);
+        }
+    }
+}
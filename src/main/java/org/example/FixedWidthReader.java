@@ -0,0 +1,330 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Reads a fixed-width file described by the {@link FixedWidthLayout} of a parser configuration.
+ * Records are read in large blocks and each value is cut from the block at its column offset, so no delimiter
+ * scanning takes place. Because every record has the same length, any record can be read directly by number.
+ * <p>
+ * Values are bound with the same header mapping, {@link TypeConverter} conversions and
+ * {@link CSVParserConfig.ErrorHandlingStrategy} as {@link CSVParser#parse}. Errors are reported with the line
+ * number of the record, counting a header record if there is one.
+ * <p>
+ * Line breaks between records are detected from the end of the first record and may be {@code \n},
+ * {@code \r\n}, {@code \r} or absent; the last record may omit its line break.
+ * Instances are not thread-safe.
+ *
+ * @param <T> the type of objects to map each record to.
+ */
+public class FixedWidthReader<T> implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(FixedWidthReader.class);
+    private static final int READ_BUFFER_SIZE = 256 * 1024;
+
+    private final CSVParserConfig<T> config;
+    private final FixedWidthLayout layout;
+    private final FixedWidthLayout.Column[] columns;
+    private final FileChannel channel;
+    private final int recordLength;
+    private final byte[] lineBreak;
+    private final int stride;
+    private final long firstRecord;
+    private final long totalRecords;
+    private final List<String> errorMessages = new ArrayList<>();
+    private final RowBinder<T> binder;
+
+    /**
+     * Opens a fixed-width file.
+     *
+     * @param file   the fixed-width file to read.
+     * @param config the configuration; must have a fixed-width layout.
+     * @throws IllegalArgumentException if the configuration has no fixed-width layout.
+     * @throws CSVParseException        if the file cannot be read or is empty, or a validation rule names a field
+     *                                  that no column is mapped to.
+     */
+    public FixedWidthReader(File file, CSVParserConfig<T> config) {
+        Objects.requireNonNull(file, "File cannot be null");
+        this.config = Objects.requireNonNull(config, "Config cannot be null");
+        this.layout = config.getFixedWidthLayout();
+        if (layout == null) {
+            throw new IllegalArgumentException("Config has no fixed-width layout");
+        }
+        this.columns = layout.getColumns().toArray(new FixedWidthLayout.Column[0]);
+        this.recordLength = layout.getRecordLength();
+
+        try {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            log.error("Failed to read file: {}", file.getPath(), e);
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+        try {
+            long size = channel.size();
+            if (size == 0) {
+                throw new CSVParseException("Fixed-width file is empty");
+            }
+            this.lineBreak = detectLineBreak();
+            this.stride = recordLength + lineBreak.length;
+            this.totalRecords = size / stride + (size % stride > 0 ? 1 : 0);
+            this.firstRecord = layout.hasHeaderRecord() ? 1 : 0;
+            this.binder = new RowBinder<>(headerMapping(), config, errorMessages);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of data records, excluding a header record.
+     */
+    public long getRecordCount() {
+        return Math.max(0, totalRecords - firstRecord);
+    }
+
+    /**
+     * Reads a single record by number, seeking straight to it.
+     *
+     * @param index the zero-based index of the data record, excluding a header record.
+     * @return the bound object, or {@code null} if the record is blank and empty lines are skipped, or if it
+     * could not be bound and the strategy does not halt.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     * @throws CSVParseException         if the file cannot be read, or the record cannot be bound and the strategy
+     *                                   is HALT_ON_ERROR.
+     */
+    public T read(long index) {
+        Objects.checkIndex(index, getRecordCount());
+        List<T> results = new ArrayList<>(1);
+        scan(firstRecord + index, firstRecord + index + 1, results::add);
+        errorMessages.clear();
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    /**
+     * Reads a range of records, seeking straight to the first one. Records that are skipped are left out.
+     *
+     * @param from  the zero-based index of the first data record.
+     * @param count the maximum number of records to read; fewer are read at the end of the file.
+     * @return the bound objects, in file order.
+     * @throws IndexOutOfBoundsException if {@code from} is out of range or {@code count} is negative.
+     * @throws CSVParseException         if the file cannot be read, or a record cannot be bound and the strategy
+     *                                   is HALT_ON_ERROR.
+     */
+    public List<T> read(long from, int count) {
+        Objects.checkIndex(from, getRecordCount());
+        if (count < 0) {
+            throw new IndexOutOfBoundsException("Count cannot be negative: " + count);
+        }
+        List<T> results = new ArrayList<>(count);
+        long start = firstRecord + from;
+        scan(start, Math.min(totalRecords, start + count), results::add);
+        logCollectedErrors();
+        return results;
+    }
+
+    /**
+     * Reads every data record.
+     *
+     * @return the bound objects, in file order.
+     * @throws CSVParseException if the file cannot be read, or a record cannot be bound and the strategy is
+     *                           HALT_ON_ERROR.
+     */
+    public List<T> readAll() {
+        List<T> results = new ArrayList<>();
+        scan(firstRecord, totalRecords, results::add);
+        logCollectedErrors();
+        return results;
+    }
+
+    /**
+     * Reads the raw values of a single record, cut at the layout's offsets and with padding trimmed if configured.
+     *
+     * @param index the zero-based index of the data record, excluding a header record.
+     * @return the values, one per column; shorter than the columns if the record is truncated.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     * @throws CSVParseException         if the file cannot be read.
+     */
+    public String[] readValues(long index) {
+        Objects.checkIndex(index, getRecordCount());
+        byte[] record = new byte[recordLength];
+        int length = readFully(ByteBuffer.wrap(record), (firstRecord + index) * stride);
+        return cut(record, 0, Math.min(length, recordLength));
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to close fixed-width file", e);
+        }
+    }
+
+    /**
+     * Maps column names to fields like CSV headers, except that a name that is exactly a field name binds to that
+     * field directly, as it does for columns declared with {@link FixedWidthColumn}.
+     */
+    private CSVParser.HeaderMapping headerMapping() {
+        String[] names = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].name();
+        }
+        CSVParser.HeaderMapping mapped = CSVParser.parseHeaderMapping(names, config);
+        String[] headers = mapped.headers().clone();
+        for (int i = 0; i < headers.length; i++) {
+            if (!mapped.fieldMap().containsKey(headers[i]) && mapped.fieldMap().containsKey(names[i])) {
+                headers[i] = names[i];
+            }
+        }
+        return new CSVParser.HeaderMapping(headers, mapped.fieldMap());
+    }
+
+    private byte[] detectLineBreak() throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(2);
+        channel.read(probe, recordLength);
+        probe.flip();
+        if (probe.remaining() >= 1 && probe.get(0) == '\r') {
+            return probe.remaining() == 2 && probe.get(1) == '\n' ? new byte[]{'\r', '\n'} : new byte[]{'\r'};
+        }
+        if (probe.remaining() >= 1 && probe.get(0) == '\n') {
+            return new byte[]{'\n'};
+        }
+        return new byte[0];
+    }
+
+    /**
+     * Reads records {@code [from, to)} in blocks and binds each one.
+     */
+    private void scan(long from, long to, Consumer<T> sink) {
+        int recordsPerBlock = (int) Math.max(1, Math.min(READ_BUFFER_SIZE / stride, to - from));
+        byte[] block = new byte[recordsPerBlock * stride];
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        for (long record = from; record < to; ) {
+            int records = (int) Math.min(recordsPerBlock, to - record);
+            buffer.clear().limit(records * stride);
+            int length = readFully(buffer, record * stride);
+            for (int i = 0; i < records && i * stride < length; i++, record++) {
+                int offset = i * stride;
+                T instance = bind(block, offset, Math.min(stride, length - offset), record + 1);
+                if (instance != null) {
+                    sink.accept(instance);
+                }
+            }
+            if (length < records * stride) {
+                break;
+            }
+        }
+    }
+
+    private T bind(byte[] block, int offset, int available, long lineNumber) {
+        int length = Math.min(available, recordLength);
+        if (config.isSkipEmptyLines() && isBlank(block, offset, offset + length)) {
+            return null;
+        }
+        if (length < recordLength) {
+            while (length > 0 && (block[offset + length - 1] == '\n' || block[offset + length - 1] == '\r')) {
+                length--;
+            }
+            CSVParseException ex = new CSVParseException("Record at line " + lineNumber + " is truncated. Expected: " +
+                    recordLength + " bytes, Found: " + length);
+            CSVParser.handleError(config.getErrorHandlingStrategy(), ex, errorMessages);
+            return null;
+        }
+        if (available == stride && !hasLineBreak(block, offset + recordLength)) {
+            CSVParseException ex = new CSVParseException("Record at line " + lineNumber +
+                    " does not end after " + recordLength + " bytes");
+            CSVParser.handleError(config.getErrorHandlingStrategy(), ex, errorMessages);
+            return null;
+        }
+        return binder.bind(cut(block, offset, length), Math.toIntExact(lineNumber));
+    }
+
+    private String[] cut(byte[] record, int offset, int length) {
+        List<String> values = new ArrayList<>(columns.length);
+        byte padding = layout.getPadding();
+        for (FixedWidthLayout.Column column : columns) {
+            if (column.end() > length) {
+                break;
+            }
+            int from = offset + column.start();
+            int to = offset + column.end();
+            if (layout.isTrimPadding()) {
+                while (from < to && record[from] == padding) {
+                    from++;
+                }
+                while (to > from && record[to - 1] == padding) {
+                    to--;
+                }
+            }
+            values.add(new String(record, from, to - from, layout.getCharset()));
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private boolean hasLineBreak(byte[] block, int offset) {
+        for (int i = 0; i < lineBreak.length; i++) {
+            if (block[offset + i] != lineBreak[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(byte[] block, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((block[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills a buffer with a positional read, stopping early only at the end of the file.
+     *
+     * @return the number of bytes read.
+     */
+    private int readFully(ByteBuffer buffer, long position) {
+        try {
+            int start = buffer.position();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position() - start);
+                if (read < 0) {
+                    break;
+                }
+            }
+            return buffer.position() - start;
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to read fixed-width record at byte " + position, e);
+        }
+    }
+
+    private void logCollectedErrors() {
+        if (config.getErrorHandlingStrategy() == CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS && !errorMessages.isEmpty()) {
+            errorMessages.forEach(log::error);
+        }
+        errorMessages.clear();
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close fixed-width file", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Spills the rows of a CSV file into temporary partition files by the hash of their key columns, so that
+ * rows with equal keys in different files land in partitions with the same index.
+ */
+final class HashPartitioner {
+    private static final Logger log = LoggerFactory.getLogger(HashPartitioner.class);
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private HashPartitioner() {
+    }
+
+    /**
+     * Builds the lookup key of a row from its key columns. Values are trimmed, and missing values are empty.
+     *
+     * @param values     the raw values of the row.
+     * @param keyColumns the indexes of the key columns.
+     * @return the key.
+     */
+    static String key(String[] values, int[] keyColumns) {
+        if (keyColumns.length == 1) {
+            return keyColumns[0] < values.length ? values[keyColumns[0]].trim() : "";
+        }
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (i > 0) {
+                key.append(KEY_SEPARATOR);
+            }
+            key.append(keyColumns[i] < values.length ? values[keyColumns[i]].trim() : "");
+        }
+        return key.toString();
+    }
+
+    /**
+     * Splits a CSV file into partition files by key hash. Each partition file repeats the header line.
+     *
+     * @param file           the CSV file to partition.
+     * @param delimiter      the delimiter separating values.
+     * @param keyColumns     the indexes of the key columns.
+     * @param partitionCount the number of partitions.
+     * @param tempDirectory  the directory for partition files, or {@code null} for the system default.
+     * @param tempFiles      collects every file created, for the caller to delete.
+     * @return the partition files, indexed by partition.
+     * @throws IOException if a partition file cannot be written.
+     */
+    static Path[] partition(File file, String delimiter, int[] keyColumns, int partitionCount, Path tempDirectory,
+                            Collection<Path> tempFiles) throws IOException {
+        Path[] paths = new Path[partitionCount];
+        BufferedWriter[] writers = new BufferedWriter[partitionCount];
+        try (CSVRowReader reader = new CSVRowReader(file, delimiter)) {
+            for (int p = 0; p < partitionCount; p++) {
+                paths[p] = tempDirectory != null
+                        ? Files.createTempFile(tempDirectory, "csv-partition-", ".part")
+                        : Files.createTempFile("csv-partition-", ".part");
+                tempFiles.add(paths[p]);
+                writers[p] = Files.newBufferedWriter(paths[p]);
+                writers[p].write(reader.getHeaderLine());
+                writers[p].newLine();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int p = partitionOf(key(reader.split(line), keyColumns), partitionCount);
+                writers[p].write(line);
+                writers[p].newLine();
+            }
+        } finally {
+            for (BufferedWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Deletes temporary files, logging rather than failing on errors.
+     *
+     * @param tempFiles the files to delete.
+     */
+    static void deleteAll(Collection<Path> tempFiles) {
+        for (Path tempFile : tempFiles) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("Failed to delete partition file: {}", tempFile, e);
+            }
+        }
+    }
+
+    private static int partitionOf(String key, int partitionCount) {
+        // Re-mix the hash so that partitioning is independent of in-memory hash table slot selection
+        int hash = key.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), partitionCount);
+    }
+}
@@ -0,0 +1,385 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking, push-style CSV parser for input that arrives in fragments, e.g. from sockets or message queues.
+ * UTF-8 bytes are pushed with {@link #feed(ByteBuffer)} as they arrive and each completed row is delivered to a
+ * listener; {@link #endOfInput()} flushes the final row. Tokenizer state is kept across calls, so fragments may end
+ * anywhere, including inside a field, a quoted field or a multi-byte character.
+ * <p>
+ * Fields may be quoted with {@code "}, in which case they can contain delimiters and line breaks, and {@code ""}
+ * stands for a literal quote. Rows end at {@code \n}, {@code \r\n} or {@code \r}. Field bytes are decoded straight
+ * from the fed buffer; only a field that spans fragments is copied, into an internal buffer.
+ * <p>
+ * Instances are not thread-safe and are meant to be driven by a single thread, such as an NIO event loop.
+ */
+public class IncrementalCSVParser {
+    private static final Logger log = LoggerFactory.getLogger(IncrementalCSVParser.class);
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    /**
+     * Receives the rows completed by an {@link IncrementalCSVParser}.
+     */
+    @FunctionalInterface
+    public interface RowListener {
+        /**
+         * Called for each completed row, including the header row.
+         *
+         * @param values     the raw values of the row.
+         * @param lineNumber the line on which the row starts, where the first line is line 1.
+         */
+        void onRow(String[] values, int lineNumber);
+    }
+
+    private enum State {
+        FIELD_START,
+        UNQUOTED,
+        QUOTED,
+        QUOTE_IN_QUOTED
+    }
+
+    private final byte delimiter;
+    private final boolean skipEmptyLines;
+    private final RowListener listener;
+    private final Runnable onEnd;
+
+    private State state = State.FIELD_START;
+    private final List<String> fields = new ArrayList<>();
+    private byte[] partial = new byte[256];
+    private int partialLength;
+    private int segmentStart;
+    private int quotePosition;
+    private boolean skipLineFeed;
+    private boolean ended;
+    private int lineNumber = 1;
+    private int rowStartLine = 1;
+
+    /**
+     * Creates a parser that delivers raw rows, with one value per field including trailing empty ones.
+     * Lines that are empty or contain only whitespace are skipped.
+     *
+     * @param delimiter the delimiter separating values; must be a single ASCII character.
+     * @param listener  the listener receiving each completed row.
+     * @throws IllegalArgumentException if the delimiter is not a single ASCII character or is a quote or line break.
+     */
+    public IncrementalCSVParser(String delimiter, RowListener listener) {
+        this(delimiter, true, listener, () -> { });
+    }
+
+    private IncrementalCSVParser(String delimiter, boolean skipEmptyLines, RowListener listener, Runnable onEnd) {
+        if (delimiter == null || delimiter.length() != 1 || delimiter.charAt(0) > 0x7F) {
+            throw new IllegalArgumentException("Incremental parsing requires a single ASCII delimiter character");
+        }
+        char delimiterChar = delimiter.charAt(0);
+        if (delimiterChar == QUOTE || delimiterChar == CR || delimiterChar == LF) {
+            throw new IllegalArgumentException("Delimiter cannot be a quote or line break");
+        }
+        this.delimiter = (byte) delimiterChar;
+        this.skipEmptyLines = skipEmptyLines;
+        this.listener = Objects.requireNonNull(listener, "Row listener cannot be null");
+        this.onEnd = onEnd;
+    }
+
+    /**
+     * Creates a parser that maps rows to objects using a parser configuration. The first row is the header; later
+     * rows are bound as {@link CSVParser#parse} binds them, and errors are handled with the configured
+     * {@link CSVParserConfig.ErrorHandlingStrategy}. Rows are split as {@link CSVParser#parse} splits lines, so
+     * blank lines are skipped if configured and trailing empty values are dropped; the one difference is that
+     * quoted fields are unquoted here and may contain delimiters and line breaks, which {@link CSVParser#parse}
+     * does not support.
+     *
+     * @param config   the configuration specifying how to map rows; its delimiter must be a single ASCII character.
+     * @param consumer the consumer receiving each parsed object.
+     * @param <T>      the type of objects to map each row to.
+     * @return the parser.
+     * @throws IllegalArgumentException if the configured delimiter is not a single ASCII character, or the
+     *                                  configuration has a fixed-width layout.
+     */
+    public static <T> IncrementalCSVParser forConfig(CSVParserConfig<T> config, Consumer<T> consumer) {
+        Objects.requireNonNull(config, "Config cannot be null");
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        CSVParser.requireDelimited(config, "incremental parsing");
+        BindingListener<T> listener = new BindingListener<>(config, consumer);
+        return new IncrementalCSVParser(config.getDelimiter(), config.isSkipEmptyLines(), listener, listener::finish);
+    }
+
+    /**
+     * Consumes all remaining bytes of a buffer, delivering any rows they complete. On return the buffer's position
+     * equals its limit. The buffer is not retained, so it may be reused once this method returns.
+     *
+     * @param buffer the next fragment of input.
+     * @throws IllegalStateException if {@link #endOfInput()} has already been called.
+     * @throws CSVParseException     if a row cannot be bound and the strategy is HALT_ON_ERROR.
+     */
+    public void feed(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "Buffer cannot be null");
+        if (ended) {
+            throw new IllegalStateException("Input has already ended");
+        }
+
+        int limit = buffer.limit();
+        int position = buffer.position();
+        segmentStart = position;
+        if (state == State.QUOTE_IN_QUOTED) {
+            // The closing quote candidate was the last byte of the previous fragment
+            quotePosition = -1;
+        }
+
+        for (; position < limit; position++) {
+            byte b = buffer.get(position);
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == LF) {
+                    segmentStart = position + 1;
+                    continue;
+                }
+            }
+            switch (state) {
+                case FIELD_START:
+                    if (b == QUOTE) {
+                        state = State.QUOTED;
+                        segmentStart = position + 1;
+                    } else if (b == delimiter) {
+                        fields.add("");
+                        segmentStart = position + 1;
+                    } else if (b == CR || b == LF) {
+                        if (!fields.isEmpty()) {
+                            fields.add("");
+                        }
+                        endRow(b);
+                        segmentStart = position + 1;
+                    } else {
+                        state = State.UNQUOTED;
+                        segmentStart = position;
+                    }
+                    break;
+                case UNQUOTED:
+                    if (b == delimiter) {
+                        endField(buffer, position);
+                        segmentStart = position + 1;
+                    } else if (b == CR || b == LF) {
+                        endField(buffer, position);
+                        endRow(b);
+                        segmentStart = position + 1;
+                    }
+                    break;
+                case QUOTED:
+                    if (b == QUOTE) {
+                        state = State.QUOTE_IN_QUOTED;
+                        quotePosition = position;
+                    } else if (b == LF) {
+                        lineNumber++;
+                    }
+                    break;
+                case QUOTE_IN_QUOTED:
+                    if (b == QUOTE) {
+                        // Escaped quote: keep the first quote and drop the second
+                        if (quotePosition >= 0) {
+                            appendPartial(buffer, segmentStart, quotePosition + 1);
+                        } else {
+                            appendPartial(QUOTE);
+                        }
+                        segmentStart = position + 1;
+                        state = State.QUOTED;
+                    } else if (b == delimiter) {
+                        endField(buffer, quotePosition >= 0 ? quotePosition : segmentStart);
+                        segmentStart = position + 1;
+                    } else if (b == CR || b == LF) {
+                        endField(buffer, quotePosition >= 0 ? quotePosition : segmentStart);
+                        endRow(b);
+                        segmentStart = position + 1;
+                    } else {
+                        // Lenient: text after a closing quote is appended to the field
+                        if (quotePosition >= 0) {
+                            appendPartial(buffer, segmentStart, quotePosition);
+                        }
+                        segmentStart = position;
+                        state = State.UNQUOTED;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown state: " + state);
+            }
+        }
+
+        // Carry the unfinished field over to the next fragment
+        if (state == State.UNQUOTED || state == State.QUOTED) {
+            appendPartial(buffer, segmentStart, limit);
+        } else if (state == State.QUOTE_IN_QUOTED && quotePosition >= 0) {
+            appendPartial(buffer, segmentStart, quotePosition);
+        }
+        buffer.position(limit);
+    }
+
+    /**
+     * Signals that no more input will arrive, delivering the final row if the input did not end with a line break.
+     *
+     * @throws CSVParseException if the input ends inside a quoted field, or, for a parser created with
+     *                           {@link #forConfig}, if the input had no header row.
+     */
+    public void endOfInput() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        if (state == State.QUOTED) {
+            throw new CSVParseException("Unterminated quoted field starting at line " + rowStartLine);
+        }
+        if (state == State.UNQUOTED || state == State.QUOTE_IN_QUOTED) {
+            fields.add(decodePartial());
+            state = State.FIELD_START;
+        } else if (!fields.isEmpty()) {
+            fields.add("");
+        }
+        if (!fields.isEmpty()) {
+            finishRow();
+        }
+        onEnd.run();
+    }
+
+    private void endField(ByteBuffer buffer, int end) {
+        String value;
+        if (partialLength == 0) {
+            value = decode(buffer, segmentStart, end);
+        } else {
+            appendPartial(buffer, segmentStart, end);
+            value = decodePartial();
+        }
+        fields.add(value);
+        state = State.FIELD_START;
+    }
+
+    private void endRow(byte lineBreak) {
+        if (lineBreak == CR) {
+            skipLineFeed = true;
+        }
+        if (fields.isEmpty() && !skipEmptyLines) {
+            // An empty line is a row with one empty value
+            fields.add("");
+        }
+        finishRow();
+        lineNumber++;
+        rowStartLine = lineNumber;
+    }
+
+    /**
+     * Delivers the completed row, unless it is a blank line and those are skipped. As with
+     * {@link CSVParser#parse}, a line is blank if it has no delimiter and only whitespace.
+     */
+    private void finishRow() {
+        if (skipEmptyLines && (fields.isEmpty() || fields.size() == 1 && fields.get(0).trim().isEmpty())) {
+            fields.clear();
+        } else {
+            deliverRow();
+        }
+    }
+
+    private void deliverRow() {
+        String[] values = fields.toArray(new String[0]);
+        fields.clear();
+        listener.onRow(values, rowStartLine);
+    }
+
+    private String decodePartial() {
+        String value = new String(partial, 0, partialLength, StandardCharsets.UTF_8);
+        partialLength = 0;
+        return value;
+    }
+
+    private void appendPartial(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (length <= 0) {
+            return;
+        }
+        ensurePartialCapacity(length);
+        buffer.get(start, partial, partialLength, length);
+        partialLength += length;
+    }
+
+    private void appendPartial(byte b) {
+        ensurePartialCapacity(1);
+        partial[partialLength++] = b;
+    }
+
+    private void ensurePartialCapacity(int additional) {
+        if (partialLength + additional > partial.length) {
+            partial = Arrays.copyOf(partial, Math.max(partial.length * 2, partialLength + additional));
+        }
+    }
+
+    private String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (length <= 0) {
+            return "";
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        appendPartial(buffer, start, end);
+        return decodePartial();
+    }
+
+    /**
+     * Maps the header row to the target class and binds every later row.
+     */
+    private static final class BindingListener<T> implements RowListener {
+        private final CSVParserConfig<T> config;
+        private final Consumer<T> consumer;
+        private final List<String> errorMessages = new ArrayList<>();
+        private RowBinder<T> binder;
+
+        BindingListener(CSVParserConfig<T> config, Consumer<T> consumer) {
+            this.config = config;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onRow(String[] values, int lineNumber) {
+            values = dropTrailingEmptyValues(values);
+            if (binder == null) {
+                binder = new RowBinder<>(CSVParser.parseHeaderMapping(values, config), config, errorMessages);
+                return;
+            }
+            T instance = binder.bind(values, lineNumber);
+            if (instance != null) {
+                consumer.accept(instance);
+            }
+        }
+
+        /**
+         * Drops trailing empty values as {@link String#split(String)}, and so {@link CSVParser#parse}, does.
+         * A row with a single value had no delimiter and is kept as it is.
+         */
+        private static String[] dropTrailingEmptyValues(String[] values) {
+            if (values.length == 1) {
+                return values;
+            }
+            int length = values.length;
+            while (length > 0 && values[length - 1].isEmpty()) {
+                length--;
+            }
+            return length == values.length ? values : Arrays.copyOf(values, length);
+        }
+
+        void finish() {
+            if (binder == null) {
+                throw new CSVParseException("CSV input is empty");
+            }
+            if (config.getErrorHandlingStrategy() == CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS && !errorMessages.isEmpty()) {
+                errorMessages.forEach(log::error);
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single column of an {@link OffHeapTable}, stored in direct (off-heap) memory.
+ * Fixed-width primitive values are stored in a packed array, while strings and other
+ * object types are stored as an offsets array into a UTF-8 data region.
+ */
+public final class OffHeapColumn {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Physical storage types supported by an off-heap column.
+     */
+    public enum Type {
+        INT(Integer.BYTES),
+        LONG(Long.BYTES),
+        DOUBLE(Double.BYTES),
+        FLOAT(Float.BYTES),
+        BOOLEAN(1),
+        STRING(Integer.BYTES);
+
+        private final int width;
+
+        Type(int width) {
+            this.width = width;
+        }
+
+        /**
+         * @return the number of bytes used per value (per offset for {@link #STRING}).
+         */
+        public int width() {
+            return width;
+        }
+    }
+
+    private final String name;
+    private final Class<?> javaType;
+    private final Type type;
+    private ByteBuffer values;
+    private ByteBuffer validity;
+    private ByteBuffer data;
+    private int size;
+    private int capacity;
+
+    OffHeapColumn(String name, Class<?> javaType) {
+        this.name = name;
+        this.javaType = javaType;
+        this.type = typeOf(javaType);
+        this.capacity = INITIAL_CAPACITY;
+        this.values = allocate((long) (type == Type.STRING ? capacity + 1 : capacity) * type.width());
+        this.validity = allocate(bitmapBytes(capacity));
+        if (type == Type.STRING) {
+            this.data = allocate(16L * capacity);
+            this.values.putInt(0, 0);
+        }
+    }
+
+    /**
+     * Determines the physical storage type for a target field type.
+     * Types without a fixed-width representation are stored as their raw text and
+     * converted with {@link TypeConverter} on read.
+     *
+     * @param javaType the field type.
+     * @return the storage type.
+     */
+    static Type typeOf(Class<?> javaType) {
+        if (javaType == int.class || javaType == Integer.class) return Type.INT;
+        if (javaType == long.class || javaType == Long.class) return Type.LONG;
+        if (javaType == double.class || javaType == Double.class) return Type.DOUBLE;
+        if (javaType == float.class || javaType == Float.class) return Type.FLOAT;
+        if (javaType == boolean.class || javaType == Boolean.class) return Type.BOOLEAN;
+        return Type.STRING;
+    }
+
+    /**
+     * @return the column name (the target field name).
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the Java type of the target field this column was built from.
+     */
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    /**
+     * @return the physical storage type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the number of values stored in this column.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row the row index.
+     * @return {@code true} if the value at {@code row} is null.
+     */
+    public boolean isNull(int row) {
+        checkRow(row);
+        return (validity.get(row >>> 3) & (1 << (row & 7))) == 0;
+    }
+
+    /**
+     * @param row the row index.
+     * @return the {@code int} value at {@code row}.
+     * @throws IllegalStateException if this is not an {@link Type#INT} column.
+     */
+    public int getInt(int row) {
+        checkAccess(row, Type.INT);
+        return values.getInt(row * Integer.BYTES);
+    }
+
+    /**
+     * @param row the row index.
+     * @return the {@code long} value at {@code row}.
+     * @throws IllegalStateException if this is not a {@link Type#LONG} column.
+     */
+    public long getLong(int row) {
+        checkAccess(row, Type.LONG);
+        return values.getLong(row * Long.BYTES);
+    }
+
+    /**
+     * @param row the row index.
+     * @return the {@code double} value at {@code row}.
+     * @throws IllegalStateException if this is not a {@link Type#DOUBLE} column.
+     */
+    public double getDouble(int row) {
+        checkAccess(row, Type.DOUBLE);
+        return values.getDouble(row * Double.BYTES);
+    }
+
+    /**
+     * @param row the row index.
+     * @return the {@code float} value at {@code row}.
+     * @throws IllegalStateException if this is not a {@link Type#FLOAT} column.
+     */
+    public float getFloat(int row) {
+        checkAccess(row, Type.FLOAT);
+        return values.getFloat(row * Float.BYTES);
+    }
+
+    /**
+     * @param row the row index.
+     * @return the {@code boolean} value at {@code row}.
+     * @throws IllegalStateException if this is not a {@link Type#BOOLEAN} column.
+     */
+    public boolean getBoolean(int row) {
+        checkAccess(row, Type.BOOLEAN);
+        return values.get(row) != 0;
+    }
+
+    /**
+     * Decodes the stored text of a {@link Type#STRING} column.
+     *
+     * @param row the row index.
+     * @return the string at {@code row}, or {@code null} if the value is null.
+     * @throws IllegalStateException if this is not a {@link Type#STRING} column.
+     */
+    public String getString(int row) {
+        checkAccess(row, Type.STRING);
+        if (isNull(row)) {
+            return null;
+        }
+        int start = values.getInt(row * Integer.BYTES);
+        int end = values.getInt((row + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the value at {@code row} boxed as the column's Java type.
+     * Values of types stored as text are converted with {@link TypeConverter}.
+     * Empty fields of primitive columns read as the primitive default, as they do when parsing to objects.
+     *
+     * @param row the row index.
+     * @return the value, or {@code null} if the value is null.
+     */
+    public Object get(int row) {
+        checkRow(row);
+        if (isNull(row)) {
+            return null;
+        }
+        switch (type) {
+            case INT:
+                return getInt(row);
+            case LONG:
+                return getLong(row);
+            case DOUBLE:
+                return getDouble(row);
+            case FLOAT:
+                return getFloat(row);
+            case BOOLEAN:
+                return getBoolean(row);
+            default:
+                return TypeConverter.convert(getString(row), javaType);
+        }
+    }
+
+    /**
+     * @return the number of off-heap bytes reserved by this column.
+     */
+    public long reservedBytes() {
+        if (values == null) {
+            return 0;
+        }
+        return values.capacity() + validity.capacity() + (data != null ? data.capacity() : 0);
+    }
+
+    /**
+     * Parses a raw field into the staging slot of a row so that a row can be validated in full
+     * before any column is modified. Primitive values are encoded as raw {@code long} bits.
+     *
+     * @param raw the raw field text.
+     * @return the encoded value; ignored for {@link Type#STRING} columns.
+     * @throws CSVParseException if the value cannot be converted to the column type.
+     */
+    long encode(String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return 0L;
+        }
+        try {
+            switch (type) {
+                case INT:
+                    return Integer.parseInt(raw);
+                case LONG:
+                    return Long.parseLong(raw);
+                case DOUBLE:
+                    return Double.doubleToRawLongBits(Double.parseDouble(raw));
+                case FLOAT:
+                    return Float.floatToRawIntBits(Float.parseFloat(raw));
+                case BOOLEAN:
+                    return Boolean.parseBoolean(raw) ? 1L : 0L;
+                default:
+                    if (javaType != String.class) {
+                        TypeConverter.convert(raw, javaType);
+                    }
+                    return 0L;
+            }
+        } catch (CSVParseException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new CSVParseException("Failed to convert value '" + raw + "' to type " + javaType.getName(), e);
+        }
+    }
+
+    /**
+     * Appends a value previously produced by {@link #encode(String)}.
+     *
+     * @param raw     the raw field text, used for {@link Type#STRING} columns and null detection.
+     * @param encoded the encoded primitive value.
+     */
+    void append(String raw, long encoded) {
+        ensureCapacity(size + 1);
+        boolean isNull = raw == null || raw.isEmpty();
+        if (!isNull || javaType.isPrimitive()) {
+            validity.put(size >>> 3, (byte) (validity.get(size >>> 3) | (1 << (size & 7))));
+        }
+        switch (type) {
+            case INT:
+                values.putInt(size * Integer.BYTES, (int) encoded);
+                break;
+            case LONG:
+                values.putLong(size * Long.BYTES, encoded);
+                break;
+            case DOUBLE:
+                values.putLong(size * Double.BYTES, encoded);
+                break;
+            case FLOAT:
+                values.putInt(size * Float.BYTES, (int) encoded);
+                break;
+            case BOOLEAN:
+                values.put(size, (byte) encoded);
+                break;
+            default:
+                appendString(isNull ? "" : raw);
+                break;
+        }
+        size++;
+    }
+
+    void release() {
+        values = null;
+        validity = null;
+        data = null;
+    }
+
+    private void appendString(String raw) {
+        int start = values.getInt(size * Integer.BYTES);
+        byte[] bytes = raw.getBytes(StandardCharsets.UTF_8);
+        if ((long) start + bytes.length > Integer.MAX_VALUE) {
+            throw new CSVParseException("Column '" + name + "' exceeds the maximum off-heap string data size");
+        }
+        if (start + bytes.length > data.capacity()) {
+            data = grow(data, Math.max((long) data.capacity() * 2, (long) start + bytes.length), start);
+        }
+        data.put(start, bytes);
+        values.putInt((size + 1) * Integer.BYTES, start + bytes.length);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = (int) Math.min(Math.max((long) capacity * 2, required), Integer.MAX_VALUE - 8);
+        int usedValues = (type == Type.STRING ? size + 1 : size) * type.width();
+        values = grow(values, (long) (type == Type.STRING ? newCapacity + 1 : newCapacity) * type.width(), usedValues);
+        validity = grow(validity, bitmapBytes(newCapacity), bitmapBytes(size));
+        capacity = newCapacity;
+    }
+
+    private void checkRow(int row) {
+        if (values == null) {
+            throw new IllegalStateException("Off-heap column '" + name + "' has been closed");
+        }
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for column '" + name + "' of size " + size);
+        }
+    }
+
+    private void checkAccess(int row, Type expected) {
+        checkRow(row);
+        if (type != expected) {
+            throw new IllegalStateException("Column '" + name + "' is of type " + type + ", not " + expected);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, long newCapacity, int used) {
+        if (newCapacity > Integer.MAX_VALUE) {
+            throw new CSVParseException("Off-heap column exceeds the maximum buffer size");
+        }
+        ByteBuffer grown = allocate(newCapacity);
+        grown.put(0, buffer, 0, used);
+        return grown;
+    }
+
+    private static int bitmapBytes(int rows) {
+        return (rows + 7) >>> 3;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, off-heap representation of a parsed CSV file.
+ * Each mapped field of the target class becomes an {@link OffHeapColumn} whose values live in
+ * direct memory, so large reference tables do not contribute to the Java heap's live set.
+ * <p>
+ * A table owns its memory: once {@link #close()} is called, all columns become inaccessible and
+ * their buffers are released to be reclaimed.
+ */
+public final class OffHeapTable implements AutoCloseable {
+    private final Map<String, OffHeapColumn> columns;
+    private int rowCount;
+    private boolean closed;
+
+    OffHeapTable(List<OffHeapColumn> columns) {
+        Map<String, OffHeapColumn> byName = new LinkedHashMap<>();
+        for (OffHeapColumn column : columns) {
+            byName.put(column.getName(), column);
+        }
+        this.columns = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * @return the number of rows stored in the table.
+     */
+    public int getRowCount() {
+        checkOpen();
+        return rowCount;
+    }
+
+    /**
+     * @return the names of the columns, in CSV column order.
+     */
+    public List<String> getColumnNames() {
+        checkOpen();
+        return new ArrayList<>(columns.keySet());
+    }
+
+    /**
+     * Returns the column mapped to the given target field.
+     *
+     * @param name the target field name.
+     * @return the column.
+     * @throws IllegalArgumentException if no such column exists.
+     */
+    public OffHeapColumn getColumn(String name) {
+        checkOpen();
+        OffHeapColumn column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+        return column;
+    }
+
+    /**
+     * @return the total number of off-heap bytes reserved by all columns.
+     */
+    public long getReservedBytes() {
+        long total = 0;
+        for (OffHeapColumn column : columns.values()) {
+            total += column.reservedBytes();
+        }
+        return total;
+    }
+
+    /**
+     * @return {@code true} if the table has been closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases the off-heap buffers of all columns. Further access to the table or its columns
+     * fails with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        columns.values().forEach(OffHeapColumn::release);
+    }
+
+    Iterable<OffHeapColumn> columns() {
+        return columns.values();
+    }
+
+    void rowAppended() {
+        rowCount++;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap table has been closed");
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Parses a CSV file into objects with reading, tokenizing and binding running concurrently, so that disk reads
+ * overlap with type conversion.
+ * <p>
+ * A reader thread fills large buffers from the file, a tokenizer thread splits them into batches of rows with the
+ * byte offsets of every field, and one or more binder threads convert those fields into objects. The stages are
+ * linked by bounded lock-free single-producer single-consumer ring buffers. Batches are dealt to the binders
+ * round-robin and collected in the same order on the calling thread, so results are delivered in file order.
+ * <p>
+ * Rows are bound exactly as {@link CSVParser#parse} binds them. The file is decoded as UTF-8.
+ */
+public class PipelinedCSVParser {
+    private static final Logger log = LoggerFactory.getLogger(PipelinedCSVParser.class);
+    private static final long PARK_NANOS = 50_000;
+
+    private final int readBufferSize;
+    private final int readAhead;
+    private final int batchSize;
+    private final int binderThreads;
+    private final int queueCapacity;
+
+    private PipelinedCSVParser(Builder builder) {
+        this.readBufferSize = builder.readBufferSize;
+        this.readAhead = builder.readAhead;
+        this.batchSize = builder.batchSize;
+        this.binderThreads = builder.binderThreads;
+        this.queueCapacity = builder.queueCapacity;
+    }
+
+    /**
+     * Parses a CSV file into a list of objects of the specified type.
+     *
+     * @param file   the CSV file to parse.
+     * @param config the configuration specifying how to parse the CSV file.
+     * @param <T>    the type of objects to map each row to.
+     * @return a list of parsed objects, in file order.
+     * @throws CSVParseException if there is an error during parsing.
+     */
+    public <T> List<T> parse(File file, CSVParserConfig<T> config) {
+        List<T> results = new ArrayList<>();
+        parse(file, config, results::add);
+        return results;
+    }
+
+    /**
+     * Parses a CSV file and passes each object to a consumer, in file order, on the calling thread.
+     *
+     * @param file     the CSV file to parse.
+     * @param config   the configuration specifying how to parse the CSV file.
+     * @param consumer the consumer receiving each parsed object.
+     * @param <T>      the type of objects to map each row to.
+     * @throws CSVParseException        if there is an error during parsing.
+     * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+     */
+    public <T> void parse(File file, CSVParserConfig<T> config, Consumer<T> consumer) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(config, "Config cannot be null");
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        CSVParser.requireDelimited(config, "pipelined parsing");
+        byte[] delimiter = config.getDelimiter().getBytes(StandardCharsets.UTF_8);
+
+        Pipeline pipeline = new Pipeline();
+        SpscRingBuffer<Chunk> freeChunks = new SpscRingBuffer<>(readAhead);
+        SpscRingBuffer<Chunk> filledChunks = new SpscRingBuffer<>(readAhead + 1);
+        for (int i = 0; i < readAhead; i++) {
+            freeChunks.offer(new Chunk(new byte[readBufferSize]));
+        }
+        List<SpscRingBuffer<RowBatch>> binderInputs = new ArrayList<>();
+        List<SpscRingBuffer<RowBatch>> binderOutputs = new ArrayList<>();
+        for (int i = 0; i < binderThreads; i++) {
+            binderInputs.add(new SpscRingBuffer<>(queueCapacity));
+            binderOutputs.add(new SpscRingBuffer<>(queueCapacity));
+        }
+
+        pipeline.start("csv-pipeline-reader", () -> read(pipeline, file, freeChunks, filledChunks));
+        pipeline.start("csv-pipeline-tokenizer", () ->
+                new Tokenizer(pipeline, config, delimiter, filledChunks, freeChunks, binderInputs).run());
+        for (int i = 0; i < binderThreads; i++) {
+            SpscRingBuffer<RowBatch> input = binderInputs.get(i);
+            SpscRingBuffer<RowBatch> output = binderOutputs.get(i);
+            pipeline.start("csv-pipeline-binder-" + i, () -> bind(pipeline, config, input, output));
+        }
+
+        List<String> errorMessages = new ArrayList<>();
+        try {
+            for (int next = 0; ; next = (next + 1) % binderThreads) {
+                RowBatch batch = pipeline.take(binderOutputs.get(next));
+                if (batch == RowBatch.END) {
+                    // Batches are dealt round-robin, so the first end marker in turn means every binder is done
+                    break;
+                }
+                for (int i = 0; i < batch.resultCount; i++) {
+                    @SuppressWarnings("unchecked")
+                    T instance = (T) batch.results[i];
+                    consumer.accept(instance);
+                }
+                errorMessages.addAll(batch.errorMessages);
+                if (batch.failure != null) {
+                    throw batch.failure;
+                }
+            }
+        } catch (PipelineCancelledException e) {
+            throw pipeline.failure(file);
+        } finally {
+            pipeline.shutdown();
+        }
+
+        if (config.getErrorHandlingStrategy() == CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS && !errorMessages.isEmpty()) {
+            errorMessages.forEach(log::error);
+        }
+    }
+
+    /**
+     * Reader stage: fills free chunks from the file and hands them to the tokenizer.
+     */
+    private static void read(Pipeline pipeline, File file, SpscRingBuffer<Chunk> freeChunks,
+                             SpscRingBuffer<Chunk> filledChunks) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (true) {
+                Chunk chunk = pipeline.take(freeChunks);
+                ByteBuffer buffer = ByteBuffer.wrap(chunk.bytes);
+                int read = 0;
+                while (buffer.hasRemaining() && (read = channel.read(buffer)) >= 0) {
+                    // Keep reading until the chunk is full so that the tokenizer sees large chunks
+                }
+                chunk.length = buffer.position();
+                if (chunk.length > 0) {
+                    pipeline.put(filledChunks, chunk);
+                }
+                if (read < 0) {
+                    pipeline.put(filledChunks, Chunk.END);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Binder stage: converts each batch's fields into objects. A row that halts parsing is recorded on its batch
+     * so that the calling thread raises it only after delivering every earlier row.
+     */
+    private static <T> void bind(Pipeline pipeline, CSVParserConfig<T> config, SpscRingBuffer<RowBatch> input,
+                                 SpscRingBuffer<RowBatch> output) {
+        List<String> errorMessages = new ArrayList<>();
+        RowBinder<T> binder = null;
+        while (true) {
+            RowBatch batch = pipeline.take(input);
+            if (batch == RowBatch.END) {
+                pipeline.put(output, batch);
+                return;
+            }
+            if (binder == null) {
+                binder = new RowBinder<>(batch.headerMapping, config, errorMessages);
+            }
+            batch.results = new Object[batch.rowCount];
+            for (int row = 0; row < batch.rowCount; row++) {
+                try {
+                    T instance = binder.bind(batch.values(row), batch.lineNumbers[row]);
+                    if (instance != null) {
+                        batch.results[batch.resultCount++] = instance;
+                    }
+                } catch (CSVParseException e) {
+                    batch.failure = e;
+                    break;
+                }
+            }
+            batch.errorMessages = List.copyOf(errorMessages);
+            errorMessages.clear();
+            batch.releaseInput();
+            pipeline.put(output, batch);
+        }
+    }
+
+    /**
+     * Tokenizer stage: splits chunks into lines and lines into fields, using the same line breaks as
+     * {@link java.io.BufferedReader#readLine()} and the same splitting rules as {@link CSVParser#parse}.
+     * Row bytes are copied into the current batch, so each chunk is returned to the reader as soon as it is scanned.
+     */
+    private final class Tokenizer {
+        private final Pipeline pipeline;
+        private final CSVParserConfig<?> config;
+        private final byte[] delimiter;
+        private final SpscRingBuffer<Chunk> filledChunks;
+        private final SpscRingBuffer<Chunk> freeChunks;
+        private final List<SpscRingBuffer<RowBatch>> binderInputs;
+
+        private CSVParser.HeaderMapping headerMapping;
+        private RowBatch batch = new RowBatch(null, 4096, batchSize);
+        private int nextBinder;
+        private int lineNumber;
+        private boolean skipLineFeed;
+
+        Tokenizer(Pipeline pipeline, CSVParserConfig<?> config, byte[] delimiter, SpscRingBuffer<Chunk> filledChunks,
+                  SpscRingBuffer<Chunk> freeChunks, List<SpscRingBuffer<RowBatch>> binderInputs) {
+            this.pipeline = pipeline;
+            this.config = config;
+            this.delimiter = delimiter;
+            this.filledChunks = filledChunks;
+            this.freeChunks = freeChunks;
+            this.binderInputs = binderInputs;
+        }
+
+        void run() {
+            while (true) {
+                Chunk chunk = pipeline.take(filledChunks);
+                if (chunk == Chunk.END) {
+                    break;
+                }
+                scan(chunk.bytes, chunk.length);
+                pipeline.put(freeChunks, chunk);
+            }
+
+            if (batch.dataLength > batch.rowStart) {
+                endLine();
+            }
+            if (headerMapping == null) {
+                throw new CSVParseException("CSV file is empty");
+            }
+            if (batch.rowCount > 0) {
+                dispatch();
+            }
+            for (SpscRingBuffer<RowBatch> binderInput : binderInputs) {
+                pipeline.put(binderInput, RowBatch.END);
+            }
+        }
+
+        private void scan(byte[] bytes, int length) {
+            int segmentStart = 0;
+            if (skipLineFeed && length > 0) {
+                // Second half of a CRLF pair split across chunks
+                skipLineFeed = false;
+                if (bytes[0] == '\n') {
+                    segmentStart = 1;
+                }
+            }
+            for (int i = segmentStart; i < length; i++) {
+                byte b = bytes[i];
+                if (b != '\n' && b != '\r') {
+                    continue;
+                }
+                batch.append(bytes, segmentStart, i);
+                endLine();
+                if (b == '\r') {
+                    if (i + 1 == length) {
+                        skipLineFeed = true;
+                    } else if (bytes[i + 1] == '\n') {
+                        i++;
+                    }
+                }
+                segmentStart = i + 1;
+            }
+            batch.append(bytes, segmentStart, length);
+        }
+
+        private void endLine() {
+            lineNumber++;
+            int start = batch.rowStart;
+            int end = batch.dataLength;
+
+            if (headerMapping == null) {
+                String headerLine = new String(batch.data, start, end - start, StandardCharsets.UTF_8);
+                headerMapping = CSVParser.parseHeaderMapping(headerLine, config);
+                batch = new RowBatch(headerMapping, batch.data.length, batchSize);
+                return;
+            }
+            if (config.isSkipEmptyLines() && isBlank(batch.data, start, end)) {
+                batch.discardRow();
+                return;
+            }
+
+            batch.addRow(lineNumber, delimiter);
+            if (batch.rowCount == batchSize) {
+                dispatch();
+            }
+        }
+
+        private void dispatch() {
+            int capacity = Math.max(batch.dataLength, 64);
+            pipeline.put(binderInputs.get(nextBinder), batch);
+            nextBinder = (nextBinder + 1) % binderInputs.size();
+            batch = new RowBatch(headerMapping, capacity, batchSize);
+        }
+
+        private boolean isBlank(byte[] data, int start, int end) {
+            // Matches String.trim(): UTF-8 continuation and lead bytes are all above the space character
+            for (int i = start; i < end; i++) {
+                if ((data[i] & 0xFF) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A buffer of raw file bytes passed from the reader to the tokenizer and back.
+     */
+    private static final class Chunk {
+        static final Chunk END = new Chunk(new byte[0]);
+
+        final byte[] bytes;
+        int length;
+
+        Chunk(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * A batch of tokenized rows: the rows' bytes, the start and end offset of every field, and, once bound,
+     * the resulting objects.
+     */
+    private static final class RowBatch {
+        static final RowBatch END = new RowBatch(null, 0, 0);
+
+        final CSVParser.HeaderMapping headerMapping;
+        byte[] data;
+        int dataLength;
+        // Offset of the first byte of the line being collected
+        int rowStart;
+        int rowCount;
+        final int[] lineNumbers;
+        // Fields of row r are rowFields[r] (inclusive) to rowFields[r + 1] (exclusive)
+        final int[] rowFields;
+        int[] fieldBounds;
+        int fieldCount;
+
+        Object[] results;
+        int resultCount;
+        List<String> errorMessages = List.of();
+        CSVParseException failure;
+
+        RowBatch(CSVParser.HeaderMapping headerMapping, int dataCapacity, int rowCapacity) {
+            this.headerMapping = headerMapping;
+            this.data = new byte[dataCapacity];
+            this.lineNumbers = new int[rowCapacity];
+            this.rowFields = new int[rowCapacity + 1];
+            this.fieldBounds = new int[Math.max(rowCapacity, 1) * 16];
+        }
+
+        void append(byte[] bytes, int from, int to) {
+            int length = to - from;
+            if (dataLength + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+            }
+            System.arraycopy(bytes, from, data, dataLength, length);
+            dataLength += length;
+        }
+
+        /**
+         * Drops the line being collected.
+         */
+        void discardRow() {
+            dataLength = rowStart;
+        }
+
+        /**
+         * Records the fields of the line between {@link #rowStart} and {@link #dataLength}, following
+         * {@link String#split(String)}: trailing empty fields are dropped unless the line has no delimiter at all.
+         */
+        void addRow(int lineNumber, byte[] delimiter) {
+            int firstField = fieldCount;
+            int fieldStart = rowStart;
+            int last = dataLength - delimiter.length;
+            for (int i = rowStart; i <= last; i++) {
+                if (matches(i, delimiter)) {
+                    addField(fieldStart, i);
+                    i += delimiter.length - 1;
+                    fieldStart = i + 1;
+                }
+            }
+            addField(fieldStart, dataLength);
+            if (fieldCount - firstField > 1) {
+                while (fieldCount > firstField && fieldBounds[fieldCount * 2 - 2] == fieldBounds[fieldCount * 2 - 1]) {
+                    fieldCount--;
+                }
+            }
+            lineNumbers[rowCount] = lineNumber;
+            rowFields[rowCount + 1] = fieldCount;
+            rowCount++;
+            rowStart = dataLength;
+        }
+
+        private boolean matches(int offset, byte[] delimiter) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (data[offset + j] != delimiter[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void addField(int start, int end) {
+            if (fieldCount * 2 + 2 > fieldBounds.length) {
+                fieldBounds = Arrays.copyOf(fieldBounds, fieldBounds.length * 2);
+            }
+            fieldBounds[fieldCount * 2] = start;
+            fieldBounds[fieldCount * 2 + 1] = end;
+            fieldCount++;
+        }
+
+        String[] values(int row) {
+            int from = rowFields[row];
+            String[] values = new String[rowFields[row + 1] - from];
+            for (int i = 0; i < values.length; i++) {
+                int start = fieldBounds[(from + i) * 2];
+                int end = fieldBounds[(from + i) * 2 + 1];
+                values[i] = new String(data, start, end - start, StandardCharsets.UTF_8);
+            }
+            return values;
+        }
+
+        void releaseInput() {
+            data = null;
+            fieldBounds = null;
+        }
+    }
+
+    /**
+     * Shared state of one parse: the stage threads, cancellation, and the first failure raised by a stage.
+     */
+    private static final class Pipeline {
+        private final List<Thread> threads = new ArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        void start(String name, Runnable stage) {
+            Thread thread = new Thread(() -> {
+                try {
+                    stage.run();
+                } catch (PipelineCancelledException e) {
+                    // Another stage failed or the caller stopped consuming
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                    cancelled = true;
+                }
+            }, name);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        <E> void put(SpscRingBuffer<E> queue, E element) {
+            int idle = 0;
+            while (!queue.offer(element)) {
+                idle = idle(idle);
+            }
+        }
+
+        <E> E take(SpscRingBuffer<E> queue) {
+            int idle = 0;
+            E element;
+            while ((element = queue.poll()) == null) {
+                idle = idle(idle);
+            }
+            return element;
+        }
+
+        /**
+         * Backs off from spinning to yielding to parking the longer a stage waits. An interrupt cancels the
+         * pipeline and is reported as a failure, leaving the thread's interrupt status set.
+         */
+        private int idle(int idle) {
+            if (cancelled) {
+                throw new PipelineCancelledException();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                cancelled = true;
+                throw new CSVParseException("Interrupted while parsing");
+            }
+            if (idle < 100) {
+                Thread.onSpinWait();
+            } else if (idle < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return idle + 1;
+        }
+
+        CSVParseException failure(File file) {
+            Throwable cause = failure.get();
+            if (cause instanceof CSVParseException parseException) {
+                return parseException;
+            }
+            log.error("Failed to parse file: {}", file.getPath(), cause);
+            return new CSVParseException("Failed to parse file: " + file.getPath(), cause);
+        }
+
+        void shutdown() {
+            cancelled = true;
+            for (Thread thread : threads) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Unwinds a stage that is waiting on a queue once the pipeline has been cancelled.
+     */
+    private static final class PipelineCancelledException extends RuntimeException {
+        PipelineCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Builder class for creating instances of {@link PipelinedCSVParser}.
+     */
+    public static class Builder {
+        private int readBufferSize = 1024 * 1024;
+        private int readAhead = 4;
+        private int batchSize = 1024;
+        private int binderThreads = 1;
+        private int queueCapacity = 16;
+
+        /**
+         * Sets the size of each buffer the reader thread fills from the file.
+         *
+         * @param bytes the buffer size in bytes.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code bytes} is not positive.
+         */
+        public Builder withReadBufferSize(int bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Read buffer size must be positive");
+            }
+            this.readBufferSize = bytes;
+            return this;
+        }
+
+        /**
+         * Sets how many buffers the reader thread may fill ahead of the tokenizer.
+         *
+         * @param buffers the number of read buffers.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code buffers} is not positive.
+         */
+        public Builder withReadAhead(int buffers) {
+            if (buffers <= 0) {
+                throw new IllegalArgumentException("Read-ahead must be positive");
+            }
+            this.readAhead = buffers;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows the tokenizer groups into one batch for a binder.
+         *
+         * @param rows the batch size in rows.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code rows} is not positive.
+         */
+        public Builder withBatchSize(int rows) {
+            if (rows <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = rows;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads converting fields into objects.
+         *
+         * @param threads the number of binder threads.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code threads} is not positive.
+         */
+        public Builder withBinderThreads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Binder threads must be positive");
+            }
+            this.binderThreads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the number of batches that may queue up in front of and behind each binder.
+         *
+         * @param batches the queue capacity in batches.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code batches} is not positive.
+         */
+        public Builder withQueueCapacity(int batches) {
+            if (batches <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be positive");
+            }
+            this.queueCapacity = batches;
+            return this;
+        }
+
+        /**
+         * Builds the {@link PipelinedCSVParser} instance.
+         *
+         * @return a new {@link PipelinedCSVParser} instance.
+         */
+        public PipelinedCSVParser build() {
+            return new PipelinedCSVParser(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Binds the raw values of a single CSV row to a new instance of the target class, routing conversion
+ * and validation failures through the configured {@link CSVParserConfig.ErrorHandlingStrategy}.
+ * Shared by every entry point that produces objects, so that rows are mapped identically regardless of how
+ * they were read.
+ *
+ * @param <T> the type of objects to map each row to.
+ */
+final class RowBinder<T> {
+    private final CSVParserConfig<T> config;
+    private final String[] headers;
+    private final Field[] fields;
+    private final List<String> errorMessages;
+    private final RowValidator validator;
+    private final Object[] converted;
+    private final String[] raw;
+
+    /**
+     * @param headerMapping the mapping between headers and fields.
+     * @param config        the configuration specifying how to bind values.
+     * @param errorMessages a list to collect error messages if the strategy is COLLECT_ERRORS.
+     * @throws CSVParseException if a validation rule names a field that no header is mapped to.
+     */
+    RowBinder(CSVParser.HeaderMapping headerMapping, CSVParserConfig<T> config, List<String> errorMessages) {
+        this.config = config;
+        this.headers = headerMapping.headers();
+        this.fields = new Field[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            fields[i] = headerMapping.fieldMap().get(headers[i]);
+        }
+        this.errorMessages = errorMessages;
+        this.validator = RowValidator.of(config, fields);
+        this.converted = new Object[headers.length];
+        this.raw = new String[headers.length];
+    }
+
+    /**
+     * Binds a row's values to a new instance of the target class.
+     *
+     * @param values     the raw values of the row.
+     * @param lineNumber the line number of the row, for error messages.
+     * @return the bound instance, or {@code null} if the row was skipped because of an error or failed validation.
+     * @throws CSVParseException if the strategy is HALT_ON_ERROR and the row cannot be bound.
+     */
+    T bind(String[] values, int lineNumber) {
+        T instance;
+        try {
+            if (values.length != headers.length) {
+                CSVParseException ex = new CSVParseException("Column count mismatch at line " + lineNumber +
+                        ". Expected: " + headers.length + ", Found: " + values.length);
+                if (!CSVParser.handleError(config.getErrorHandlingStrategy(), ex, errorMessages)) {
+                    return null;
+                }
+            }
+
+            instance = config.getTargetClass().getDeclaredConstructor().newInstance();
+
+            for (int i = 0; i < headers.length; i++) {
+                Field field = fields[i];
+                if (field != null) {
+                    String rawValue = config.isTrimFields() ? values[i].trim() : values[i];
+                    Object convertedValue = TypeConverter.convert(rawValue, field.getType());
+                    field.set(instance, convertedValue);
+                    converted[i] = convertedValue;
+                    raw[i] = rawValue;
+                } else if (!config.isIgnoreUnknownColumns()) {
+                    CSVParseException ex = new CSVParseException("Unknown column '" + headers[i] + "' at line " + lineNumber);
+                    CSVParser.handleError(config.getErrorHandlingStrategy(), ex, errorMessages);
+                }
+            }
+        } catch (ReflectiveOperationException | CSVParseException e) {
+            CSVParser.handleError(config.getErrorHandlingStrategy(),
+                    new CSVParseException("Error parsing line " + lineNumber, e), errorMessages);
+            return null;
+        }
+
+        if (validator != null && !validator.validate(converted, raw, lineNumber, config, errorMessages)) {
+            return null;
+        }
+        return instance;
+    }
+}
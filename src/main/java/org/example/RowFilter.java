@@ -0,0 +1,195 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A predicate on the raw values of a CSV row, evaluated before the row is bound to an object.
+ * Conditions are combined with {@link #and(RowFilter)}; a row matches when every condition does.
+ * Values are compared as they appear in the file, trimmed if the configuration trims fields, and an empty value
+ * never matches a condition.
+ * <p>
+ * Because conditions only look at raw values, they can also be checked against per-chunk statistics: see
+ * {@link ZoneMapCSVParser}, which skips chunks of a file that cannot contain a match.
+ */
+public final class RowFilter {
+    private final List<Condition> conditions;
+
+    private RowFilter(List<Condition> conditions) {
+        this.conditions = List.copyOf(conditions);
+    }
+
+    /**
+     * Matches rows whose value in a column equals one of the given values exactly.
+     *
+     * @param column the header name, matched ignoring case and surrounding whitespace.
+     * @param values the accepted values.
+     * @return a new filter.
+     * @throws IllegalArgumentException if no values are given.
+     */
+    public static RowFilter equalTo(String column, String... values) {
+        Objects.requireNonNull(values, "Values cannot be null");
+        if (values.length == 0) {
+            throw new IllegalArgumentException("At least one value is required");
+        }
+        return new RowFilter(List.of(new EqualTo(normalize(column), Set.of(values))));
+    }
+
+    /**
+     * Matches rows whose value in a column is a number between two bounds, inclusive.
+     * Values that are not numbers do not match.
+     *
+     * @param column the header name, matched ignoring case and surrounding whitespace.
+     * @param min    the lower bound.
+     * @param max    the upper bound.
+     * @return a new filter.
+     * @throws IllegalArgumentException if {@code min} is greater than {@code max} or either is NaN.
+     */
+    public static RowFilter between(String column, double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Min must not be greater than max");
+        }
+        return new RowFilter(List.of(new NumericRange(normalize(column), min, max)));
+    }
+
+    /**
+     * Matches rows whose value in a column lies between two strings in lexicographic order, inclusive.
+     * This suits ISO-8601 dates and timestamps, which sort lexicographically in time order.
+     *
+     * @param column the header name, matched ignoring case and surrounding whitespace.
+     * @param from   the lower bound.
+     * @param to     the upper bound.
+     * @return a new filter.
+     * @throws IllegalArgumentException if {@code from} sorts after {@code to}.
+     */
+    public static RowFilter between(String column, String from, String to) {
+        Objects.requireNonNull(from, "From cannot be null");
+        Objects.requireNonNull(to, "To cannot be null");
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("From must not sort after to");
+        }
+        return new RowFilter(List.of(new TextRange(normalize(column), from, to)));
+    }
+
+    /**
+     * @param other another filter.
+     * @return a filter matching rows that match both this filter and {@code other}.
+     */
+    public RowFilter and(RowFilter other) {
+        Objects.requireNonNull(other, "Filter cannot be null");
+        List<Condition> combined = new ArrayList<>(conditions);
+        combined.addAll(other.conditions);
+        return new RowFilter(combined);
+    }
+
+    /**
+     * Resolves the filter's columns against the normalized headers of a file.
+     *
+     * @throws CSVParseException if a column does not exist.
+     */
+    Resolved resolve(String[] headers) {
+        int[] columns = new int[conditions.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String column = conditions.get(i).column();
+            columns[i] = Arrays.asList(headers).indexOf(column);
+            if (columns[i] < 0) {
+                throw new CSVParseException("Unknown column '" + column + "'. Available columns: " + Arrays.toString(headers));
+            }
+        }
+        return new Resolved(conditions.toArray(new Condition[0]), columns);
+    }
+
+    @Override
+    public String toString() {
+        return "RowFilter" + conditions;
+    }
+
+    private static String normalize(String column) {
+        return CSVParser.normalizeHeader(Objects.requireNonNull(column, "Column cannot be null"));
+    }
+
+    /**
+     * A filter bound to column indexes.
+     */
+    static final class Resolved {
+        private final Condition[] conditions;
+        private final int[] columns;
+
+        private Resolved(Condition[] conditions, int[] columns) {
+            this.conditions = conditions;
+            this.columns = columns;
+        }
+
+        /**
+         * @param values the values of a row, already trimmed if configured; must have a value for every column.
+         */
+        boolean matches(String[] values) {
+            for (int i = 0; i < conditions.length; i++) {
+                String value = values[columns[i]];
+                if (value.isEmpty() || !conditions[i].matches(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return {@code false} only if no row of the chunk can match.
+         */
+        boolean mightMatch(ZoneMap.Chunk chunk) {
+            for (int i = 0; i < conditions.length; i++) {
+                if (!conditions[i].mightMatch(chunk.column(columns[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private sealed interface Condition {
+        String column();
+
+        boolean matches(String value);
+
+        boolean mightMatch(ZoneMap.ColumnStats stats);
+    }
+
+    private record EqualTo(String column, Set<String> values) implements Condition {
+        public boolean matches(String value) {
+            return values.contains(value);
+        }
+
+        public boolean mightMatch(ZoneMap.ColumnStats stats) {
+            for (String value : values) {
+                if (stats.mightContain(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record NumericRange(String column, double min, double max) implements Condition {
+        public boolean matches(String value) {
+            double number = ZoneMap.parseNumber(value);
+            return number >= min && number <= max;
+        }
+
+        public boolean mightMatch(ZoneMap.ColumnStats stats) {
+            return stats.numericCount() > 0 && stats.numericMax() >= min && stats.numericMin() <= max;
+        }
+    }
+
+    private record TextRange(String column, String from, String to) implements Condition {
+        public boolean matches(String value) {
+            return value.compareTo(from) >= 0 && value.compareTo(to) <= 0;
+        }
+
+        public boolean mightMatch(ZoneMap.ColumnStats stats) {
+            return stats.maxValue() != null && stats.maxValue().compareTo(from) >= 0 && stats.minValue().compareTo(to) <= 0;
+        }
+    }
+}
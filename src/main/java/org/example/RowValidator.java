@@ -0,0 +1,261 @@
+package org.example;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * The {@link ValidationRule}s of a configuration compiled against the columns of one file.
+ * Each rule is resolved once to the column its field is bound to, and regular expressions get a reusable matcher,
+ * so checking a row only reads values that are already converted. Rows can be checked one at a time while they
+ * are bound, or a batch at a time over staged primitive columns, where each rule is one loop over a column.
+ * <p>
+ * Instances hold per-thread scratch state and are not thread-safe.
+ */
+final class RowValidator {
+    private final ValidationRule[] rules;
+    private final int[] columns;
+    private final int[] otherColumns;
+    private final Matcher[] matchers;
+    private final Class<?>[] columnTypes;
+    private final String[] columnNames;
+
+    private boolean[][] failed = new boolean[0][];
+    private double[] left = new double[0];
+    private double[] right = new double[0];
+
+    /**
+     * @param rules        the rules to check.
+     * @param columnFields the field bound to each column of the file, or {@code null} for unbound columns.
+     * @throws CSVParseException if a rule names a field that no column is bound to.
+     */
+    RowValidator(List<ValidationRule> rules, Field[] columnFields) {
+        this.rules = rules.toArray(new ValidationRule[0]);
+        this.columns = new int[this.rules.length];
+        this.otherColumns = new int[this.rules.length];
+        this.matchers = new Matcher[this.rules.length];
+        this.columnTypes = new Class<?>[columnFields.length];
+        this.columnNames = new String[columnFields.length];
+        for (int i = 0; i < columnFields.length; i++) {
+            if (columnFields[i] != null) {
+                columnTypes[i] = columnFields[i].getType();
+                columnNames[i] = columnFields[i].getName();
+            }
+        }
+        for (int r = 0; r < this.rules.length; r++) {
+            ValidationRule rule = this.rules[r];
+            columns[r] = columnOf(rule.getField());
+            otherColumns[r] = rule.kind() == ValidationRule.Kind.COMPARE ? columnOf(rule.otherField()) : -1;
+            if (rule.kind() == ValidationRule.Kind.PATTERN) {
+                matchers[r] = rule.pattern().matcher("");
+            }
+        }
+    }
+
+    /**
+     * Compiles the rules of a configuration, if it has any.
+     *
+     * @return the validator, or {@code null} if there are no rules.
+     */
+    static RowValidator of(CSVParserConfig<?> config, Field[] columnFields) {
+        return config.getValidationRules().isEmpty() ? null : new RowValidator(config.getValidationRules(), columnFields);
+    }
+
+    private int columnOf(String field) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (field.equals(columnNames[i])) {
+                return i;
+            }
+        }
+        throw new CSVParseException("Validation rule references field '" + field + "', but no column is mapped to it");
+    }
+
+    /**
+     * Checks one bound row, reporting every failed rule through the error handling strategy.
+     *
+     * @param converted     the converted value of each column, {@code null} for unbound columns.
+     * @param raw           the raw value of each column, trimmed if configured.
+     * @param lineNumber    the line number of the row.
+     * @param config        the configuration, for its error handling strategy.
+     * @param errorMessages a list to collect error messages if the strategy is COLLECT_ERRORS.
+     * @return {@code true} if the row passed every rule.
+     * @throws CSVParseException if a rule fails and the strategy is HALT_ON_ERROR.
+     */
+    boolean validate(Object[] converted, String[] raw, int lineNumber, CSVParserConfig<?> config, List<String> errorMessages) {
+        boolean valid = true;
+        for (int r = 0; r < rules.length; r++) {
+            if (!passes(r, converted, raw)) {
+                valid = false;
+                CSVParser.handleError(config.getErrorHandlingStrategy(), failure(r, raw, lineNumber), errorMessages);
+            }
+        }
+        return valid;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private boolean passes(int r, Object[] converted, String[] raw) {
+        ValidationRule rule = rules[r];
+        int column = columns[r];
+        return switch (rule.kind()) {
+            case NOT_NULL -> !raw[column].isEmpty();
+            case PATTERN -> raw[column].isEmpty() || matchers[r].reset(raw[column]).matches();
+            case RANGE -> converted[column] == null || rule.inRange(((Number) converted[column]).doubleValue());
+            case COMPARE -> {
+                Object a = converted[column];
+                Object b = converted[otherColumns[r]];
+                if (a == null || b == null) {
+                    yield true;
+                }
+                int compared = a instanceof Number x && b instanceof Number y
+                        ? Double.compare(x.doubleValue(), y.doubleValue())
+                        : ((Comparable) a).compareTo(b);
+                yield rule.comparison().holds(compared);
+            }
+        };
+    }
+
+    /**
+     * Checks a batch of staged rows column by column. Primitive columns are checked in one loop per rule over
+     * their encoded values; failures are then reported in row order, so errors come out exactly as if rows had
+     * been checked one at a time.
+     *
+     * @param rows          the number of staged rows.
+     * @param raw           the raw values, indexed by column and then row; trimmed if configured.
+     * @param encoded       the values encoded by {@link OffHeapColumn#encode(String)}, indexed by column and then row.
+     * @param lineNumbers   the line number of each row.
+     * @param rejected      receives {@code true} for each row that failed a rule.
+     * @param config        the configuration, for its error handling strategy.
+     * @param errorMessages a list to collect error messages if the strategy is COLLECT_ERRORS.
+     * @throws CSVParseException if a rule fails and the strategy is HALT_ON_ERROR.
+     */
+    void validateBatch(int rows, String[][] raw, long[][] encoded, int[] lineNumbers, boolean[] rejected,
+                       CSVParserConfig<?> config, List<String> errorMessages) {
+        if (failed.length != rules.length || failed.length > 0 && failed[0].length < rows) {
+            failed = new boolean[rules.length][rows];
+            left = new double[rows];
+            right = new double[rows];
+        }
+        for (int r = 0; r < rules.length; r++) {
+            checkColumn(r, rows, raw, encoded, failed[r]);
+        }
+
+        Arrays.fill(rejected, 0, rows, false);
+        String[] rowValues = new String[raw.length];
+        for (int i = 0; i < rows; i++) {
+            for (int r = 0; r < rules.length; r++) {
+                if (failed[r][i]) {
+                    rejected[i] = true;
+                    for (int c = 0; c < raw.length; c++) {
+                        rowValues[c] = raw[c][i];
+                    }
+                    CSVParser.handleError(config.getErrorHandlingStrategy(), failure(r, rowValues, lineNumbers[i]), errorMessages);
+                }
+            }
+        }
+    }
+
+    private void checkColumn(int r, int rows, String[][] raw, long[][] encoded, boolean[] out) {
+        ValidationRule rule = rules[r];
+        int column = columns[r];
+        String[] values = raw[column];
+        switch (rule.kind()) {
+            case NOT_NULL -> {
+                for (int i = 0; i < rows; i++) {
+                    out[i] = values[i].isEmpty();
+                }
+            }
+            case PATTERN -> {
+                Matcher matcher = matchers[r];
+                for (int i = 0; i < rows; i++) {
+                    out[i] = !values[i].isEmpty() && !matcher.reset(values[i]).matches();
+                }
+            }
+            case RANGE -> {
+                decode(column, rows, raw, encoded, left);
+                for (int i = 0; i < rows; i++) {
+                    out[i] = !rule.inRange(left[i]);
+                }
+                clearNulls(column, rows, values, out);
+            }
+            case COMPARE -> {
+                int other = otherColumns[r];
+                if (ValidationRule.isNumeric(columnTypes[column]) && ValidationRule.isNumeric(columnTypes[other])) {
+                    decode(column, rows, raw, encoded, left);
+                    decode(other, rows, raw, encoded, right);
+                    ValidationRule.Comparison comparison = rule.comparison();
+                    for (int i = 0; i < rows; i++) {
+                        out[i] = !comparison.holds(Double.compare(left[i], right[i]));
+                    }
+                } else {
+                    Object[] converted = new Object[raw.length];
+                    String[] row = new String[raw.length];
+                    for (int i = 0; i < rows; i++) {
+                        converted[column] = TypeConverter.convert(values[i], columnTypes[column]);
+                        converted[other] = TypeConverter.convert(raw[other][i], columnTypes[other]);
+                        row[column] = values[i];
+                        out[i] = !passes(r, converted, row);
+                    }
+                }
+                clearNulls(column, rows, values, out);
+                clearNulls(other, rows, raw[other], out);
+            }
+        }
+    }
+
+    /**
+     * Decodes a numeric column of a batch to doubles.
+     */
+    private void decode(int column, int rows, String[][] raw, long[][] encoded, double[] out) {
+        long[] bits = encoded[column];
+        switch (OffHeapColumn.typeOf(columnTypes[column])) {
+            case INT, LONG -> {
+                for (int i = 0; i < rows; i++) {
+                    out[i] = bits[i];
+                }
+            }
+            case DOUBLE -> {
+                for (int i = 0; i < rows; i++) {
+                    out[i] = Double.longBitsToDouble(bits[i]);
+                }
+            }
+            case FLOAT -> {
+                for (int i = 0; i < rows; i++) {
+                    out[i] = Float.intBitsToFloat((int) bits[i]);
+                }
+            }
+            default -> {
+                // Numeric types without a primitive encoding, such as BigDecimal, are kept as text
+                String[] values = raw[column];
+                for (int i = 0; i < rows; i++) {
+                    Object value = TypeConverter.convert(values[i], columnTypes[column]);
+                    out[i] = value == null ? 0 : ((Number) value).doubleValue();
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes rows whose value converts to {@code null}, as {@link #validate} does.
+     */
+    private void clearNulls(int column, int rows, String[] values, boolean[] out) {
+        if (columnTypes[column].isPrimitive()) {
+            return;
+        }
+        for (int i = 0; i < rows; i++) {
+            if (values[i].isEmpty()) {
+                out[i] = false;
+            }
+        }
+    }
+
+    private CSVParseException failure(int r, String[] raw, int lineNumber) {
+        ValidationRule rule = rules[r];
+        String found = "'" + raw[columns[r]] + "'";
+        if (rule.kind() == ValidationRule.Kind.COMPARE) {
+            found += " and '" + raw[otherColumns[r]] + "'";
+        }
+        return new CSVParseException("Validation failed at line " + lineNumber + ": column '" + rule.getField() + "' "
+                + rule.requirement() + ", found " + found);
+    }
+}
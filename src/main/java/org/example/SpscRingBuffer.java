@@ -0,0 +1,78 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free single-producer single-consumer queue backed by a power-of-two array.
+ * Exactly one thread may call {@link #offer(Object)} and exactly one (possibly different) thread may call
+ * {@link #poll()}. Each side caches the other side's last published index so that the shared counters are only
+ * read when the queue looks full or empty.
+ *
+ * @param <E> the type of elements held in the queue.
+ */
+final class SpscRingBuffer<E> {
+    private final Object[] buffer;
+    private final int mask;
+    // Index of the next slot to read; written only by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Index of the next slot to write; written only by the producer
+    private final AtomicLong tail = new AtomicLong();
+    private long cachedHead; // Producer-local
+    private long cachedTail; // Consumer-local
+
+    /**
+     * @param capacity the minimum capacity, rounded up to a power of two.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    SpscRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an element if there is room. Called by the producer thread only.
+     *
+     * @param element the element to add.
+     * @return {@code true} if the element was added, {@code false} if the queue is full.
+     */
+    boolean offer(E element) {
+        long currentTail = tail.getPlain();
+        if (currentTail - cachedHead >= buffer.length) {
+            cachedHead = head.getAcquire();
+            if (currentTail - cachedHead >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) currentTail & mask] = element;
+        tail.setRelease(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest element. Called by the consumer thread only.
+     *
+     * @return the oldest element, or {@code null} if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long currentHead = head.getPlain();
+        if (currentHead >= cachedTail) {
+            cachedTail = tail.getAcquire();
+            if (currentHead >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) currentHead & mask;
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        head.setRelease(currentHead + 1);
+        return element;
+    }
+}
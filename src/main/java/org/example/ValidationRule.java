@@ -0,0 +1,303 @@
+package org.example;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * A declarative check on the values of a row, applied while the row is bound so that invalid rows are rejected
+ * without a second pass over the parsed objects.
+ * Rules name fields of the target class and are added with {@link CSVParserConfig.Builder#withValidationRule}.
+ * A row that fails a rule is skipped, and the failure is routed through the configured
+ * {@link CSVParserConfig.ErrorHandlingStrategy} with the line number and column.
+ * <p>
+ * Range and comparison rules check converted values and pass when a value is {@code null}; empty values of
+ * primitive fields convert to zero and are checked as such. Use {@link #notNull(String)} to require a value.
+ */
+public final class ValidationRule {
+
+    /**
+     * The operators of cross-field comparisons.
+     */
+    public enum Comparison {
+        LESS_THAN("<"),
+        LESS_THAN_OR_EQUAL("<="),
+        EQUAL("=="),
+        NOT_EQUAL("!="),
+        GREATER_THAN_OR_EQUAL(">="),
+        GREATER_THAN(">");
+
+        private final String symbol;
+
+        Comparison(String symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * @param compared the result of comparing the left value to the right value.
+         * @return {@code true} if the comparison holds.
+         */
+        boolean holds(int compared) {
+            return switch (this) {
+                case LESS_THAN -> compared < 0;
+                case LESS_THAN_OR_EQUAL -> compared <= 0;
+                case EQUAL -> compared == 0;
+                case NOT_EQUAL -> compared != 0;
+                case GREATER_THAN_OR_EQUAL -> compared >= 0;
+                case GREATER_THAN -> compared > 0;
+            };
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    enum Kind {
+        NOT_NULL,
+        RANGE,
+        PATTERN,
+        COMPARE
+    }
+
+    private final Kind kind;
+    private final String field;
+    private final double lower;
+    private final boolean lowerInclusive;
+    private final double upper;
+    private final boolean upperInclusive;
+    private final Pattern pattern;
+    private final Comparison comparison;
+    private final String otherField;
+
+    private ValidationRule(Kind kind, String field, double lower, boolean lowerInclusive, double upper,
+                           boolean upperInclusive, Pattern pattern, Comparison comparison, String otherField) {
+        this.kind = kind;
+        this.field = Objects.requireNonNull(field, "Field cannot be null");
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+        this.pattern = pattern;
+        this.comparison = comparison;
+        this.otherField = otherField;
+    }
+
+    /**
+     * Requires a non-empty value.
+     *
+     * @param field the name of the field.
+     * @return a new rule.
+     */
+    public static ValidationRule notNull(String field) {
+        return new ValidationRule(Kind.NOT_NULL, field, 0, false, 0, false, null, null, null);
+    }
+
+    /**
+     * Requires a numeric value between two bounds, inclusive.
+     *
+     * @param field the name of a numeric field.
+     * @param min   the smallest allowed value.
+     * @param max   the largest allowed value.
+     * @return a new rule.
+     * @throws IllegalArgumentException if {@code min} is greater than {@code max} or either is NaN.
+     */
+    public static ValidationRule range(String field, double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Min must not be greater than max");
+        }
+        return new ValidationRule(Kind.RANGE, field, min, true, max, true, null, null, null);
+    }
+
+    /**
+     * Requires a numeric value strictly greater than a bound, e.g. a positive price.
+     *
+     * @param field the name of a numeric field.
+     * @param bound the exclusive lower bound.
+     * @return a new rule.
+     * @throws IllegalArgumentException if {@code bound} is NaN.
+     */
+    public static ValidationRule greaterThan(String field, double bound) {
+        if (Double.isNaN(bound)) {
+            throw new IllegalArgumentException("Bound cannot be NaN");
+        }
+        return new ValidationRule(Kind.RANGE, field, bound, false, Double.POSITIVE_INFINITY, true, null, null, null);
+    }
+
+    /**
+     * Requires a numeric value strictly less than a bound.
+     *
+     * @param field the name of a numeric field.
+     * @param bound the exclusive upper bound.
+     * @return a new rule.
+     * @throws IllegalArgumentException if {@code bound} is NaN.
+     */
+    public static ValidationRule lessThan(String field, double bound) {
+        if (Double.isNaN(bound)) {
+            throw new IllegalArgumentException("Bound cannot be NaN");
+        }
+        return new ValidationRule(Kind.RANGE, field, Double.NEGATIVE_INFINITY, true, bound, false, null, null, null);
+    }
+
+    /**
+     * Requires the raw text of a non-empty value, trimmed if configured, to match a regular expression in full.
+     *
+     * @param field the name of the field.
+     * @param regex the regular expression.
+     * @return a new rule.
+     * @throws java.util.regex.PatternSyntaxException if {@code regex} is invalid.
+     */
+    public static ValidationRule matches(String field, String regex) {
+        Objects.requireNonNull(regex, "Regex cannot be null");
+        return new ValidationRule(Kind.PATTERN, field, 0, false, 0, false, Pattern.compile(regex), null, null);
+    }
+
+    /**
+     * Requires the values of two fields to compare in a given way, e.g.
+     * {@code compare("bidLowPrice", Comparison.LESS_THAN_OR_EQUAL, "bidUpperPrice")}.
+     * Numeric fields are compared by value; other fields must have the same {@link Comparable} type.
+     *
+     * @param field      the name of the left-hand field.
+     * @param comparison the comparison.
+     * @param otherField the name of the right-hand field.
+     * @return a new rule.
+     */
+    public static ValidationRule compare(String field, Comparison comparison, String otherField) {
+        Objects.requireNonNull(comparison, "Comparison cannot be null");
+        Objects.requireNonNull(otherField, "Other field cannot be null");
+        return new ValidationRule(Kind.COMPARE, field, 0, false, 0, false, null, comparison, otherField);
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * @return the name of the field the rule checks.
+     */
+    public String getField() {
+        return field;
+    }
+
+    String otherField() {
+        return otherField;
+    }
+
+    Pattern pattern() {
+        return pattern;
+    }
+
+    Comparison comparison() {
+        return comparison;
+    }
+
+    /**
+     * @return {@code true} if a number is within the rule's bounds.
+     */
+    boolean inRange(double value) {
+        return (lowerInclusive ? value >= lower : value > lower) && (upperInclusive ? value <= upper : value < upper);
+    }
+
+    /**
+     * Checks that the rule's fields exist in a target class and have types the rule can check.
+     *
+     * @throws IllegalArgumentException if they do not.
+     */
+    void checkApplicable(Class<?> targetClass) {
+        Class<?> type = fieldType(targetClass, field);
+        switch (kind) {
+            case RANGE -> {
+                if (!isNumeric(type)) {
+                    throw new IllegalArgumentException("Range rule needs a numeric field, but '" + field + "' is "
+                            + type.getName());
+                }
+            }
+            case COMPARE -> {
+                Class<?> otherType = fieldType(targetClass, otherField);
+                boolean numeric = isNumeric(type) && isNumeric(otherType);
+                boolean comparable = box(type) == box(otherType) && Comparable.class.isAssignableFrom(box(type));
+                if (!numeric && !comparable) {
+                    throw new IllegalArgumentException("Cannot compare '" + field + "' (" + type.getName() + ") with '"
+                            + otherField + "' (" + otherType.getName() + ")");
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * @return a description of what the rule requires, for error messages.
+     */
+    String requirement() {
+        return switch (kind) {
+            case NOT_NULL -> "must not be empty";
+            case PATTERN -> "must match '" + pattern.pattern() + "'";
+            case COMPARE -> "must be " + comparison + " '" + otherField + "'";
+            case RANGE -> {
+                if (lower == Double.NEGATIVE_INFINITY) {
+                    yield "must be " + (upperInclusive ? "at most " : "less than ") + upper;
+                }
+                if (upper == Double.POSITIVE_INFINITY) {
+                    yield "must be " + (lowerInclusive ? "at least " : "greater than ") + lower;
+                }
+                yield "must be between " + lower + " and " + upper;
+            }
+        };
+    }
+
+    static boolean isNumeric(Class<?> type) {
+        Class<?> boxed = box(type);
+        return Number.class.isAssignableFrom(boxed);
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        return type;
+    }
+
+    private static Class<?> fieldType(Class<?> targetClass, String name) {
+        try {
+            Field declared = targetClass.getDeclaredField(name);
+            return declared.getType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Validation rule references unknown field '" + name + "' of "
+                    + targetClass.getName());
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ValidationRule that = (ValidationRule) obj;
+        return kind == that.kind
+                && field.equals(that.field)
+                && Double.compare(lower, that.lower) == 0
+                && lowerInclusive == that.lowerInclusive
+                && Double.compare(upper, that.upper) == 0
+                && upperInclusive == that.upperInclusive
+                && Objects.equals(pattern == null ? null : pattern.pattern(), that.pattern == null ? null : that.pattern.pattern())
+                && comparison == that.comparison
+                && Objects.equals(otherField, that.otherField);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, field, lower, lowerInclusive, upper, upperInclusive,
+                pattern == null ? null : pattern.pattern(), comparison, otherField);
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationRule{" + field + " " + requirement() + "}";
+    }
+}
@@ -0,0 +1,405 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-chunk statistics of a CSV file, stored in a sidecar file next to it.
+ * The data lines of the file are divided into chunks of a fixed number of rows; for each chunk the zone map
+ * records its byte range and first line number, and for each column the number of empty values, the smallest
+ * and largest value as text and as a number, and optionally a Bloom filter of its values. A chunk whose
+ * statistics rule out a {@link RowFilter} is never read.
+ * <p>
+ * A zone map records the size and modification time of the file it was built from and the settings that
+ * shaped it, so a stale sidecar is detected and rebuilt.
+ */
+final class ZoneMap {
+    private static final int MAGIC = 0x43535a4d; // "CSZM"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Source source;
+    private final String headerLine;
+    private final List<Chunk> chunks;
+
+    ZoneMap(Source source, String headerLine, List<Chunk> chunks) {
+        this.source = source;
+        this.headerLine = headerLine;
+        this.chunks = List.copyOf(chunks);
+    }
+
+    Source source() {
+        return source;
+    }
+
+    String headerLine() {
+        return headerLine;
+    }
+
+    List<Chunk> chunks() {
+        return chunks;
+    }
+
+    /**
+     * Parses a value as a number if it looks like one.
+     *
+     * @return the number, or NaN if the value is not a number.
+     */
+    static double parseNumber(String value) {
+        if (value.isEmpty()) {
+            return Double.NaN;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return Double.NaN; // Cheap rejection, so that text columns never throw
+            }
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Identifies the file state and settings a zone map was built from.
+     *
+     * @param path              the canonical path of the CSV file.
+     * @param size              the size of the file in bytes.
+     * @param lastModified      the modification time of the file in milliseconds.
+     * @param delimiter         the delimiter rows were split with.
+     * @param trimFields        whether values were trimmed.
+     * @param chunkRows         the number of rows per chunk.
+     * @param bloomColumns      the normalized headers of the columns with Bloom filters.
+     * @param falsePositiveRate the Bloom filter false positive rate.
+     */
+    record Source(String path, long size, long lastModified, String delimiter, boolean trimFields, int chunkRows,
+                  List<String> bloomColumns, double falsePositiveRate) {
+    }
+
+    /**
+     * A run of consecutive lines of the file.
+     *
+     * @param start     the byte offset of the first line.
+     * @param end       the byte offset just past the line break of the last line.
+     * @param firstLine the line number of the first line, where the header is line 1.
+     * @param rowCount  the number of non-blank lines.
+     * @param columns   the statistics of each column, in header order.
+     */
+    record Chunk(long start, long end, int firstLine, int rowCount, List<ColumnStats> columns) {
+        ColumnStats column(int index) {
+            return columns.get(index);
+        }
+    }
+
+    /**
+     * Statistics of one column within a chunk.
+     *
+     * @param nullCount    the number of rows with an empty or missing value.
+     * @param numericCount the number of values that are numbers.
+     * @param numericMin   the smallest number, if {@code numericCount > 0}.
+     * @param numericMax   the largest number, if {@code numericCount > 0}.
+     * @param minValue     the lexicographically smallest non-empty value, or {@code null} if there is none.
+     * @param maxValue     the lexicographically largest non-empty value, or {@code null} if there is none.
+     * @param bloom        a Bloom filter of the non-empty values, or {@code null}.
+     */
+    record ColumnStats(long nullCount, long numericCount, double numericMin, double numericMax, String minValue,
+                       String maxValue, BloomFilter bloom) {
+        boolean mightContain(String value) {
+            return maxValue != null
+                    && value.compareTo(minValue) >= 0 && value.compareTo(maxValue) <= 0
+                    && (bloom == null || bloom.mightContain(value));
+        }
+    }
+
+    /**
+     * Collects statistics while a file is read line by line.
+     */
+    static final class Recorder {
+        private final Source source;
+        private final String headerLine;
+        private final int columnCount;
+        private final boolean[] bloomColumns;
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        private long chunkStart = -1;
+        private long chunkEnd;
+        private int firstLine;
+        private int rowCount;
+        private long[] nullCounts;
+        private long[] numericCounts;
+        private double[] numericMins;
+        private double[] numericMaxes;
+        private String[] minValues;
+        private String[] maxValues;
+        private BloomFilter[] blooms;
+
+        /**
+         * @param source     the file and settings the zone map is built for.
+         * @param headerLine the header line of the file.
+         * @param headers    the normalized headers.
+         */
+        Recorder(Source source, String headerLine, String[] headers) {
+            this.source = source;
+            this.headerLine = headerLine;
+            this.columnCount = headers.length;
+            this.bloomColumns = new boolean[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                bloomColumns[i] = source.bloomColumns().contains(headers[i]);
+            }
+        }
+
+        /**
+         * Records a line.
+         *
+         * @param start      the byte offset of the line.
+         * @param end        the byte offset just past its line break.
+         * @param lineNumber the line number.
+         * @param values     the values of the line, trimmed if configured, or {@code null} if the line is blank.
+         */
+        void line(long start, long end, int lineNumber, String[] values) {
+            if (chunkStart < 0) {
+                open(start, lineNumber);
+            }
+            chunkEnd = end;
+            if (values == null) {
+                return;
+            }
+            rowCount++;
+            for (int i = 0; i < columnCount; i++) {
+                String value = i < values.length ? values[i] : "";
+                if (value.isEmpty()) {
+                    nullCounts[i]++;
+                    continue;
+                }
+                double number = parseNumber(value);
+                if (!Double.isNaN(number)) {
+                    numericMins[i] = numericCounts[i] == 0 ? number : Math.min(numericMins[i], number);
+                    numericMaxes[i] = numericCounts[i] == 0 ? number : Math.max(numericMaxes[i], number);
+                    numericCounts[i]++;
+                }
+                if (minValues[i] == null || value.compareTo(minValues[i]) < 0) {
+                    minValues[i] = value;
+                }
+                if (maxValues[i] == null || value.compareTo(maxValues[i]) > 0) {
+                    maxValues[i] = value;
+                }
+                if (blooms[i] != null) {
+                    blooms[i].add(value);
+                }
+            }
+            if (rowCount == source.chunkRows()) {
+                close();
+            }
+        }
+
+        /**
+         * @return the zone map of every line recorded.
+         */
+        ZoneMap finish() {
+            if (chunkStart >= 0) {
+                close();
+            }
+            return new ZoneMap(source, headerLine, chunks);
+        }
+
+        private void open(long start, int lineNumber) {
+            chunkStart = start;
+            firstLine = lineNumber;
+            rowCount = 0;
+            nullCounts = new long[columnCount];
+            numericCounts = new long[columnCount];
+            numericMins = new double[columnCount];
+            numericMaxes = new double[columnCount];
+            minValues = new String[columnCount];
+            maxValues = new String[columnCount];
+            blooms = new BloomFilter[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                if (bloomColumns[i]) {
+                    blooms[i] = new BloomFilter(source.chunkRows(), source.falsePositiveRate());
+                }
+            }
+        }
+
+        private void close() {
+            List<ColumnStats> columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                columns.add(new ColumnStats(nullCounts[i], numericCounts[i], numericMins[i], numericMaxes[i],
+                        minValues[i], maxValues[i], blooms[i]));
+            }
+            chunks.add(new Chunk(chunkStart, chunkEnd, firstLine, rowCount, columns));
+            chunkStart = -1;
+        }
+    }
+
+    /**
+     * Writes the zone map to a sidecar file, replacing it atomically.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    void write(Path sidecar) throws IOException {
+        Path temp = Files.createTempFile(sidecar.toAbsolutePath().getParent(), "zonemap-", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, source.path());
+                out.writeLong(source.size());
+                out.writeLong(source.lastModified());
+                writeString(out, source.delimiter());
+                out.writeBoolean(source.trimFields());
+                out.writeInt(source.chunkRows());
+                out.writeInt(source.bloomColumns().size());
+                for (String column : source.bloomColumns()) {
+                    writeString(out, column);
+                }
+                out.writeDouble(source.falsePositiveRate());
+                writeString(out, headerLine);
+
+                out.writeInt(chunks.size());
+                for (Chunk chunk : chunks) {
+                    out.writeLong(chunk.start());
+                    out.writeLong(chunk.end());
+                    out.writeInt(chunk.firstLine());
+                    out.writeInt(chunk.rowCount());
+                    out.writeInt(chunk.columns().size());
+                    for (ColumnStats stats : chunk.columns()) {
+                        out.writeLong(stats.nullCount());
+                        out.writeLong(stats.numericCount());
+                        out.writeDouble(stats.numericMin());
+                        out.writeDouble(stats.numericMax());
+                        writeString(out, stats.minValue());
+                        writeString(out, stats.maxValue());
+                        BloomFilter bloom = stats.bloom();
+                        out.writeInt(bloom == null ? -1 : bloom.bits().length);
+                        if (bloom != null) {
+                            out.writeInt(bloom.hashes());
+                            for (long word : bloom.bits()) {
+                                out.writeLong(word);
+                            }
+                        }
+                    }
+                }
+            }
+            try {
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a zone map from a sidecar file.
+     *
+     * @return the zone map, or {@code null} if the file has an unknown format.
+     * @throws IOException if the file cannot be read, is truncated or holds invalid counts.
+     */
+    static ZoneMap read(Path sidecar) throws IOException {
+        // No count or length can exceed the size of the file, which bounds what a corrupt file makes us allocate
+        long limit = Files.size(sidecar);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            String path = readString(in, limit);
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            String delimiter = readString(in, limit);
+            boolean trimFields = in.readBoolean();
+            int chunkRows = in.readInt();
+            List<String> bloomColumns = new ArrayList<>();
+            for (int i = readCount(in, limit, "column count"); i > 0; i--) {
+                bloomColumns.add(readString(in, limit));
+            }
+            double falsePositiveRate = in.readDouble();
+            Source source = new Source(path, size, lastModified, delimiter, trimFields, chunkRows,
+                    List.copyOf(bloomColumns), falsePositiveRate);
+            String headerLine = readString(in, limit);
+
+            int chunkCount = readCount(in, limit, "chunk count");
+            List<Chunk> chunks = new ArrayList<>(chunkCount);
+            for (int c = 0; c < chunkCount; c++) {
+                long start = in.readLong();
+                long end = in.readLong();
+                int firstLine = in.readInt();
+                int rowCount = in.readInt();
+                int columnCount = readCount(in, limit, "column count");
+                List<ColumnStats> columns = new ArrayList<>(columnCount);
+                for (int i = 0; i < columnCount; i++) {
+                    long nullCount = in.readLong();
+                    long numericCount = in.readLong();
+                    double numericMin = in.readDouble();
+                    double numericMax = in.readDouble();
+                    String minValue = readString(in, limit);
+                    String maxValue = readString(in, limit);
+                    int words = in.readInt();
+                    BloomFilter bloom = null;
+                    if (words != -1) {
+                        if (words <= 0 || words > limit) {
+                            throw new IOException("Zone map has an invalid bloom filter size: " + words);
+                        }
+                        int hashes = in.readInt();
+                        if (hashes <= 0) {
+                            throw new IOException("Zone map has an invalid bloom filter hash count: " + hashes);
+                        }
+                        long[] bits = new long[words];
+                        for (int w = 0; w < words; w++) {
+                            bits[w] = in.readLong();
+                        }
+                        bloom = new BloomFilter(bits, hashes);
+                    }
+                    columns.add(new ColumnStats(nullCount, numericCount, numericMin, numericMax, minValue, maxValue, bloom));
+                }
+                chunks.add(new Chunk(start, end, firstLine, rowCount, columns));
+            }
+            return new ZoneMap(source, headerLine, chunks);
+        } catch (EOFException e) {
+            throw new IOException("Zone map is truncated: " + sidecar, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int readCount(DataInputStream in, long limit, String what) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > limit) {
+            throw new IOException("Zone map has an invalid " + what + ": " + count);
+        }
+        return count;
+    }
+
+    private static String readString(DataInputStream in, long limit) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > limit) {
+            throw new IOException("Zone map has an invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,411 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parser that keeps a zone map next to each CSV file it reads and uses it to skip data that cannot match a
+ * {@link RowFilter}.
+ * The zone map divides the file into chunks of a fixed number of rows and records, per chunk, its byte range and,
+ * per column, the number of empty values, the smallest and largest value (as text and as a number) and,
+ * for the columns chosen with {@link Builder#withBloomFilter(String)}, a Bloom filter of the values.
+ * It is built as a side effect of any full read of the file and rebuilt whenever the file's size or modification
+ * time, or the settings that shape it, change.
+ * <p>
+ * With a valid zone map, a filtered parse reads only the chunks whose statistics admit a match, seeking straight to
+ * each one. Rows are filtered on their raw values before they are bound, and bound with the same header mapping,
+ * conversions and {@link CSVParserConfig.ErrorHandlingStrategy} as {@link CSVParser#parse}. Errors in rows that are
+ * filtered out, or in chunks that are skipped, are not reported.
+ */
+public class ZoneMapCSVParser {
+    private static final Logger log = LoggerFactory.getLogger(ZoneMapCSVParser.class);
+    private static final String SIDECAR_SUFFIX = ".zonemap";
+    private static final int READ_BUFFER_SIZE = 256 * 1024;
+
+    private final int chunkRows;
+    private final List<String> bloomColumns;
+    private final double falsePositiveRate;
+    private final Path sidecarDirectory;
+
+    private final LongAdder chunksRead = new LongAdder();
+    private final LongAdder chunksSkipped = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+
+    private ZoneMapCSVParser(Builder builder) {
+        this.chunkRows = builder.chunkRows;
+        this.bloomColumns = List.copyOf(builder.bloomColumns);
+        this.falsePositiveRate = builder.falsePositiveRate;
+        this.sidecarDirectory = builder.sidecarDirectory;
+    }
+
+    /**
+     * Parses a whole CSV file, building its zone map if it is missing or stale.
+     *
+     * @param file   the CSV file to parse.
+     * @param config the configuration specifying how to parse the CSV file.
+     * @param <T>    the type of objects to map each row to.
+     * @return a list of parsed objects.
+     * @throws CSVParseException        if there is an error during parsing.
+     * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+     */
+    public <T> List<T> parse(File file, CSVParserConfig<T> config) {
+        return parse(file, config, null);
+    }
+
+    /**
+     * Parses the rows of a CSV file that match a filter. If the file has a valid zone map, only the chunks that
+     * might contain a match are read; otherwise the whole file is read and the zone map is built on the way.
+     *
+     * @param file   the CSV file to parse.
+     * @param config the configuration specifying how to parse the CSV file.
+     * @param filter the filter rows must match, or {@code null} to parse every row.
+     * @param <T>    the type of objects to map each row to.
+     * @return the parsed objects of matching rows, in file order.
+     * @throws CSVParseException        if there is an error during parsing or the filter names an unknown column.
+     * @throws IllegalArgumentException if the configuration has a fixed-width layout.
+     */
+    public <T> List<T> parse(File file, CSVParserConfig<T> config, RowFilter filter) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(config, "Config cannot be null");
+        CSVParser.requireDelimited(config, "zone maps");
+
+        try {
+            Path path = file.toPath().toRealPath();
+            ZoneMap.Source source = source(path, config);
+            Path sidecar = sidecarPath(path);
+            ZoneMap zoneMap = load(sidecar, source);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (zoneMap != null) {
+                    return parseChunks(channel, zoneMap, config, filter);
+                }
+                return parseAndBuild(channel, path, sidecar, source, config, filter);
+            }
+        } catch (IOException e) {
+            log.error("Failed to read file: {}", file.getPath(), e);
+            throw new CSVParseException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * @return the number of chunks read, including every chunk of a file read in full to build its zone map.
+     */
+    public long getChunksRead() {
+        return chunksRead.sum();
+    }
+
+    /**
+     * @return the number of chunks skipped because their statistics ruled out the filter.
+     */
+    public long getChunksSkipped() {
+        return chunksSkipped.sum();
+    }
+
+    /**
+     * @return the number of zone maps built.
+     */
+    public long getBuildCount() {
+        return builds.sum();
+    }
+
+    private ZoneMap.Source source(Path path, CSVParserConfig<?> config) throws IOException {
+        return new ZoneMap.Source(path.toString(), Files.size(path), Files.getLastModifiedTime(path).toMillis(),
+                config.getDelimiter(), config.isTrimFields(), chunkRows, bloomColumns, falsePositiveRate);
+    }
+
+    private Path sidecarPath(Path path) {
+        String name = path.getFileName() + SIDECAR_SUFFIX;
+        return sidecarDirectory == null ? path.resolveSibling(name) : sidecarDirectory.resolve(name);
+    }
+
+    private static ZoneMap load(Path sidecar, ZoneMap.Source source) {
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+        try {
+            ZoneMap zoneMap = ZoneMap.read(sidecar);
+            if (zoneMap == null || !zoneMap.source().equals(source)) {
+                log.info("Zone map is stale for {}, rebuilding", source.path());
+                return null;
+            }
+            return zoneMap;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read zone map {}, rebuilding", sidecar, e);
+            return null;
+        }
+    }
+
+    private <T> List<T> parseChunks(FileChannel channel, ZoneMap zoneMap, CSVParserConfig<T> config, RowFilter filter)
+            throws IOException {
+        Scan<T> scan = new Scan<>(zoneMap.headerLine(), config, filter);
+        for (ZoneMap.Chunk chunk : zoneMap.chunks()) {
+            if (scan.filter != null && !scan.filter.mightMatch(chunk)) {
+                chunksSkipped.increment();
+                continue;
+            }
+            chunksRead.increment();
+            scan.run(new LineReader(channel, chunk.start(), chunk.end()), chunk.firstLine(), null);
+        }
+        return scan.finish();
+    }
+
+    private <T> List<T> parseAndBuild(FileChannel channel, Path path, Path sidecar, ZoneMap.Source source,
+                                      CSVParserConfig<T> config, RowFilter filter) throws IOException {
+        LineReader reader = new LineReader(channel, 0, source.size());
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new CSVParseException("CSV file is empty");
+        }
+        Scan<T> scan = new Scan<>(headerLine, config, filter);
+        ZoneMap.Recorder recorder = new ZoneMap.Recorder(source, headerLine, scan.headers);
+        scan.run(reader, 2, recorder); // Header is line 1
+        ZoneMap zoneMap = recorder.finish();
+        builds.increment();
+        chunksRead.add(zoneMap.chunks().size());
+
+        if (source.equals(source(path, config))) {
+            try {
+                zoneMap.write(sidecar);
+                log.debug("Wrote zone map {} with {} chunks for {}", sidecar, zoneMap.chunks().size(), path);
+            } catch (IOException e) {
+                log.warn("Failed to write zone map for {}", path, e);
+            }
+        } else {
+            log.info("File changed while it was read, not writing zone map for {}", path);
+        }
+        return scan.finish();
+    }
+
+    /**
+     * The state of one parse: the filter resolved against the headers, the binder and the results so far.
+     */
+    private static final class Scan<T> {
+        final String[] headers;
+        final RowFilter.Resolved filter;
+        private final CSVParserConfig<T> config;
+        private final RowBinder<T> binder;
+        private final List<T> results = new ArrayList<>();
+        private final List<String> errorMessages = new ArrayList<>();
+
+        Scan(String headerLine, CSVParserConfig<T> config, RowFilter filter) {
+            this.config = config;
+            this.headers = Arrays.stream(CSVParser.splitCSV(headerLine, config.getDelimiter()))
+                    .map(CSVParser::normalizeHeader)
+                    .toArray(String[]::new);
+            this.filter = filter == null ? null : filter.resolve(headers);
+            this.binder = new RowBinder<>(CSVParser.parseHeaderMapping(headerLine, config), config, errorMessages);
+        }
+
+        /**
+         * Binds the matching rows of the lines a reader returns, recording every line if a recorder is given.
+         */
+        void run(LineReader reader, int firstLine, ZoneMap.Recorder recorder) throws IOException {
+            int lineNumber = firstLine;
+            for (String line = reader.readLine(); line != null; line = reader.readLine(), lineNumber++) {
+                boolean blank = line.trim().isEmpty();
+                String[] values = CSVParser.splitCSV(line, config.getDelimiter());
+                if (config.isTrimFields()) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = values[i].trim();
+                    }
+                }
+                if (recorder != null) {
+                    recorder.line(reader.lineStart(), reader.position(), lineNumber, blank ? null : values);
+                }
+                if (blank && config.isSkipEmptyLines()) {
+                    continue;
+                }
+                // Rows with the wrong number of values are bound regardless, so that the error is reported
+                if (filter != null && values.length == headers.length && !filter.matches(values)) {
+                    continue;
+                }
+                T instance = binder.bind(values, lineNumber);
+                if (instance != null) {
+                    results.add(instance);
+                }
+            }
+        }
+
+        List<T> finish() {
+            if (config.getErrorHandlingStrategy() == CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS && !errorMessages.isEmpty()) {
+                errorMessages.forEach(log::error);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Reads lines from a byte range of a file with positional reads, tracking the byte offset of each line.
+     * Line breaks are {@code \n}, {@code \r\n} or {@code \r}, as for {@link java.io.BufferedReader#readLine()}.
+     */
+    private static final class LineReader {
+        private final FileChannel channel;
+        private final long end;
+        private final byte[] buffer;
+        private long bufferOffset;
+        private int position;
+        private int limit;
+        private byte[] line = new byte[256];
+        private long lineStart;
+
+        LineReader(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.end = end;
+            this.buffer = new byte[(int) Math.max(1, Math.min(READ_BUFFER_SIZE, end - start))];
+            this.bufferOffset = start;
+        }
+
+        /**
+         * @return the next line without its line break, or {@code null} at the end of the range.
+         */
+        String readLine() throws IOException {
+            lineStart = position();
+            int length = 0;
+            while (true) {
+                if (position == limit && !fill()) {
+                    return position() == lineStart ? null : decode(length);
+                }
+                byte b = buffer[position++];
+                if (b == '\n') {
+                    return decode(length);
+                }
+                if (b == '\r') {
+                    if ((position < limit || fill()) && buffer[position] == '\n') {
+                        position++;
+                    }
+                    return decode(length);
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+        }
+
+        /**
+         * @return the byte offset of the line most recently returned.
+         */
+        long lineStart() {
+            return lineStart;
+        }
+
+        /**
+         * @return the byte offset just past the line most recently returned, including its line break.
+         */
+        long position() {
+            return bufferOffset + position;
+        }
+
+        private boolean fill() throws IOException {
+            bufferOffset += limit;
+            position = 0;
+            limit = 0;
+            int length = (int) Math.min(buffer.length, end - bufferOffset);
+            if (length <= 0) {
+                return false;
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, 0, length), bufferOffset);
+            limit = Math.max(read, 0);
+            return limit > 0;
+        }
+
+        private String decode(int length) {
+            return new String(line, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Builder class for creating instances of {@link ZoneMapCSVParser}.
+     */
+    public static class Builder {
+        private int chunkRows = 8192;
+        private final TreeSet<String> bloomColumns = new TreeSet<>();
+        private double falsePositiveRate = 0.01;
+        private Path sidecarDirectory;
+
+        /**
+         * Sets the number of rows per chunk. Smaller chunks skip more precisely but make the zone map larger.
+         *
+         * @param rows the number of rows per chunk.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code rows} is not positive.
+         */
+        public Builder withChunkRows(int rows) {
+            if (rows <= 0) {
+                throw new IllegalArgumentException("Chunk rows must be positive");
+            }
+            this.chunkRows = rows;
+            return this;
+        }
+
+        /**
+         * Keeps a Bloom filter of the values of a column in every chunk, so that {@link RowFilter#equalTo} can skip
+         * chunks whose value range includes the value but which do not contain it. Suited to unsorted columns with
+         * many distinct values, such as instrument identifiers.
+         *
+         * @param column the header name, matched ignoring case and surrounding whitespace.
+         * @return this builder instance.
+         */
+        public Builder withBloomFilter(String column) {
+            Objects.requireNonNull(column, "Column cannot be null");
+            this.bloomColumns.add(CSVParser.normalizeHeader(column));
+            return this;
+        }
+
+        /**
+         * Sets the false positive rate of Bloom filters for a full chunk of distinct values.
+         *
+         * @param rate the false positive rate.
+         * @return this builder instance.
+         * @throws IllegalArgumentException if {@code rate} is not between 0 and 1 exclusive.
+         */
+        public Builder withFalsePositiveRate(double rate) {
+            if (!(rate > 0 && rate < 1)) {
+                throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+            }
+            this.falsePositiveRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the directory zone maps are stored in. By default each zone map is stored next to its file, named
+         * after it with a {@code .zonemap} suffix.
+         *
+         * @param directory the directory to store zone maps in; created if it does not exist.
+         * @return this builder instance.
+         * @throws CSVParseException if the directory cannot be created.
+         */
+        public Builder withSidecarDirectory(File directory) {
+            Objects.requireNonNull(directory, "Sidecar directory cannot be null");
+            try {
+                this.sidecarDirectory = Files.createDirectories(directory.toPath());
+            } catch (IOException e) {
+                throw new CSVParseException("Failed to create sidecar directory: " + directory.getPath(), e);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the {@link ZoneMapCSVParser} instance.
+         *
+         * @return a new {@link ZoneMapCSVParser} instance.
+         */
+        public ZoneMapCSVParser build() {
+            return new ZoneMapCSVParser(this);
+        }
+    }
+}
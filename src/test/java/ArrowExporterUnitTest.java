@@ -0,0 +1,155 @@
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.example.ArrowExporter;
+import org.example.CSVParseException;
+import org.example.CSVParserConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrowExporterUnitTest {
+
+    private static final String HEADER = "currency pair,bid low price,bid upper price,offer low price,offer upper price,num of rungs bid,num of rungs offer\n";
+
+    @TempDir
+    Path tempDir;
+
+    private CSVParserConfig.Builder<CSVParserUnitTest.CurrencyPair> ratesConfig() {
+        return new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "bid upper price", "bidUpperPrice",
+                        "offer low price", "offerLowPrice",
+                        "offer upper price", "offerUpperPrice",
+                        "num of rungs bid", "numOfRungsBid",
+                        "num of rungs offer", "numOfRungsOffer"));
+    }
+
+    @Test
+    void testExportCsvInRecordBatches() throws IOException {
+        File csv = tempDir.resolve("rates.csv").toFile();
+        try (FileWriter writer = new FileWriter(csv)) {
+            writer.write(HEADER);
+            writer.write("EUR/USD,1.10,1.20,1.15,1.25,5,6\n");
+            writer.write("GBP/USD,1.30,1.40,1.35,1.45,7,8\n");
+            writer.write("USD/JPY,110.5,111.0,110.7,111.2,9,10\n");
+        }
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = ratesConfig().build();
+        ArrowExporter<CSVParserUnitTest.CurrencyPair> exporter = new ArrowExporter.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withBatchSize(2)
+                .build();
+        File output = tempDir.resolve("rates.arrow").toFile();
+
+        assertEquals(3, exporter.export(csv, config, output));
+
+        try (RootAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(output.toPath(), StandardOpenOption.READ);
+             ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            assertEquals(2, reader.getRecordBlocks().size());
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertEquals(new ArrowType.FloatingPoint(org.apache.arrow.vector.types.FloatingPointPrecision.DOUBLE),
+                    root.getSchema().findField("bidLowPrice").getType());
+            assertFalse(root.getSchema().findField("numOfRungsBid").isNullable());
+
+            assertTrue(reader.loadNextBatch());
+            assertEquals(2, root.getRowCount());
+            assertEquals("EUR/USD", new String(((VarCharVector) root.getVector("currencyPair")).get(0), StandardCharsets.UTF_8));
+            assertEquals(1.30, ((Float8Vector) root.getVector("bidLowPrice")).get(1));
+
+            assertTrue(reader.loadNextBatch());
+            assertEquals(1, root.getRowCount());
+            assertEquals("USD/JPY", new String(((VarCharVector) root.getVector("currencyPair")).get(0), StandardCharsets.UTF_8));
+            assertEquals(9, ((IntVector) root.getVector("numOfRungsBid")).get(0));
+            assertFalse(reader.loadNextBatch());
+        }
+    }
+
+    @Test
+    void testExportObjectsAsStreamWithNulls() throws IOException {
+        Trade first = new Trade();
+        first.id = 1;
+        first.tradeDate = LocalDate.of(2024, 3, 15);
+        first.venue = "LDN";
+        Trade second = new Trade();
+        second.id = 2;
+        File output = tempDir.resolve("trades.arrows").toFile();
+
+        long rows = new ArrowExporter.Builder<>(Trade.class)
+                .withFormat(ArrowExporter.Format.STREAM)
+                .build()
+                .export(List.of(first, second), output);
+
+        assertEquals(2, rows);
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new FileInputStream(output), allocator)) {
+            assertTrue(reader.loadNextBatch());
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            DateDayVector dates = (DateDayVector) root.getVector("tradeDate");
+            assertEquals(LocalDate.of(2024, 3, 15).toEpochDay(), dates.get(0));
+            assertTrue(dates.isNull(1));
+            assertTrue(root.getVector("venue").isNull(1));
+            assertEquals(2, ((IntVector) root.getVector("id")).get(1));
+        }
+    }
+
+    @Test
+    void testFailedExportLeavesExistingFileUntouched() throws IOException {
+        File csv = tempDir.resolve("rates.csv").toFile();
+        try (FileWriter writer = new FileWriter(csv)) {
+            writer.write(HEADER);
+            writer.write("EUR/USD,1.10,1.20,1.15,1.25,5,6\n");
+            writer.write("GBP/USD,not_a_price,1.40,1.35,1.45,7,8\n");
+        }
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = ratesConfig()
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .build();
+        File output = tempDir.resolve("rates.arrow").toFile();
+        Files.writeString(output.toPath(), "previous export");
+
+        ArrowExporter<CSVParserUnitTest.CurrencyPair> exporter = new ArrowExporter.Builder<>(CSVParserUnitTest.CurrencyPair.class).build();
+        assertThrows(CSVParseException.class, () -> exporter.export(csv, config, output));
+
+        assertEquals("previous export", Files.readString(output.toPath()));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of("rates.arrow", "rates.csv"), files.map(f -> f.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    @Test
+    void testUnsupportedFieldType() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrowExporter.Builder<>(Unsupported.class).build());
+    }
+
+    public static class Trade {
+        private int id;
+        private LocalDate tradeDate;
+        private String venue;
+    }
+
+    public static class Unsupported {
+        private Object payload;
+    }
+}
@@ -0,0 +1,182 @@
+import org.example.CSVAggregator;
+import org.example.CSVAggregator.Aggregate;
+import org.example.CSVParseException;
+import org.example.CSVParserConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVAggregatorUnitTest {
+
+    private static final String[] PAIRS = {"EUR/USD", "GBP/USD", "USD/JPY"};
+
+    @TempDir
+    Path tempDir;
+
+    private File writeFile(String content) throws IOException {
+        File file = tempDir.resolve("rates.csv").toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    @Test
+    void testGroupByMatchesSequentialAggregation() throws IOException {
+        StringBuilder content = new StringBuilder("Currency Pair,Bid Low Price,Num of Rungs Bid\r\n");
+        double[] sums = new double[PAIRS.length];
+        double[] mins = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] maxes = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        long[] counts = new long[PAIRS.length];
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int pair = random.nextInt(PAIRS.length);
+            double price = random.nextInt(100000) / 100.0;
+            content.append(' ').append(PAIRS[pair]).append(" ,").append(price).append(',').append(i % 7).append("\r\n");
+            sums[pair] += price;
+            mins[pair] = Math.min(mins[pair], price);
+            maxes[pair] = Math.max(maxes[pair], price);
+            counts[pair]++;
+            if (i % 1000 == 0) {
+                content.append("\r\n"); // Blank lines are skipped
+            }
+        }
+        File file = writeFile(content.toString());
+
+        for (int parallelism : new int[]{1, 4}) {
+            List<CSVAggregator.Group> groups = new CSVAggregator.Builder()
+                    .groupBy("currency pair")
+                    .withAggregate(Aggregate.count())
+                    .withAggregate(Aggregate.sum("Bid Low Price"))
+                    .withAggregate(Aggregate.min("bid low price"))
+                    .withAggregate(Aggregate.max("bid low price"))
+                    .withAggregate(Aggregate.avg("bid low price").as("average"))
+                    .withParallelism(parallelism)
+                    .build()
+                    .aggregate(file);
+
+            assertEquals(PAIRS.length, groups.size());
+            for (int pair = 0; pair < PAIRS.length; pair++) {
+                CSVAggregator.Group group = groups.get(pair);
+                assertEquals(List.of(PAIRS[pair]), group.key());
+                assertEquals(counts[pair], group.get("count"));
+                assertEquals(sums[pair], group.get("sum(Bid Low Price)").doubleValue(), 1e-6);
+                assertEquals(mins[pair], group.get("min(bid low price)"));
+                assertEquals(maxes[pair], group.get("max(bid low price)"));
+                assertEquals(sums[pair] / counts[pair], group.get("average").doubleValue(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testApproximateDistinctAndQuantile() throws IOException {
+        StringBuilder content = new StringBuilder("currency pair|bid low price\n");
+        double[] prices = new double[20000];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 1 + (i * 7919L % prices.length) / 10.0;
+            content.append("PAIR").append(i % 3000).append('|').append(prices[i]).append('\n');
+        }
+        File file = writeFile(content.toString());
+
+        List<CSVAggregator.Group> groups = new CSVAggregator.Builder()
+                .withDelimiter("|")
+                .withAggregate(Aggregate.countDistinct("currency pair"))
+                .withAggregate(Aggregate.quantile("bid low price", 0.5).as("median"))
+                .withAggregate(Aggregate.quantile("bid low price", 0.99, 0.005).as("p99"))
+                .withParallelism(3)
+                .build()
+                .aggregate(file);
+
+        assertEquals(1, groups.size());
+        CSVAggregator.Group total = groups.get(0);
+        assertEquals(List.of(), total.key());
+        long distinct = total.get("count_distinct(currency pair)").longValue();
+        assertTrue(Math.abs(distinct - 3000) < 3000 * 0.05, "Distinct estimate " + distinct);
+
+        Arrays.sort(prices);
+        double median = prices[(int) (0.5 * (prices.length - 1))];
+        double p99 = prices[(int) (0.99 * (prices.length - 1))];
+        assertEquals(median, total.get("median").doubleValue(), median * 0.01);
+        assertEquals(p99, total.get("p99").doubleValue(), p99 * 0.005);
+    }
+
+    @Test
+    void testInvalidRowsAreSkippedOrHalt() throws IOException {
+        File file = writeFile("currency pair,bid low price,venue\n"
+                + "EUR/USD,1.10,LDN\n"
+                + "EUR/USD,abc,LDN\n"
+                + "EUR/USD,1.20,LDN,extra\n"
+                + "EUR/USD,,LDN\n"
+                + "EUR/USD,1.30,LDN\n");
+
+        CSVAggregator.Group group = new CSVAggregator.Builder()
+                .groupBy("currency pair")
+                .withAggregate(Aggregate.count())
+                .withAggregate(Aggregate.count("bid low price"))
+                .withAggregate(Aggregate.sum("bid low price"))
+                .build()
+                .aggregate(file)
+                .get(0);
+        assertEquals(3L, group.get("count")); // Empty value is counted as a row but not as a value
+        assertEquals(2L, group.get("count(bid low price)"));
+        assertEquals(2.4, group.get("sum(bid low price)").doubleValue(), 1e-9);
+
+        CSVAggregator halting = new CSVAggregator.Builder()
+                .groupBy("currency pair")
+                .withAggregate(Aggregate.sum("bid low price"))
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .withParallelism(2)
+                .build();
+        CSVParseException ex = assertThrows(CSVParseException.class, () -> halting.aggregate(file));
+        assertEquals("Error parsing line 3", ex.getMessage());
+
+        writeFile("currency pair,bid low price\nEUR/USD,1.10\nEUR/USD,1.20,extra\n");
+        ex = assertThrows(CSVParseException.class, () -> halting.aggregate(file));
+        assertEquals("Error parsing line 3", ex.getMessage());
+        assertEquals("Column count mismatch at line 3. Expected: 2, Found: 3", ex.getCause().getMessage());
+    }
+
+    @Test
+    void testTrailingEmptyFieldsAreDroppedLikeParse() throws IOException {
+        CSVAggregator aggregator = new CSVAggregator.Builder()
+                .groupBy("currency pair")
+                .withAggregate(Aggregate.count())
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .build();
+
+        // A trailing delimiter adds no field in a three-column file
+        File file = writeFile("currency pair,bid low price,num of rungs bid\nEUR/USD,1.10,5,\nEUR/USD,1.20,6\n");
+        assertEquals(2L, aggregator.aggregate(file).get(0).get("count"));
+
+        // Trailing empty values leave too few fields in a four-column file
+        writeFile("currency pair,bid low price,num of rungs bid,venue\nEUR/USD,1.10,5,LDN\nEUR/USD,1.20,,\n");
+        CSVParseException ex = assertThrows(CSVParseException.class, () -> aggregator.aggregate(file));
+        assertEquals("Column count mismatch at line 3. Expected: 4, Found: 2", ex.getCause().getMessage());
+    }
+
+    @Test
+    void testUnknownColumnAndInvalidConfiguration() throws IOException {
+        File file = writeFile("currency pair,bid low price\nEUR/USD,1.10\n");
+
+        CSVAggregator aggregator = new CSVAggregator.Builder()
+                .groupBy("pair")
+                .withAggregate(Aggregate.count())
+                .build();
+        assertThrows(CSVParseException.class, () -> aggregator.aggregate(file));
+        assertThrows(IllegalStateException.class, () -> new CSVAggregator.Builder().build());
+        assertThrows(IllegalStateException.class, () -> new CSVAggregator.Builder()
+                .withAggregate(Aggregate.sum("bid low price"))
+                .withAggregate(Aggregate.sum("bid low price"))
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> Aggregate.quantile("bid low price", 1.5));
+    }
+}
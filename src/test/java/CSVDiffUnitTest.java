@@ -0,0 +1,163 @@
+import org.example.CSVDiff;
+import org.example.CSVParseException;
+import org.example.CSVParserConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVDiffUnitTest {
+
+    private static final String HEADER = "Currency Pair,Bid Low Price,Bid Upper Price,Offer Low Price,Offer Upper Price,Num. of Rungs Bid,Num. of Rungs Offer";
+
+    @TempDir
+    Path tempDir;
+
+    private File writeCsv(String name, String... rows) throws IOException {
+        File file = tempDir.resolve(name).toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(HEADER + "\n");
+            for (String row : rows) {
+                writer.write(row + "\n");
+            }
+        }
+        return file;
+    }
+
+    private void assertChanges(List<CSVDiff.RowChange> changes) {
+        changes.sort(Comparator.comparing(change -> change.key().get(0)));
+        assertEquals(3, changes.size());
+
+        assertEquals(CSVDiff.ChangeType.REMOVED, changes.get(0).type());
+        assertEquals(List.of("AUD/USD"), changes.get(0).key());
+        assertNull(changes.get(0).newValues());
+
+        assertEquals(CSVDiff.ChangeType.CHANGED, changes.get(1).type());
+        assertEquals(List.of("EUR/USD"), changes.get(1).key());
+        assertEquals(1, changes.get(1).fieldChanges().size());
+        CSVDiff.FieldChange fieldChange = changes.get(1).fieldChanges().get(0);
+        assertEquals("Bid Upper Price", fieldChange.column());
+        assertEquals("1.17089", fieldChange.oldValue());
+        assertEquals("1.1709", fieldChange.newValue());
+
+        assertEquals(CSVDiff.ChangeType.ADDED, changes.get(2).type());
+        assertEquals(List.of("USD/CAD"), changes.get(2).key());
+        assertEquals("1.2912", changes.get(2).newValues()[1]);
+    }
+
+    @Test
+    void testHashedDiff() throws IOException {
+        File yesterday = writeCsv("yesterday.csv",
+                "EUR/USD,1.1704,1.17089,1.17091,1.1714,5,5",
+                "AUD/USD,0.7631,0.76359,0.76361,0.7641,5,5",
+                "EUR/CHF,1.1532,1.15369,1.15371,1.1542,5,5");
+        File today = writeCsv("today.csv",
+                "EUR/CHF,1.1532,1.15369,1.15371,1.1542,5,5",
+                "USD/CAD,1.2912,1.29169,1.29171,1.2922,5,5",
+                "EUR/USD,1.1704,1.1709,1.17091,1.1714,5,5");
+
+        assertChanges(new CSVDiff.Builder().withKey("Currency Pair").build().diff(yesterday, today));
+    }
+
+    @Test
+    void testSortedMergeDiff() throws IOException {
+        File yesterday = writeCsv("yesterday.csv",
+                "AUD/USD,0.7631,0.76359,0.76361,0.7641,5,5",
+                "EUR/CHF,1.1532,1.15369,1.15371,1.1542,5,5",
+                "EUR/USD,1.1704,1.17089,1.17091,1.1714,5,5");
+        File today = writeCsv("today.csv",
+                "EUR/CHF,1.1532,1.15369,1.15371,1.1542,5,5",
+                "EUR/USD,1.1704,1.1709,1.17091,1.1714,5,5",
+                "USD/CAD,1.2912,1.29169,1.29171,1.2922,5,5");
+
+        assertChanges(new CSVDiff.Builder().withKey("currency pair").withSortedInput(true).build().diff(yesterday, today));
+    }
+
+    @Test
+    void testPartitionedDiff() throws IOException {
+        File yesterday = writeCsv("yesterday.csv",
+                "EUR/USD,1.1704,1.17089,1.17091,1.1714,5,5",
+                "AUD/USD,0.7631,0.76359,0.76361,0.7641,5,5",
+                "EUR/CHF,1.1532,1.15369,1.15371,1.1542,5,5");
+        File today = writeCsv("today.csv",
+                "EUR/CHF,1.1532,1.15369,1.15371,1.1542,5,5",
+                "USD/CAD,1.2912,1.29169,1.29171,1.2922,5,5",
+                "EUR/USD,1.1704,1.1709,1.17091,1.1714,5,5");
+        File spillDir = Files.createDirectory(tempDir.resolve("spill")).toFile();
+
+        CSVDiff diff = new CSVDiff.Builder()
+                .withKey("Currency Pair")
+                .withMemoryBudget(64)
+                .withTempDirectory(spillDir)
+                .build();
+
+        assertChanges(diff.diff(yesterday, today));
+        assertEquals(0, spillDir.listFiles().length);
+    }
+
+    @Test
+    void testTypedComparisonIgnoresFormattingChanges() throws IOException {
+        File yesterday = writeCsv("yesterday.csv", "EUR/USD,1.10,1.2,1.3,1.4,5,6");
+        File today = writeCsv("today.csv", "EUR/USD,1.1,1.2,1.3,1.4,5,7");
+
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "num. of rungs offer", "numOfRungsOffer"
+                ))
+                .build();
+        List<CSVDiff.RowChange> changes = new CSVDiff.Builder().withKey("Currency Pair").withConfig(config).build()
+                .diff(yesterday, today);
+
+        assertEquals(1, changes.size());
+        assertEquals(1, changes.get(0).fieldChanges().size());
+        CSVDiff.FieldChange fieldChange = changes.get(0).fieldChanges().get(0);
+        assertEquals("Num. of Rungs Offer", fieldChange.column());
+        assertEquals(6, fieldChange.oldTyped());
+        assertEquals(7, fieldChange.newTyped());
+    }
+
+    @Test
+    void testUnsortedInputRejectedInSortedMode() throws IOException {
+        File yesterday = writeCsv("yesterday.csv", "EUR/USD,1.1,1.2,1.3,1.4,5,6", "AUD/USD,1.1,1.2,1.3,1.4,5,6");
+        File today = writeCsv("today.csv", "EUR/USD,1.1,1.2,1.3,1.4,5,6");
+
+        CSVDiff diff = new CSVDiff.Builder().withKey("Currency Pair").withSortedInput(true).build();
+        Exception exception = assertThrows(CSVParseException.class, () -> diff.diff(yesterday, today));
+        assertTrue(exception.getMessage().contains("not sorted"));
+    }
+
+    @Test
+    void testDuplicateNewKeyRejectedInEveryMode() throws IOException {
+        File yesterday = writeCsv("yesterday.csv", "EUR/USD,1.1,1.2,1.3,1.4,5,6", "AUD/USD,1.1,1.2,1.3,1.4,5,6");
+        File today = writeCsv("today.csv", "AUD/USD,1.1,1.2,1.3,1.4,5,6", "EUR/USD,1.1,1.2,1.3,1.4,5,6",
+                "EUR/USD,1.1,1.2,1.3,1.4,5,7");
+        File sortedYesterday = writeCsv("sorted.csv", "AUD/USD,1.1,1.2,1.3,1.4,5,6", "EUR/USD,1.1,1.2,1.3,1.4,5,6");
+
+        CSVDiff hashed = new CSVDiff.Builder().withKey("Currency Pair").build();
+        Exception exception = assertThrows(CSVParseException.class, () -> hashed.diff(yesterday, today));
+        assertEquals("Duplicate key 'EUR/USD' at line 4", exception.getMessage());
+        File added = writeCsv("added.csv", "USD/CAD,1.1,1.2,1.3,1.4,5,6", "USD/CAD,1.1,1.2,1.3,1.4,5,7");
+        exception = assertThrows(CSVParseException.class, () -> hashed.diff(yesterday, added));
+        assertEquals("Duplicate key 'USD/CAD' at line 3", exception.getMessage());
+
+        CSVDiff sorted = new CSVDiff.Builder().withKey("Currency Pair").withSortedInput(true).build();
+        exception = assertThrows(CSVParseException.class, () -> sorted.diff(sortedYesterday, today));
+        assertEquals("Duplicate key 'EUR/USD' at line 4", exception.getMessage());
+
+        // Partition files have their own line numbers, so the source file is reported instead
+        CSVDiff partitioned = new CSVDiff.Builder().withKey("Currency Pair").withMemoryBudget(64).build();
+        exception = assertThrows(CSVParseException.class, () -> partitioned.diff(yesterday, today));
+        assertEquals("Duplicate key 'EUR/USD' in " + today.getPath(), exception.getMessage());
+    }
+}
@@ -0,0 +1,115 @@
+import org.example.CSVJoiner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVJoinerUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File trades;
+
+    private File instruments;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        trades = tempDir.resolve("trades.csv").toFile();
+        try (FileWriter writer = new FileWriter(trades)) {
+            writer.write("Trade Id,Currency Pair,Quantity\n");
+            writer.write("1,EUR/USD,100\n");
+            writer.write("2,USD/JPY,200\n");
+            writer.write("3,GBP/USD,300\n");
+            writer.write("4,EUR/USD,400\n");
+        }
+
+        instruments = tempDir.resolve("instruments.csv").toFile();
+        try (FileWriter writer = new FileWriter(instruments)) {
+            writer.write("Currency Pair,Pip Size,Region\n");
+            writer.write("EUR/USD,0.0001,EMEA\n");
+            writer.write("USD/JPY,0.01,APAC\n");
+            writer.write("USD/JPY,0.01,AMER\n");
+        }
+    }
+
+    private List<String> join(CSVJoiner joiner) {
+        List<String> rows = new ArrayList<>();
+        joiner.join(trades, instruments, values -> rows.add(String.join(",", values)));
+        return rows;
+    }
+
+    @Test
+    void testInnerJoin() {
+        CSVJoiner joiner = new CSVJoiner.Builder().on("currency pair").build();
+
+        assertEquals(List.of(
+                "1,EUR/USD,100,0.0001,EMEA",
+                "2,USD/JPY,200,0.01,APAC",
+                "2,USD/JPY,200,0.01,AMER",
+                "4,EUR/USD,400,0.0001,EMEA"), join(joiner));
+        assertArrayEquals(new String[]{"Trade Id", "Currency Pair", "Quantity", "Pip Size", "Region"},
+                joiner.joinedHeaders(trades, instruments));
+    }
+
+    @Test
+    void testLeftJoinToFile() throws IOException {
+        File output = tempDir.resolve("joined.csv").toFile();
+        new CSVJoiner.Builder()
+                .on("Currency Pair", "currency pair")
+                .withJoinType(CSVJoiner.JoinType.LEFT)
+                .build()
+                .join(trades, instruments, output);
+
+        assertEquals(List.of(
+                "Trade Id,Currency Pair,Quantity,Pip Size,Region",
+                "1,EUR/USD,100,0.0001,EMEA",
+                "2,USD/JPY,200,0.01,APAC",
+                "2,USD/JPY,200,0.01,AMER",
+                "3,GBP/USD,300,,",
+                "4,EUR/USD,400,0.0001,EMEA"), Files.readAllLines(output.toPath()));
+    }
+
+    @Test
+    void testPartitionedJoinWhenBuildSideExceedsBudget() throws IOException {
+        File largeInstruments = tempDir.resolve("large-instruments.csv").toFile();
+        File largeTrades = tempDir.resolve("large-trades.csv").toFile();
+        try (FileWriter build = new FileWriter(largeInstruments); FileWriter probe = new FileWriter(largeTrades)) {
+            build.write("Currency Pair,Pip Size\n");
+            probe.write("Trade Id,Currency Pair\n");
+            for (int i = 0; i < 2000; i++) {
+                build.write("PAIR" + i + "," + i + "\n");
+                probe.write(i + ",PAIR" + (i * 7 % 2500) + "\n");
+            }
+        }
+        File spillDir = Files.createDirectory(tempDir.resolve("spill")).toFile();
+
+        CSVJoiner joiner = new CSVJoiner.Builder()
+                .on("Currency Pair")
+                .withJoinType(CSVJoiner.JoinType.LEFT)
+                .withMemoryBudget(8 * 1024)
+                .withTempDirectory(spillDir)
+                .build();
+        List<String[]> rows = new ArrayList<>();
+        joiner.join(largeTrades, largeInstruments, rows::add);
+
+        assertEquals(2000, rows.size());
+        rows.sort((a, b) -> Integer.compare(Integer.parseInt(a[0]), Integer.parseInt(b[0])));
+        for (String[] row : rows) {
+            int pair = Integer.parseInt(row[0]) * 7 % 2500;
+            String expected = pair < 2000 ? String.valueOf(pair) : "";
+            assertEquals(expected, row[2], Arrays.toString(row));
+        }
+        assertEquals(0, spillDir.listFiles().length);
+    }
+}
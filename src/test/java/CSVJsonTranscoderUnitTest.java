@@ -0,0 +1,193 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.CSVJsonTranscoder;
+import org.example.CSVParseException;
+import org.example.CSVParserConfig;
+import org.example.ValidationRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVJsonTranscoderUnitTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private static CSVParserConfig<CSVParserUnitTest.CurrencyPair> config(CSVParserConfig.ErrorHandlingStrategy strategy) {
+        return new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "num. of rungs bid", "numOfRungsBid"
+                ))
+                .withErrorHandlingStrategy(strategy)
+                .build();
+    }
+
+    @Test
+    void testTypedNdjsonMatchesObjectMapperOutput() throws IOException {
+        File input = tempDir.resolve("input.csv").toFile();
+        try (FileWriter writer = new FileWriter(input)) {
+            writer.write("Currency Pair,Bid Low Price,Num. of Rungs Bid\n");
+            writer.write("EUR/USD, 1.17 ,5\r\n");
+            writer.write("\n");
+            writer.write("INVALID,abc,5\n");
+            writer.write("\"GBP\"/USD,+2,007\n");
+            writer.write(", ,0\n");
+        }
+        File output = tempDir.resolve("output.json").toFile();
+
+        long rows = new CSVJsonTranscoder.Builder()
+                .withConfig(config(CSVParserConfig.ErrorHandlingStrategy.CONTINUE_ON_ERROR))
+                .build()
+                .transcode(input, output);
+
+        List<String> lines = Files.readAllLines(output.toPath());
+        assertEquals(3, rows); // Invalid row is skipped
+        assertEquals(3, lines.size());
+        assertEquals("{\"currencyPair\":\"EUR/USD\",\"bidLowPrice\":1.17,\"numOfRungsBid\":5}", lines.get(0));
+        assertEquals("{\"currencyPair\":\"\\\"GBP\\\"/USD\",\"bidLowPrice\":2.0,\"numOfRungsBid\":7}", lines.get(1));
+        assertEquals("{\"currencyPair\":null,\"bidLowPrice\":0.0,\"numOfRungsBid\":0}", lines.get(2));
+
+        // Same values as serializing parsed objects
+        JsonNode node = MAPPER.readTree(lines.get(1));
+        assertEquals("\"GBP\"/USD", node.get("currencyPair").asText());
+        assertEquals(2.0, node.get("bidLowPrice").asDouble());
+    }
+
+    @Test
+    void testHaltOnErrorStopsWithoutPartialObject() {
+        StringWriter output = new StringWriter();
+        CSVJsonTranscoder transcoder = new CSVJsonTranscoder.Builder()
+                .withConfig(config(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR))
+                .build();
+
+        Exception exception = assertThrows(CSVParseException.class, () -> transcoder.transcode(
+                new StringReader("Currency Pair,Bid Low Price,Num. of Rungs Bid\nEUR/USD,1.1,5\nBAD,1.2,x\n"), output));
+
+        assertEquals("Error parsing line 3", exception.getMessage());
+        assertFalse(output.toString().contains("BAD"));
+    }
+
+    @Test
+    void testValidationRulesApply() {
+        String csv = "Currency Pair,Bid Low Price,Num. of Rungs Bid\n"
+                + "EUR/USD,1.1,5\n"
+                + "eur/gbp,0.85,3\n" // Lower case pair
+                + "GBP/USD,1.3,12\n" // Too many rungs
+                + "USD/JPY,,7\n";
+        CSVParserConfig.Builder<CSVParserUnitTest.CurrencyPair> config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "num. of rungs bid", "numOfRungsBid"
+                ))
+                .withValidationRule(ValidationRule.matches("currencyPair", "[A-Z]{3}/[A-Z]{3}"))
+                .withValidationRule(ValidationRule.range("numOfRungsBid", 1, 10));
+
+        StringWriter output = new StringWriter();
+        long rows = new CSVJsonTranscoder.Builder()
+                .withConfig(config.build())
+                .build()
+                .transcode(new StringReader(csv), output);
+        assertEquals(2, rows);
+        assertEquals("{\"currencyPair\":\"EUR/USD\",\"bidLowPrice\":1.1,\"numOfRungsBid\":5}\n"
+                + "{\"currencyPair\":\"USD/JPY\",\"bidLowPrice\":0.0,\"numOfRungsBid\":7}\n", output.toString());
+
+        CSVJsonTranscoder halting = new CSVJsonTranscoder.Builder()
+                .withConfig(config.withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR).build())
+                .build();
+        Exception exception = assertThrows(CSVParseException.class,
+                () -> halting.transcode(new StringReader(csv), new StringWriter()));
+        assertEquals("Validation failed at line 3: column 'currencyPair' must match '[A-Z]{3}/[A-Z]{3}', found 'eur/gbp'",
+                exception.getMessage());
+    }
+
+    @Test
+    void testHaltedTranscodeLeavesExistingOutputUntouched() throws IOException {
+        File input = tempDir.resolve("input.csv").toFile();
+        try (FileWriter writer = new FileWriter(input)) {
+            writer.write("Currency Pair,Bid Low Price,Num. of Rungs Bid\nEUR/USD,1.1,5\nBAD,1.2,x\n");
+        }
+        File output = tempDir.resolve("output.json").toFile();
+        Files.writeString(output.toPath(), "[]");
+        CSVJsonTranscoder transcoder = new CSVJsonTranscoder.Builder()
+                .withConfig(config(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR))
+                .withOutputMode(CSVJsonTranscoder.OutputMode.ARRAY)
+                .build();
+
+        assertThrows(CSVParseException.class, () -> transcoder.transcode(input, output));
+
+        assertEquals("[]", Files.readString(output.toPath()));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of("input.csv", "output.json"), files.map(f -> f.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    @Test
+    void testHaltOnColumnCountMismatchReportsLine() {
+        CSVJsonTranscoder transcoder = new CSVJsonTranscoder.Builder()
+                .withConfig(config(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR))
+                .build();
+
+        Exception exception = assertThrows(CSVParseException.class, () -> transcoder.transcode(
+                new StringReader("Currency Pair,Bid Low Price,Num. of Rungs Bid\nEUR/USD,1.1,5\nGBP/USD,1.2\n"),
+                new StringWriter()));
+
+        assertEquals("Error parsing line 3", exception.getMessage());
+        assertEquals("Column count mismatch at line 3. Expected: 3, Found: 2", exception.getCause().getMessage());
+    }
+
+    @Test
+    void testInferredSchemaArrayOutput() throws IOException {
+        String csv = "id|price|active|notes|name\n"
+                + "1|10|true||alpha\n"
+                + "2|10.5|FALSE||007\n"
+                + "3|1e3|true||gamma\n"
+                + "x|7|maybe|note|delta\n";
+        StringWriter output = new StringWriter();
+
+        long rows = new CSVJsonTranscoder.Builder()
+                .withDelimiter("|")
+                .withOutputMode(CSVJsonTranscoder.OutputMode.ARRAY)
+                .withInferenceSampleSize(3)
+                .build()
+                .transcode(new StringReader(csv), output);
+
+        assertEquals(4, rows);
+        JsonNode array = MAPPER.readTree(output.toString());
+        assertTrue(array.isArray());
+        assertEquals(4, array.size());
+        assertTrue(array.get(0).get("id").isIntegralNumber());
+        assertTrue(array.get(1).get("price").isDouble());
+        assertFalse(array.get(1).get("active").asBoolean());
+        assertEquals("007", array.get(1).get("name").asText());
+        assertTrue(array.get(0).get("notes").isNull());
+        assertEquals(1000.0, array.get(2).get("price").asDouble());
+        // Values outside the sampled rows that do not fit the inferred type are kept as strings
+        assertEquals("x", array.get(3).get("id").asText());
+        assertEquals("maybe", array.get(3).get("active").asText());
+        assertEquals("note", array.get(3).get("notes").asText());
+    }
+
+    @Test
+    void testEmptyInputFails() {
+        CSVJsonTranscoder transcoder = new CSVJsonTranscoder.Builder().build();
+
+        assertThrows(CSVParseException.class, () -> transcoder.transcode(new StringReader(""), new StringWriter()));
+    }
+}
@@ -0,0 +1,135 @@
+import org.example.CSVParserConfig;
+import org.example.CSVSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVSnapshotCacheUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File csvFile;
+
+    private File cacheDir;
+
+    private CSVParserConfig<CSVParserUnitTest.CurrencyPair> config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csvFile = tempDir.resolve("test.csv").toFile();
+        cacheDir = tempDir.resolve("cache").toFile();
+        try (FileWriter writer = new FileWriter(csvFile)) {
+            writer.write("currency pair,bid low price,bid upper price,offer low price,offer upper price,num. of rungs bid,num. of rungs offer\n");
+            writer.write("EUR/USD,1.1,1.2,1.3,1.4,5,6\n");
+            writer.write("GBP/USD,1.5,1.6,1.7,1.8,7,8\n");
+        }
+
+        config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "bid upper price", "bidUpperPrice",
+                        "offer low price", "offerLowPrice",
+                        "offer upper price", "offerUpperPrice",
+                        "num. of rungs bid", "numOfRungsBid",
+                        "num. of rungs offer", "numOfRungsOffer"
+                ))
+                .build();
+    }
+
+    @Test
+    void testSecondParseLoadsSnapshot() {
+        CSVSnapshotCache cache = new CSVSnapshotCache(cacheDir, 1024 * 1024, true);
+
+        List<CSVParserUnitTest.CurrencyPair> first = cache.parse(csvFile, config);
+        List<CSVParserUnitTest.CurrencyPair> second = cache.parse(csvFile, config);
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(first.size(), second.size());
+        assertEquals(first.get(1).toString(), second.get(1).toString());
+        assertEquals("GBP/USD", second.get(1).getCurrencyPair());
+        assertEquals(7, second.get(1).getNumOfRungsBid());
+    }
+
+    @Test
+    void testSnapshotInvalidatedWhenFileChanges() throws IOException {
+        CSVSnapshotCache cache = new CSVSnapshotCache(cacheDir, 1024 * 1024);
+        cache.parse(csvFile, config);
+
+        try (FileWriter writer = new FileWriter(csvFile, true)) {
+            writer.write("USD/JPY,1.9,2.0,2.1,2.2,9,10\n");
+        }
+        List<CSVParserUnitTest.CurrencyPair> reparsed = cache.parse(csvFile, config);
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(3, reparsed.size());
+        assertEquals("USD/JPY", reparsed.get(2).getCurrencyPair());
+    }
+
+    @Test
+    void testDifferentConfigUsesSeparateSnapshot() {
+        CSVSnapshotCache cache = new CSVSnapshotCache(cacheDir, 1024 * 1024);
+        cache.parse(csvFile, config);
+
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> otherConfig = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(config.getHeaderMapping())
+                .withTrimFields(false)
+                .build();
+        cache.parse(csvFile, otherConfig);
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cacheDir.listFiles((dir, name) -> name.endsWith(".snapshot")).length);
+    }
+
+    @Test
+    void testLeastRecentlyUsedSnapshotEvicted() throws IOException {
+        File otherFile = tempDir.resolve("other.csv").toFile();
+        try (FileWriter writer = new FileWriter(otherFile)) {
+            writer.write("currency pair,bid low price,bid upper price,offer low price,offer upper price,num. of rungs bid,num. of rungs offer\n");
+            writer.write("AUD/USD,0.7,0.8,0.9,1.0,3,4\n");
+        }
+
+        CSVSnapshotCache cache = new CSVSnapshotCache(cacheDir, 1);
+        cache.parse(csvFile, config);
+        cache.parse(otherFile, config);
+
+        assertTrue(cache.getEvictionCount() >= 1);
+        assertEquals(0, cacheDir.listFiles((dir, name) -> name.endsWith(".snapshot")).length);
+        assertEquals(1, cache.parse(otherFile, config).size());
+    }
+
+    @Test
+    void testCorruptSnapshotIsRebuilt() throws IOException {
+        CSVSnapshotCache cache = new CSVSnapshotCache(cacheDir, 1024 * 1024);
+        cache.parse(csvFile, config);
+
+        // Overwrite the length of the first currency pair string with -1
+        Path snapshot = cacheDir.listFiles((dir, name) -> name.endsWith(".snapshot"))[0].toPath();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        int value = new String(bytes, StandardCharsets.ISO_8859_1).indexOf("EUR/USD");
+        Arrays.fill(bytes, value - 4, value, (byte) 0xFF);
+        Files.write(snapshot, bytes);
+
+        List<CSVParserUnitTest.CurrencyPair> reparsed = cache.parse(csvFile, config);
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertEquals("EUR/USD", reparsed.get(0).getCurrencyPair());
+        assertEquals(2, cache.parse(csvFile, config).size());
+        assertEquals(1, cache.getHitCount());
+    }
+}
@@ -0,0 +1,131 @@
+import org.example.CSVParseException;
+import org.example.CSVSorter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVSorterUnitTest {
+
+    private static final String HEADER = "Currency Pair,Bid Low Price,Num. of Rungs Bid";
+
+    @TempDir
+    Path tempDir;
+
+    private File writeCsv(String name, List<String> rows) throws IOException {
+        File file = tempDir.resolve(name).toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(HEADER + "\n");
+            for (String row : rows) {
+                writer.write(row + "\n");
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void testSortInMemoryByMultipleKeys() throws IOException {
+        File input = writeCsv("input.csv", List.of(
+                "USD/JPY,110.5,5",
+                "EUR/USD,1.17,5",
+                "EUR/USD,-1.5,3",
+                "EUR/USD,1.18,4",
+                "AUD/USD,0.76,5"));
+        File output = tempDir.resolve("sorted.csv").toFile();
+
+        new CSVSorter.Builder()
+                .withKey(CSVSorter.SortKey.ascending("currency pair", CSVSorter.KeyType.STRING))
+                .withKey(CSVSorter.SortKey.descending("Bid Low Price", CSVSorter.KeyType.DOUBLE))
+                .build()
+                .sort(input, output);
+
+        assertEquals(List.of(HEADER,
+                "AUD/USD,0.76,5",
+                "EUR/USD,1.18,4",
+                "EUR/USD,1.17,5",
+                "EUR/USD,-1.5,3",
+                "USD/JPY,110.5,5"), Files.readAllLines(output.toPath()));
+    }
+
+    @Test
+    void testExternalSortMatchesInMemorySort() throws IOException {
+        Random random = new Random(42);
+        String[] pairs = {"EUR/USD", "GBP/USD", "USD/JPY", "AUD/USD", "USD/CAD"};
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rows.add(pairs[random.nextInt(pairs.length)] + "," + (random.nextInt(2000) - 1000) / 10.0 + "," + i);
+        }
+        File input = writeCsv("large.csv", rows);
+        File runDir = Files.createDirectory(tempDir.resolve("runs")).toFile();
+
+        List<String> sorted = new ArrayList<>();
+        new CSVSorter.Builder()
+                .withKey(CSVSorter.SortKey.ascending("Currency Pair", CSVSorter.KeyType.STRING))
+                .withKey(CSVSorter.SortKey.ascending("Bid Low Price", CSVSorter.KeyType.DOUBLE))
+                .withMemoryBudget(16 * 1024)
+                .withParallelism(3)
+                .withMaxMergeFanIn(4)
+                .withTempDirectory(runDir)
+                .build()
+                .sort(input, sorted::add);
+
+        List<String> expected = new ArrayList<>(rows);
+        expected.sort(Comparator.<String, String>comparing(row -> row.split(",")[0])
+                .thenComparingDouble(row -> Double.parseDouble(row.split(",")[1])));
+        assertEquals(expected, sorted); // Equal keys keep their input order
+        assertEquals(0, runDir.listFiles().length); // Spilled runs are cleaned up
+    }
+
+    @Test
+    void testSortByLongKeyWithEmptyValues() throws IOException {
+        File input = writeCsv("input.csv", List.of("A,1.0,10", "B,1.0,", "C,1.0,-2", "D,1.0,3"));
+
+        List<String> sorted = new ArrayList<>();
+        new CSVSorter.Builder()
+                .withKey(CSVSorter.SortKey.ascending("Num. of Rungs Bid", CSVSorter.KeyType.LONG))
+                .build()
+                .sort(input, sorted::add);
+
+        assertEquals(List.of("B,1.0,", "C,1.0,-2", "D,1.0,3", "A,1.0,10"), sorted);
+    }
+
+    @Test
+    void testInvalidNumericKeyFails() throws IOException {
+        File input = writeCsv("input.csv", List.of("A,1.0,10", "B,abc,5"));
+        CSVSorter sorter = new CSVSorter.Builder()
+                .withKey(CSVSorter.SortKey.ascending("Bid Low Price", CSVSorter.KeyType.DOUBLE))
+                .build();
+
+        Exception exception = assertThrows(CSVParseException.class, () -> sorter.sort(input, row -> { }));
+        assertTrue(exception.getMessage().contains("at line 3"));
+    }
+
+    @Test
+    void testSortInPlaceAndFailedSortKeepsOutput() throws IOException {
+        File input = writeCsv("input.csv", List.of("B,2.0,1", "A,1.0,2"));
+        CSVSorter sorter = new CSVSorter.Builder()
+                .withKey(CSVSorter.SortKey.ascending("Bid Low Price", CSVSorter.KeyType.DOUBLE))
+                .build();
+
+        sorter.sort(input, input);
+        assertEquals(List.of(HEADER, "A,1.0,2", "B,2.0,1"), Files.readAllLines(input.toPath()));
+
+        File invalid = writeCsv("invalid.csv", List.of("C,3.0,1", "D,abc,2"));
+        assertThrows(CSVParseException.class, () -> sorter.sort(invalid, input));
+        assertEquals(List.of(HEADER, "A,1.0,2", "B,2.0,1"), Files.readAllLines(input.toPath()));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of("input.csv", "invalid.csv"), files.map(f -> f.getFileName().toString()).sorted().toList());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+import org.example.CSVParserConfig;
+import org.example.CachingCSVParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingCSVParserUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File csvFile;
+
+    private CSVParserConfig<CSVParserUnitTest.CurrencyPair> config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csvFile = writeCsv("test.csv", "EUR/USD,1.1,1.2,1.3,1.4,5,6\n", "GBP/USD,1.5,1.6,1.7,1.8,7,8\n");
+
+        config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "bid upper price", "bidUpperPrice",
+                        "offer low price", "offerLowPrice",
+                        "offer upper price", "offerUpperPrice",
+                        "num. of rungs bid", "numOfRungsBid",
+                        "num. of rungs offer", "numOfRungsOffer"
+                ))
+                .build();
+    }
+
+    private File writeCsv(String name, String... rows) throws IOException {
+        File file = tempDir.resolve(name).toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("currency pair,bid low price,bid upper price,offer low price,offer upper price,num. of rungs bid,num. of rungs offer\n");
+            for (String row : rows) {
+                writer.write(row);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void testRepeatedParseIsServedFromCache() {
+        CachingCSVParser parser = new CachingCSVParser(10, 1000);
+
+        List<CSVParserUnitTest.CurrencyPair> first = parser.parse(csvFile, config);
+        List<CSVParserUnitTest.CurrencyPair> second = parser.parse(csvFile, config);
+
+        assertSame(first, second);
+        assertEquals(1, parser.getStats().loads());
+        assertEquals(1, parser.getStats().hits());
+        assertThrows(UnsupportedOperationException.class, () -> second.add(new CSVParserUnitTest.CurrencyPair()));
+    }
+
+    @Test
+    void testEqualConfigsShareEntry() {
+        CachingCSVParser parser = new CachingCSVParser(10, 1000);
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> equalConfig = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(config.getHeaderMapping())
+                .build();
+
+        parser.parse(csvFile, config);
+        parser.parse(csvFile, equalConfig);
+
+        assertEquals(1, parser.getStats().loads());
+    }
+
+    @Test
+    void testModifiedFileIsReloaded() throws IOException {
+        CachingCSVParser parser = new CachingCSVParser(10, 1000);
+        parser.parse(csvFile, config);
+
+        try (FileWriter writer = new FileWriter(csvFile, true)) {
+            writer.write("USD/JPY,1.9,2.0,2.1,2.2,9,10\n");
+        }
+
+        assertEquals(3, parser.parse(csvFile, config).size());
+        assertEquals(2, parser.getStats().loads());
+        assertEquals(1, parser.getStats().invalidations());
+    }
+
+    @Test
+    void testEvictionByEntriesAndWeight() throws IOException {
+        File small = writeCsv("small.csv", "EUR/USD,1.1,1.2,1.3,1.4,5,6\n");
+        File other = writeCsv("other.csv", "AUD/USD,0.7,0.8,0.9,1.0,3,4\n");
+
+        CachingCSVParser byEntries = new CachingCSVParser(1, 1000);
+        byEntries.parse(small, config);
+        byEntries.parse(other, config);
+        assertEquals(1, byEntries.getStats().size());
+        assertEquals(1, byEntries.getStats().evictions());
+
+        CachingCSVParser byWeight = new CachingCSVParser(10, 2);
+        byWeight.parse(small, config);
+        byWeight.parse(csvFile, config); // Two rows push the total weight to three
+        assertEquals(1, byWeight.getStats().size());
+        assertEquals(2, byWeight.getStats().weight());
+        byWeight.parse(small, config);
+        assertEquals(3, byWeight.getStats().loads());
+    }
+
+    @Test
+    void testConcurrentCallersShareSingleLoad() throws Exception {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            rows.append("PAIR").append(i).append(",1.1,1.2,1.3,1.4,5,6\n");
+        }
+        File large = writeCsv("large.csv", rows.toString());
+        CachingCSVParser parser = new CachingCSVParser(10, 100000);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<CSVParserUnitTest.CurrencyPair>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return parser.parse(large, config);
+                }));
+            }
+            start.countDown();
+            for (Future<List<CSVParserUnitTest.CurrencyPair>> result : results) {
+                assertEquals(20000, result.get().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, parser.getStats().loads());
+        assertEquals(threads - 1, parser.getStats().hits());
+    }
+}
@@ -0,0 +1,127 @@
+import org.example.CSVParseException;
+import org.example.CSVParser;
+import org.example.CSVParserConfig;
+import org.example.FixedWidthColumn;
+import org.example.FixedWidthLayout;
+import org.example.FixedWidthReader;
+import org.example.PipelinedCSVParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedWidthReaderUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeFile(String content) throws IOException {
+        File file = tempDir.resolve("feed.txt").toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    @Test
+    void testParseAnnotatedLayout() throws IOException {
+        File file = writeFile("PAIR   PRICE   RUN\r\n"
+                + "EUR/USD   1.17   5\r\n"
+                + "                  \r\n"
+                + "GBP/USD     abc  7\r\n"
+                + "USD/JPY 110.50  12\r\n");
+        CSVParserConfig<Quote> config = new CSVParserConfig.Builder<>(Quote.class)
+                .withFixedWidthLayout(new FixedWidthLayout.Builder()
+                        .withAnnotatedColumns(Quote.class)
+                        .withHeaderRecord(true)
+                        .build())
+                .build();
+
+        List<Quote> quotes = CSVParser.parse(file, config);
+
+        assertEquals(2, quotes.size()); // Blank record skipped, invalid record ignored
+        assertEquals("EUR/USD", quotes.get(0).currencyPair);
+        assertEquals(1.17, quotes.get(0).bidLowPrice);
+        assertEquals(5, quotes.get(0).numOfRungsBid);
+        assertEquals("USD/JPY", quotes.get(1).currencyPair);
+        assertEquals(110.5, quotes.get(1).bidLowPrice);
+        assertEquals(12, quotes.get(1).numOfRungsBid);
+    }
+
+    @Test
+    void testSeekToRecordWithNamedColumns() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            // No line breaks between records; zero-padded counts convert without trimming
+            content.append(String.format("%-10s%8.2f%03d", "PAIR" + i, i / 100.0, i % 1000));
+        }
+        File file = writeFile(content.toString());
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice"
+                ))
+                .withFixedWidthLayout(new FixedWidthLayout.Builder()
+                        .withColumn("Currency Pair", 0, 10)
+                        .withColumn("Bid Low Price", 10, 8)
+                        .withColumn("numOfRungsBid", 18, 3)
+                        .build())
+                .build();
+
+        try (FixedWidthReader<CSVParserUnitTest.CurrencyPair> reader = new FixedWidthReader<>(file, config)) {
+            assertEquals(1000, reader.getRecordCount());
+
+            CSVParserUnitTest.CurrencyPair pair = reader.read(742);
+            assertEquals("PAIR742", pair.getCurrencyPair());
+            assertEquals(7.42, pair.getBidLowPrice());
+            assertEquals(742, pair.getNumOfRungsBid());
+
+            List<CSVParserUnitTest.CurrencyPair> tail = reader.read(998, 10);
+            assertEquals(2, tail.size());
+            assertEquals("PAIR999", tail.get(1).getCurrencyPair());
+
+            assertArrayEquals(new String[]{"PAIR5", "0.05", "005"}, reader.readValues(5));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.read(1000));
+        }
+        assertEquals(1000, CSVParser.parse(file, config).size());
+    }
+
+    @Test
+    void testTruncatedRecordHaltsWithLineNumber() throws IOException {
+        File file = writeFile("EUR/USD   1.17   5\nGBP/USD   1.2\n");
+        CSVParserConfig<Quote> config = new CSVParserConfig.Builder<>(Quote.class)
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .withFixedWidthLayout(new FixedWidthLayout.Builder().withAnnotatedColumns(Quote.class).build())
+                .build();
+
+        Exception exception = assertThrows(CSVParseException.class, () -> CSVParser.parse(file, config));
+        assertEquals("Record at line 2 is truncated. Expected: 18 bytes, Found: 13", exception.getMessage());
+    }
+
+    @Test
+    void testDelimitedOnlyEntryPointsRejectLayout() throws IOException {
+        File file = writeFile("EUR/USD   1.17   5\n");
+        CSVParserConfig<Quote> config = new CSVParserConfig.Builder<>(Quote.class)
+                .withFixedWidthLayout(new FixedWidthLayout.Builder().withAnnotatedColumns(Quote.class).build())
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedCSVParser.Builder().build().parse(file, config));
+        assertThrows(IllegalArgumentException.class, () -> CSVParser.parseOffHeap(file, config));
+    }
+
+    public static class Quote {
+        @FixedWidthColumn(start = 0, length = 7)
+        private String currencyPair;
+        @FixedWidthColumn(start = 7, length = 8)
+        private double bidLowPrice;
+        @FixedWidthColumn(start = 15, length = 3)
+        private int numOfRungsBid;
+    }
+}
@@ -0,0 +1,142 @@
+import org.example.CSVParseException;
+import org.example.CSVParser;
+import org.example.CSVParserConfig;
+import org.example.IncrementalCSVParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalCSVParserUnitTest {
+
+    private static final String INPUT = "name,comment,price\r\n"
+            + "EUR/USD,\"quoted, with \"\"escapes\"\"\",1.1\n"
+            + "\n"
+            + "GBP/USD,\"multi\nline\",1.5\n"
+            + "CHF/JPY,caf\u00e9 cr\u00e8me \u20ac,\n"
+            + "USD/JPY,,110.5";
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> parseInFragments(byte[] input, int fragmentSize, boolean direct) {
+        List<String> rows = new ArrayList<>();
+        IncrementalCSVParser parser = new IncrementalCSVParser(",",
+                (values, lineNumber) -> rows.add(lineNumber + ":" + String.join("|", values)));
+        for (int offset = 0; offset < input.length; offset += fragmentSize) {
+            int length = Math.min(fragmentSize, input.length - offset);
+            ByteBuffer fragment = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+            fragment.put(input, offset, length).flip();
+            parser.feed(fragment);
+            assertFalse(fragment.hasRemaining());
+        }
+        parser.endOfInput();
+        return rows;
+    }
+
+    @Test
+    void testRowsAreIndependentOfFragmentBoundaries() {
+        byte[] input = INPUT.getBytes(StandardCharsets.UTF_8);
+        List<String> expected = List.of(
+                "1:name|comment|price",
+                "2:EUR/USD|quoted, with \"escapes\"|1.1",
+                "4:GBP/USD|multi\nline|1.5",
+                "6:CHF/JPY|caf\u00e9 cr\u00e8me \u20ac|",
+                "7:USD/JPY||110.5");
+
+        for (int fragmentSize = 1; fragmentSize <= input.length; fragmentSize++) {
+            assertEquals(expected, parseInFragments(input, fragmentSize, false), "fragment size " + fragmentSize);
+            assertEquals(expected, parseInFragments(input, fragmentSize, true), "direct fragment size " + fragmentSize);
+        }
+    }
+
+    @Test
+    void testUnterminatedQuoteFails() {
+        IncrementalCSVParser parser = new IncrementalCSVParser(",", (values, lineNumber) -> { });
+        parser.feed(ByteBuffer.wrap("a,\"unterminated\n".getBytes(StandardCharsets.UTF_8)));
+
+        Exception exception = assertThrows(CSVParseException.class, parser::endOfInput);
+        assertTrue(exception.getMessage().contains("line 1"));
+        assertThrows(IllegalStateException.class, () -> parser.feed(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    void testForConfigBindsObjects() {
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "num. of rungs bid", "numOfRungsBid"
+                ))
+                .build();
+        List<CSVParserUnitTest.CurrencyPair> pairs = new ArrayList<>();
+        IncrementalCSVParser parser = IncrementalCSVParser.forConfig(config, pairs::add);
+
+        byte[] input = ("Currency Pair,Bid Low Price,Num. of Rungs Bid\n"
+                + "EUR/USD,1.1,5\n"
+                + "INVALID,abc,5\n"
+                + "GBP/USD, 1.5 ,7").getBytes(StandardCharsets.UTF_8);
+        parser.feed(ByteBuffer.wrap(input, 0, 20));
+        parser.feed(ByteBuffer.wrap(input, 20, input.length - 20));
+        assertEquals(1, pairs.size()); // The last row is only complete at end of input
+        parser.endOfInput();
+
+        assertEquals(2, pairs.size()); // Invalid row is skipped
+        assertEquals("EUR/USD", pairs.get(0).getCurrencyPair());
+        assertEquals(1.5, pairs.get(1).getBidLowPrice());
+        assertEquals(7, pairs.get(1).getNumOfRungsBid());
+    }
+
+    @Test
+    void testForConfigSplitsRowsLikeParse() throws IOException {
+        String content = "Currency Pair,Bid Low Price,Num. of Rungs Bid\n"
+                + "EUR/USD,1.1,5\n"
+                + "   \n"
+                + "GBP/USD,1.5,\n" // Trailing empty value is dropped, leaving too few columns
+                + "USD/JPY,110.5,7\n"
+                + "\t\n"
+                + "AUD/USD,,\n";
+        File file = tempDir.resolve("pairs.csv").toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "num. of rungs bid", "numOfRungsBid"
+                ))
+                .build();
+
+        List<String> expected = new ArrayList<>();
+        for (CSVParserUnitTest.CurrencyPair pair : CSVParser.parse(file, config)) {
+            expected.add(pair.getCurrencyPair() + "|" + pair.getBidLowPrice() + "|" + pair.getNumOfRungsBid());
+        }
+        List<String> actual = new ArrayList<>();
+        IncrementalCSVParser parser = IncrementalCSVParser.forConfig(config,
+                pair -> actual.add(pair.getCurrencyPair() + "|" + pair.getBidLowPrice() + "|" + pair.getNumOfRungsBid()));
+        byte[] input = content.getBytes(StandardCharsets.UTF_8);
+        for (byte b : input) {
+            parser.feed(ByteBuffer.wrap(new byte[]{b}));
+        }
+        parser.endOfInput();
+
+        assertEquals(List.of("EUR/USD|1.1|5", "USD/JPY|110.5|7"), expected);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testMultiCharacterDelimiterRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalCSVParser("::", (values, lineNumber) -> { }));
+    }
+}
@@ -0,0 +1,126 @@
+import org.example.CSVParseException;
+import org.example.CSVParser;
+import org.example.CSVParserConfig;
+import org.example.OffHeapColumn;
+import org.example.OffHeapTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapTableUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File csvFile;
+
+    private CSVParserConfig<CSVParserUnitTest.CurrencyPair> config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csvFile = tempDir.resolve("test.csv").toFile();
+        try (FileWriter writer = new FileWriter(csvFile)) {
+            writer.write("currency pair,bid low price,bid upper price,offer low price,offer upper price,num. of rungs bid,num. of rungs offer\n");
+            writer.write("EUR/USD,1.1,1.2,1.3,1.4,5,6\n");
+            writer.write("GBP/USD,1.5,1.6,1.7,1.8,7,8\n");
+            writer.write("INVALID_ROW,abc,xyz,1.9,2.0,5,not_a_number\n");
+            writer.write(",1.5,1.6,1.7,1.8,,8\n");
+        }
+
+        config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "bid upper price", "bidUpperPrice",
+                        "offer low price", "offerLowPrice",
+                        "offer upper price", "offerUpperPrice",
+                        "num. of rungs bid", "numOfRungsBid",
+                        "num. of rungs offer", "numOfRungsOffer"
+                ))
+                .build();
+    }
+
+    @Test
+    void testParseOffHeapTypedColumns() {
+        try (OffHeapTable table = CSVParser.parseOffHeap(csvFile, config)) {
+            assertEquals(3, table.getRowCount()); // Invalid row is skipped as a whole
+            assertEquals(List.of("currencyPair", "bidLowPrice", "bidUpperPrice", "offerLowPrice",
+                    "offerUpperPrice", "numOfRungsBid", "numOfRungsOffer"), table.getColumnNames());
+
+            OffHeapColumn pairs = table.getColumn("currencyPair");
+            OffHeapColumn bidLow = table.getColumn("bidLowPrice");
+            OffHeapColumn rungsBid = table.getColumn("numOfRungsBid");
+
+            assertEquals(OffHeapColumn.Type.STRING, pairs.getType());
+            assertEquals(OffHeapColumn.Type.DOUBLE, bidLow.getType());
+            assertEquals(OffHeapColumn.Type.INT, rungsBid.getType());
+
+            assertEquals("EUR/USD", pairs.getString(0));
+            assertEquals("GBP/USD", pairs.getString(1));
+            assertEquals(1.1, bidLow.getDouble(0));
+            assertEquals(1.5, bidLow.getDouble(1));
+            assertEquals(7, rungsBid.getInt(1));
+            assertEquals(8, table.getColumn("numOfRungsOffer").getInt(2));
+        }
+    }
+
+    @Test
+    void testParseOffHeapEmptyValues() {
+        try (OffHeapTable table = CSVParser.parseOffHeap(csvFile, config)) {
+            assertTrue(table.getColumn("currencyPair").isNull(2));
+            assertNull(table.getColumn("currencyPair").getString(2));
+            // Empty primitive fields take the primitive default, as they do for objects
+            assertFalse(table.getColumn("numOfRungsBid").isNull(2));
+            assertEquals(0, table.getColumn("numOfRungsBid").getInt(2));
+        }
+    }
+
+    @Test
+    void testParseOffHeapGrowsBeyondInitialCapacity() throws IOException {
+        File largeFile = tempDir.resolve("large.csv").toFile();
+        try (FileWriter writer = new FileWriter(largeFile)) {
+            writer.write("currency pair,bid low price,bid upper price,offer low price,offer upper price,num. of rungs bid,num. of rungs offer\n");
+            for (int i = 0; i < 5000; i++) {
+                writer.write("PAIR" + i + "," + i + ".5,1.2,1.3,1.4," + i + ",6\n");
+            }
+        }
+
+        try (OffHeapTable table = CSVParser.parseOffHeap(largeFile, config)) {
+            assertEquals(5000, table.getRowCount());
+            assertEquals("PAIR4999", table.getColumn("currencyPair").getString(4999));
+            assertEquals(4999.5, table.getColumn("bidLowPrice").getDouble(4999));
+            assertEquals(4321, table.getColumn("numOfRungsBid").get(4321));
+        }
+    }
+
+    @Test
+    void testParseOffHeapHaltOnError() {
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> haltConfig = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(config.getHeaderMapping())
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .build();
+
+        Exception exception = assertThrows(CSVParseException.class, () -> CSVParser.parseOffHeap(csvFile, haltConfig));
+        assertTrue(exception.getMessage().contains("Error parsing line 4"));
+    }
+
+    @Test
+    void testClosedTableRejectsAccess() {
+        OffHeapTable table = CSVParser.parseOffHeap(csvFile, config);
+        OffHeapColumn column = table.getColumn("bidLowPrice");
+        table.close();
+
+        assertTrue(table.isClosed());
+        assertThrows(IllegalStateException.class, table::getRowCount);
+        assertThrows(IllegalStateException.class, () -> column.getDouble(0));
+    }
+}
@@ -0,0 +1,144 @@
+import org.example.CSVParseException;
+import org.example.CSVParser;
+import org.example.CSVParserConfig;
+import org.example.PipelinedCSVParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelinedCSVParserUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static CSVParserConfig<CSVParserUnitTest.CurrencyPair> config(CSVParserConfig.ErrorHandlingStrategy strategy) {
+        return new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withTrimFields(true)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "num. of rungs bid", "numOfRungsBid"
+                ))
+                .withErrorHandlingStrategy(strategy)
+                .build();
+    }
+
+    private File writeCsv(String content) throws IOException {
+        File file = tempDir.resolve("input.csv").toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    private static String describe(List<CSVParserUnitTest.CurrencyPair> pairs) {
+        StringBuilder builder = new StringBuilder();
+        for (CSVParserUnitTest.CurrencyPair pair : pairs) {
+            builder.append(pair.getCurrencyPair()).append('|').append(pair.getBidLowPrice())
+                    .append('|').append(pair.getNumOfRungsBid()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void testMatchesSequentialParserAcrossBufferBoundaries() throws IOException {
+        StringBuilder content = new StringBuilder("Currency Pair,Bid Low Price,Num. of Rungs Bid\r\n");
+        for (int i = 0; i < 2000; i++) {
+            String lineBreak = i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\n" : "\r";
+            if (i % 97 == 0) {
+                content.append("  ").append(lineBreak); // Blank line
+            } else if (i % 89 == 0) {
+                content.append("BAD/ROW,abc,1").append(lineBreak);
+            } else {
+                content.append("PAIR").append(i).append(", ").append(i / 10.0).append(" ,").append(i % 7).append(lineBreak);
+            }
+        }
+        content.append("LAST/ROW,9.5,3"); // No trailing line break
+        File file = writeCsv(content.toString());
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = config(CSVParserConfig.ErrorHandlingStrategy.CONTINUE_ON_ERROR);
+
+        String expected = describe(CSVParser.parse(file, config));
+        for (int threads = 1; threads <= 3; threads++) {
+            PipelinedCSVParser parser = new PipelinedCSVParser.Builder()
+                    .withReadBufferSize(61)
+                    .withReadAhead(2)
+                    .withBatchSize(17)
+                    .withBinderThreads(threads)
+                    .withQueueCapacity(2)
+                    .build();
+            assertEquals(expected, describe(parser.parse(file, config)), "binder threads " + threads);
+        }
+        assertTrue(expected.startsWith("PAIR1|0.1|1\n"));
+        assertTrue(expected.endsWith("LAST/ROW|9.5|3\n"));
+    }
+
+    @Test
+    void testHaltOnErrorDeliversEarlierRowsFirst() throws IOException {
+        StringBuilder content = new StringBuilder("Currency Pair,Bid Low Price,Num. of Rungs Bid\n");
+        for (int i = 0; i < 100; i++) {
+            content.append(i == 50 ? "BAD/ROW,abc,1" : "PAIR" + i + ",1.5,2").append('\n');
+        }
+        File file = writeCsv(content.toString());
+        PipelinedCSVParser parser = new PipelinedCSVParser.Builder()
+                .withReadBufferSize(64)
+                .withBatchSize(4)
+                .withBinderThreads(3)
+                .build();
+
+        List<CSVParserUnitTest.CurrencyPair> delivered = new ArrayList<>();
+        CSVParseException exception = assertThrows(CSVParseException.class,
+                () -> parser.parse(file, config(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR), delivered::add));
+
+        assertEquals("Error parsing line 52", exception.getMessage());
+        assertEquals(50, delivered.size());
+        assertEquals("PAIR49", delivered.get(49).getCurrencyPair());
+    }
+
+    @Test
+    void testInterruptCancelsParse() throws IOException {
+        StringBuilder content = new StringBuilder("Currency Pair,Bid Low Price,Num. of Rungs Bid\n");
+        for (int i = 0; i < 10000; i++) {
+            content.append("PAIR").append(i).append(",1.5,").append(i).append('\n');
+        }
+        File file = writeCsv(content.toString());
+        PipelinedCSVParser parser = new PipelinedCSVParser.Builder().build();
+
+        Thread.currentThread().interrupt();
+        try {
+            Exception exception = assertThrows(CSVParseException.class,
+                    () -> parser.parse(file, config(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)));
+            assertEquals("Interrupted while parsing", exception.getMessage());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testEmptyFileFails() throws IOException {
+        File file = writeCsv("");
+        PipelinedCSVParser parser = new PipelinedCSVParser.Builder().build();
+
+        Exception exception = assertThrows(CSVParseException.class,
+                () -> parser.parse(file, config(CSVParserConfig.ErrorHandlingStrategy.CONTINUE_ON_ERROR)));
+        assertEquals("CSV file is empty", exception.getMessage());
+    }
+
+    @Test
+    void testMissingFileFails() {
+        File file = tempDir.resolve("missing.csv").toFile();
+        PipelinedCSVParser parser = new PipelinedCSVParser.Builder().build();
+
+        assertThrows(CSVParseException.class,
+                () -> parser.parse(file, config(CSVParserConfig.ErrorHandlingStrategy.CONTINUE_ON_ERROR)));
+    }
+}
@@ -0,0 +1,161 @@
+import org.example.CSVParseException;
+import org.example.CSVParser;
+import org.example.CSVParserConfig;
+import org.example.OffHeapTable;
+import org.example.ValidationRule;
+import org.example.ValidationRule.Comparison;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationRuleUnitTest {
+
+    private static final String HEADER = "currency pair,bid low price,bid upper price,offer low price,offer upper price,num of rungs bid,num of rungs offer\n";
+
+    @TempDir
+    Path tempDir;
+
+    private File writeFile(String content) throws IOException {
+        File file = tempDir.resolve("rates.csv").toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    private CSVParserConfig.Builder<CSVParserUnitTest.CurrencyPair> configBuilder() {
+        return new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "bid upper price", "bidUpperPrice",
+                        "offer low price", "offerLowPrice",
+                        "offer upper price", "offerUpperPrice",
+                        "num of rungs bid", "numOfRungsBid",
+                        "num of rungs offer", "numOfRungsOffer"))
+                .withValidationRule(ValidationRule.notNull("currencyPair"))
+                .withValidationRule(ValidationRule.matches("currencyPair", "[A-Z]{3}/[A-Z]{3}"))
+                .withValidationRule(ValidationRule.greaterThan("bidLowPrice", 0))
+                .withValidationRule(ValidationRule.compare("bidLowPrice", Comparison.LESS_THAN_OR_EQUAL, "bidUpperPrice"))
+                .withValidationRule(ValidationRule.range("numOfRungsBid", 1, 10));
+    }
+
+    private File writeRates() throws IOException {
+        return writeFile(HEADER
+                + "EUR/USD,1.10,1.20,1.15,1.25,5,6\n"
+                + "GBP/USD,1.40,1.30,1.35,1.45,7,8\n" // Bid low above bid upper
+                + "eur/gbp,0.85,0.86,0.85,0.87,3,4\n" // Lower case pair
+                + "USD/JPY,110.5,111.0,110.7,111.2,12,10\n" // Too many rungs
+                + ",1.10,1.20,1.15,1.25,5,6\n" // Missing pair
+                + "AUD/USD,0,0.70,0.66,0.71,2,2\n" // Zero price
+                + "USD/CHF,0.90,0.91,0.90,0.92,10,1\n");
+    }
+
+    @Test
+    void testInvalidRowsAreSkipped() throws IOException {
+        File file = writeRates();
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = configBuilder()
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.COLLECT_ERRORS)
+                .build();
+
+        List<CSVParserUnitTest.CurrencyPair> result = CSVParser.parse(file, config);
+
+        assertEquals(2, result.size());
+        assertEquals("EUR/USD", result.get(0).getCurrencyPair());
+        assertEquals("USD/CHF", result.get(1).getCurrencyPair());
+    }
+
+    @Test
+    void testHaltReportsLineAndColumn() throws IOException {
+        File file = writeRates();
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = configBuilder()
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .build();
+
+        CSVParseException ex = assertThrows(CSVParseException.class, () -> CSVParser.parse(file, config));
+        assertEquals("Validation failed at line 3: column 'bidLowPrice' must be <= 'bidUpperPrice', found '1.40' and '1.30'",
+                ex.getMessage());
+
+        CSVParseException offHeap = assertThrows(CSVParseException.class, () -> CSVParser.parseOffHeap(file, config));
+        assertEquals(ex.getMessage(), offHeap.getMessage());
+    }
+
+    @Test
+    void testOffHeapValidatesColumnBatches() throws IOException {
+        StringBuilder content = new StringBuilder(HEADER);
+        int expected = 0;
+        for (int i = 0; i < 3000; i++) {
+            int rungs = i % 12; // 0, 11 out of range
+            double bidLow = i % 500 == 0 ? -1 : 1 + i / 10000.0;
+            content.append("EUR/USD,").append(bidLow).append(",2.0,1.5,2.5,").append(rungs).append(",1\n");
+            if (i == 1500) {
+                content.append("EUR/USD,not_a_price,2.0,1.5,2.5,5,1\n"); // Conversion error mid-batch
+            }
+            if (rungs >= 1 && rungs <= 10 && bidLow > 0) {
+                expected++;
+            }
+        }
+        File file = writeFile(content.toString());
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = configBuilder().build();
+
+        try (OffHeapTable table = CSVParser.parseOffHeap(file, config)) {
+            assertEquals(expected, table.getRowCount());
+            assertEquals(expected, CSVParser.parse(file, config).size());
+            for (int row = 0; row < table.getRowCount(); row++) {
+                int rungs = table.getColumn("numOfRungsBid").getInt(row);
+                assertTrue(rungs >= 1 && rungs <= 10);
+                assertTrue(table.getColumn("bidLowPrice").getDouble(row) > 0);
+            }
+        }
+    }
+
+    @Test
+    void testHaltReportsLineOfRowInFullBatch() throws IOException {
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 0; i < 2000; i++) {
+            content.append("EUR/USD,1.10,1.20,1.15,1.25,").append(i == 10 ? 20 : 5).append(",6\n");
+        }
+        File file = writeFile(content.toString());
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = configBuilder()
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .build();
+
+        String expected = "Validation failed at line 12: column 'numOfRungsBid' must be between 1.0 and 10.0, found '20'";
+        CSVParseException ex = assertThrows(CSVParseException.class, () -> CSVParser.parse(file, config));
+        assertEquals(expected, ex.getMessage());
+        CSVParseException offHeap = assertThrows(CSVParseException.class, () -> CSVParser.parseOffHeap(file, config));
+        assertEquals(expected, offHeap.getMessage());
+    }
+
+    @Test
+    void testRulesAreCheckedAgainstTargetClass() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> configBuilder()
+                .withValidationRule(ValidationRule.range("noSuchField", 0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> configBuilder()
+                .withValidationRule(ValidationRule.range("currencyPair", 0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> configBuilder()
+                .withValidationRule(ValidationRule.compare("currencyPair", Comparison.EQUAL, "bidLowPrice")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRule.range("bidLowPrice", 2, 1));
+
+        assertEquals(configBuilder().build(), configBuilder().build());
+        assertNotEquals(configBuilder().build(), configBuilder()
+                .withValidationRule(ValidationRule.lessThan("offerUpperPrice", 100))
+                .build());
+
+        // A rule on a field no column maps to cannot be checked
+        File file = writeFile("currency pair,bid upper price\nEUR/USD,1.20\n");
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> config = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of("currency pair", "currencyPair", "bid upper price", "bidUpperPrice"))
+                .withValidationRule(ValidationRule.greaterThan("bidLowPrice", 0))
+                .build();
+        assertThrows(CSVParseException.class, () -> CSVParser.parse(file, config));
+    }
+}
@@ -0,0 +1,171 @@
+import org.example.CSVParseException;
+import org.example.CSVParser;
+import org.example.CSVParserConfig;
+import org.example.RowFilter;
+import org.example.ZoneMapCSVParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZoneMapCSVParserUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeFile(String content) throws IOException {
+        File file = tempDir.resolve("history.csv").toFile();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    private CSVParserConfig<CSVParserUnitTest.CurrencyPair> config() {
+        return new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of(
+                        "currency pair", "currencyPair",
+                        "bid low price", "bidLowPrice",
+                        "num of rungs bid", "numOfRungsBid"))
+                .build();
+    }
+
+    /**
+     * 1000 rows in price order, cycling through 50 instruments, with CRLF line breaks and a blank line.
+     */
+    private File writeHistory() throws IOException {
+        StringBuilder content = new StringBuilder("Currency Pair,Bid Low Price,Num of Rungs Bid\r\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append("PAIR").append(i * 7 % 50).append(" , ").append(1 + i / 100.0).append(',').append(i).append("\r\n");
+            if (i == 500) {
+                content.append("\r\n");
+            }
+        }
+        return writeFile(content.toString());
+    }
+
+    @Test
+    void testFilteredParseSkipsChunksOnceZoneMapExists() throws IOException {
+        File file = writeHistory();
+        ZoneMapCSVParser parser = new ZoneMapCSVParser.Builder()
+                .withChunkRows(100)
+                .withBloomFilter("Currency Pair")
+                .build();
+        RowFilter filter = RowFilter.between("bid low price", 3.0, 3.5);
+
+        List<CSVParserUnitTest.CurrencyPair> first = parser.parse(file, config(), filter);
+        assertEquals(1, parser.getBuildCount());
+        assertEquals(10, parser.getChunksRead());
+        assertTrue(new File(file.getPath() + ".zonemap").isFile());
+
+        List<CSVParserUnitTest.CurrencyPair> second = parser.parse(file, config(), filter);
+        assertEquals(1, parser.getBuildCount());
+        assertEquals(11, parser.getChunksRead()); // Only prices 3.00 to 3.99
+        assertEquals(9, parser.getChunksSkipped());
+
+        assertEquals(51, first.size());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < second.size(); i++) {
+            assertEquals(first.get(i).getBidLowPrice(), second.get(i).getBidLowPrice());
+            assertEquals(first.get(i).getCurrencyPair(), second.get(i).getCurrencyPair());
+        }
+        assertEquals(3.0, second.get(0).getBidLowPrice());
+        assertEquals(200, second.get(0).getNumOfRungsBid());
+    }
+
+    @Test
+    void testBloomFilterSkipsChunksWithoutValue() throws IOException {
+        StringBuilder content = new StringBuilder("currency pair,bid low price,num of rungs bid\n");
+        for (int i = 0; i < 400; i++) {
+            // Every chunk spans PAIR00 to PAIR99, but PAIR42 appears in the third chunk only
+            String pair = i == 250 ? "PAIR42" : String.format("PAIR%02d", i % 100 == 42 ? 0 : i % 100);
+            content.append(pair).append(',').append(i).append(',').append(i).append('\n');
+        }
+        File file = writeFile(content.toString());
+        ZoneMapCSVParser parser = new ZoneMapCSVParser.Builder()
+                .withChunkRows(100)
+                .withBloomFilter("currency pair")
+                .withSidecarDirectory(tempDir.resolve("zonemaps").toFile())
+                .build();
+
+        parser.parse(file, config());
+        List<CSVParserUnitTest.CurrencyPair> matches = parser.parse(file, config(),
+                RowFilter.equalTo("currency pair", "PAIR42").and(RowFilter.between("num of rungs bid", 0, 1000)));
+
+        assertEquals(1, matches.size());
+        assertEquals(250, matches.get(0).getNumOfRungsBid());
+        assertEquals(5, parser.getChunksRead()); // Four to build, one to filter
+        assertEquals(3, parser.getChunksSkipped());
+        assertTrue(tempDir.resolve("zonemaps").resolve("history.csv.zonemap").toFile().isFile());
+    }
+
+    @Test
+    void testZoneMapIsRebuiltWhenFileChanges() throws IOException {
+        File file = writeHistory();
+        ZoneMapCSVParser parser = new ZoneMapCSVParser.Builder().withChunkRows(100).build();
+        RowFilter filter = RowFilter.equalTo("currency pair", "PAIR7");
+        assertEquals(20, parser.parse(file, config(), filter).size());
+
+        writeFile("currency pair,bid low price,num of rungs bid\nPAIR7,9.5,1\n");
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(file.lastModified() + 2000));
+        List<CSVParserUnitTest.CurrencyPair> changed = parser.parse(file, config(), filter);
+
+        assertEquals(2, parser.getBuildCount());
+        assertEquals(1, changed.size());
+        assertEquals(9.5, changed.get(0).getBidLowPrice());
+    }
+
+    @Test
+    void testCorruptZoneMapIsRebuilt() throws IOException {
+        File file = writeHistory();
+        ZoneMapCSVParser parser = new ZoneMapCSVParser.Builder().withChunkRows(100).build();
+        RowFilter filter = RowFilter.equalTo("currency pair", "PAIR7");
+        parser.parse(file, config(), filter);
+
+        // Overwrite the chunk count, which follows the header line, with -1
+        Path sidecar = Path.of(file.getPath() + ".zonemap");
+        byte[] bytes = Files.readAllBytes(sidecar);
+        String header = "Currency Pair,Bid Low Price,Num of Rungs Bid";
+        int chunkCount = new String(bytes, StandardCharsets.ISO_8859_1).indexOf(header) + header.length();
+        Arrays.fill(bytes, chunkCount, chunkCount + 4, (byte) 0xFF);
+        Files.write(sidecar, bytes);
+
+        assertEquals(20, parser.parse(file, config(), filter).size());
+        assertEquals(2, parser.getBuildCount());
+    }
+
+    @Test
+    void testErrorsKeepLineNumbersInReadChunks() throws IOException {
+        StringBuilder content = new StringBuilder("currency pair,bid low price,num of rungs bid\n");
+        for (int i = 0; i < 300; i++) {
+            content.append("PAIR1,").append(i).append(',').append(i == 250 ? "x" : String.valueOf(i)).append('\n');
+        }
+        File file = writeFile(content.toString());
+        CSVParserConfig<CSVParserUnitTest.CurrencyPair> halting = new CSVParserConfig.Builder<>(CSVParserUnitTest.CurrencyPair.class)
+                .withHeaderMapping(Map.of("currency pair", "currencyPair", "bid low price", "bidLowPrice",
+                        "num of rungs bid", "numOfRungsBid"))
+                .withErrorHandlingStrategy(CSVParserConfig.ErrorHandlingStrategy.HALT_ON_ERROR)
+                .build();
+        ZoneMapCSVParser parser = new ZoneMapCSVParser.Builder().withChunkRows(100).build();
+
+        assertEquals(299, parser.parse(file, config()).size());
+        CSVParseException ex = assertThrows(CSVParseException.class,
+                () -> parser.parse(file, halting, RowFilter.between("bid low price", 200, 299)));
+        assertEquals("Error parsing line 252", ex.getMessage());
+        assertEquals(2, parser.getChunksSkipped());
+
+        assertEquals(CSVParser.parse(file, config()).size(), parser.parse(file, config()).size());
+        assertThrows(CSVParseException.class, () -> parser.parse(file, config(), RowFilter.equalTo("pair", "PAIR1")));
+    }
+}